@@ -0,0 +1,52 @@
+package algorithm;
+
+import board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.BenchmarkPuzzles;
+import util.DebugMode;
+import util.TimeUnit;
+
+/**
+ * Benchmarks for full solves of the first puzzle of the puzzlesN.txt resource with the given depth
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SolverBenchmark {
+    @Param({"10", "20", "30", "40"})
+    private int depth;
+    @Param({"AStar", "IDAStar"})
+    private String algorithm;
+    @Param({"Manhattan", "LinearConflict", "PatternDatabase"})
+    private String heuristicName;
+    private Solver solver;
+    private int[][] puzzle;
+
+    @Setup
+    public void setup() {
+        solver = switch (algorithm) {
+            case "AStar" -> new AStar(BenchmarkPuzzles.heuristic(heuristicName));
+            case "IDAStar" -> new IDAStar(BenchmarkPuzzles.heuristic(heuristicName));
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        };
+        puzzle = BenchmarkPuzzles.read(depth).get(0);
+    }
+
+    @Benchmark
+    public Result solve() {
+        return solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+    }
+}
@@ -0,0 +1,74 @@
+package board;
+
+import heuristic.Heuristic;
+import heuristic.ManhattanDistance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.BenchmarkPuzzles;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for successor generation and the hash set operations of boards
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class BoardBenchmark {
+    private final Heuristic heuristic = new ManhattanDistance();
+    private Board[] boards;
+    private Board[] copies;
+
+    @Setup
+    public void setup() {
+        List<int[][]> puzzles = BenchmarkPuzzles.read(40);
+        boards = new Board[puzzles.size()];
+        copies = new Board[puzzles.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Board(puzzles.get(i));
+            boards[i].setHScore(heuristic.calculate(boards[i]));
+            copies[i] = new Board(puzzles.get(i));
+        }
+    }
+
+    @Benchmark
+    public void generateSuccessors(Blackhole blackhole) {
+        for (Board board : boards) {
+            blackhole.consume(board.generateSuccessors(heuristic));
+        }
+    }
+
+    @Benchmark
+    public void equalsEqualBoards(Blackhole blackhole) {
+        for (int i = 0; i < boards.length; i++) {
+            blackhole.consume(boards[i].equals(copies[i]));
+        }
+    }
+
+    @Benchmark
+    public void equalsDifferentBoards(Blackhole blackhole) {
+        for (int i = 0; i < boards.length; i++) {
+            blackhole.consume(boards[i].equals(copies[(i + 1) % copies.length]));
+        }
+    }
+
+    @Benchmark
+    public void hashCode(Blackhole blackhole) {
+        for (Board board : boards) {
+            blackhole.consume(board.hashCode());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package board;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import util.BenchmarkPuzzles;
+import util.Utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for reading and validating puzzle files, the score is the time of all puzzles of depth 30 to 55
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class PuzzleReaderBenchmark {
+    private byte[] content;
+    private String[] lines;
+    private Board[] boards;
+
+    @Setup
+    public void setup() {
+        List<int[][]> puzzles = new ArrayList<>();
+        for (int depth = 30; depth <= 55; depth++) {
+            puzzles.addAll(BenchmarkPuzzles.read(depth));
+        }
+        StringBuilder builder = new StringBuilder();
+        lines = new String[puzzles.size()];
+        boards = new Board[puzzles.size()];
+        for (int i = 0; i < lines.length; i++) {
+            StringBuilder line = new StringBuilder();
+            for (int[] row : puzzles.get(i)) {
+                for (int tile : row) {
+                    line.append(line.length() == 0 ? "" : " ").append(tile);
+                }
+            }
+            lines[i] = line.toString();
+            builder.append(line).append('\n');
+            boards[i] = new Board(puzzles.get(i));
+        }
+        content = builder.toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @Benchmark
+    public long readPuzzles() throws IOException {
+        long checksum = 0L;
+        try (PuzzleReader reader = new PuzzleReader(Channels.newChannel(new ByteArrayInputStream(content)),
+                Dimensions.FOUR_BY_FOUR, PuzzleReader.BUFFER_BYTES)) {
+            while (reader.next()) {
+                checksum += reader.isValid() ? reader.getState() : 1;
+            }
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public long convertAndCheckStrings() {
+        long checksum = 0L;
+        for (String line : lines) {
+            int[][] state = Utils.convertStringTo2DIntArray(line);
+            checksum += Utils.isSolvable(state) ? PackedBoard.pack(state) : 1;
+        }
+        return checksum;
+    }
+
+    @Benchmark
+    public int checkInput() {
+        for (Board board : boards) {
+            Utils.checkInput(board);
+        }
+        return boards.length;
+    }
+}
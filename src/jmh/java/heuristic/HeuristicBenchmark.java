@@ -0,0 +1,62 @@
+package heuristic;
+
+import board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.BenchmarkPuzzles;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for calculating the heuristics from scratch
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HeuristicBenchmark {
+    @Param({"Manhattan", "Hamming", "LinearConflict", "PatternDatabase", "WalkingDistance"})
+    private String heuristicName;
+    private Heuristic heuristic;
+    private Board[] boards;
+    private long[] states;
+
+    @Setup
+    public void setup() {
+        heuristic = BenchmarkPuzzles.heuristic(heuristicName);
+        List<int[][]> puzzles = BenchmarkPuzzles.read(50);
+        boards = new Board[puzzles.size()];
+        states = new long[puzzles.size()];
+        for (int i = 0; i < boards.length; i++) {
+            boards[i] = new Board(puzzles.get(i));
+            states[i] = boards[i].getPackedState();
+        }
+    }
+
+    @Benchmark
+    public void calculateBoard(Blackhole blackhole) {
+        for (Board board : boards) {
+            blackhole.consume(heuristic.calculate(board));
+        }
+    }
+
+    @Benchmark
+    public void calculatePacked(Blackhole blackhole) {
+        for (long state : states) {
+            blackhole.consume(heuristic.calculate(state));
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package heuristic;
+
+import algorithm.AStar;
+import algorithm.IDAStar;
+import algorithm.Result;
+import algorithm.Solver;
+import board.Board;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import util.BenchmarkPuzzles;
+import util.DebugMode;
+import util.TimeUnit;
+
+import java.util.List;
+
+/**
+ * Benchmarks comparing walking distance with linear conflict, every invocation solves all puzzles
+ * of the puzzlesN.txt resource with the given depth. A* on depths above 45 needs a large heap.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(java.util.concurrent.TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+public class WalkingDistanceBenchmark {
+    @Param({"30", "35", "40", "45", "50", "55"})
+    private int depth;
+    @Param({"AStar", "IDAStar"})
+    private String algorithm;
+    @Param({"LinearConflict", "WalkingDistance"})
+    private String heuristicName;
+    private Solver solver;
+    private List<int[][]> puzzles;
+
+    @Setup
+    public void setup() {
+        solver = switch (algorithm) {
+            case "AStar" -> new AStar(BenchmarkPuzzles.heuristic(heuristicName));
+            case "IDAStar" -> new IDAStar(BenchmarkPuzzles.heuristic(heuristicName));
+            default -> throw new IllegalArgumentException("Unknown algorithm " + algorithm);
+        };
+        puzzles = BenchmarkPuzzles.read(depth);
+    }
+
+    @Benchmark
+    public void solveAll(Blackhole blackhole) {
+        for (int[][] puzzle : puzzles) {
+            Result result = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            blackhole.consume(result.getExpandedBoards());
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package util;
+
+import heuristic.HammingDistance;
+import heuristic.Heuristic;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import heuristic.PatternDatabase;
+import heuristic.WalkingDistance;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for loading the fixed puzzles and heuristics used by the benchmarks
+ */
+public abstract class BenchmarkPuzzles {
+    /**
+     * Reads all puzzles with the given optimal depth from the puzzlesN.txt resources
+     *
+     * @param depth Optimal number of moves, 1-55
+     * @return Puzzles of the resource file
+     */
+    public static List<int[][]> read(int depth) {
+        String resource = "/puzzles/puzzles" + depth + ".txt";
+        List<int[][]> puzzles = new ArrayList<>();
+        try (InputStream in = BenchmarkPuzzles.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No puzzles with depth " + depth);
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    puzzles.add(Utils.convertStringTo2DIntArray(line.trim()));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return puzzles;
+    }
+
+    /**
+     * Creates a heuristic by name
+     *
+     * @param name Manhattan, Hamming, LinearConflict, PatternDatabase or WalkingDistance
+     * @return Heuristic
+     */
+    public static Heuristic heuristic(String name) {
+        return switch (name) {
+            case "Manhattan" -> new ManhattanDistance();
+            case "Hamming" -> new HammingDistance();
+            case "LinearConflict" -> new LinearConflictWithMD();
+            case "PatternDatabase" -> new PatternDatabase();
+            case "WalkingDistance" -> new WalkingDistance();
+            default -> throw new IllegalArgumentException("Unknown heuristic " + name);
+        };
+    }
+}
@@ -4,6 +4,8 @@ import board.Board;
 import heuristic.HammingDistance;
 import heuristic.LinearConflictWithMD;
 import heuristic.ManhattanDistance;
+import heuristic.PatternDatabase;
+import heuristic.WalkingDistance;
 import util.DebugMode;
 import util.TimeUnit;
 import util.Utils;
@@ -23,7 +25,8 @@ public class Application {
          *         AStar and IDAStar
          *
          *         Available heuristics:
-         *         Manhattan, Hamming, Linear Conflict
+         *         Manhattan, Hamming, Linear Conflict, Pattern Database, Walking Distance,
+         *         each can be wrapped in a MirroredHeuristic to also evaluate the mirrored board
          *
          *         Available time units:
          *         MS(milliseconds) and NS(nanoseconds)
@@ -36,12 +39,16 @@ public class Application {
 //        AStar.solve(board, new ManhattanDistance(), TimeUnit.MS, DebugMode.ON);
 //        AStar.solve(board, new HammingDistance(), TimeUnit.MS, DebugMode.ON);
 //        AStar.solve(board, new LinearConflictWithMD(), TimeUnit.MS, DebugMode.ON);
+//        AStar.solve(board, new PatternDatabase(), TimeUnit.MS, DebugMode.ON);
+//        AStar.solve(board, new WalkingDistance(), TimeUnit.MS, DebugMode.ON);
         //---------------------------
 
         //-----------IDASTAR---------
 //        IDAStar.solve(board, new ManhattanDistance(), TimeUnit.MS, DebugMode.ON);
 //        IDAStar.solve(board, new HammingDistance(), TimeUnit.MS, DebugMode.ON);
         IDAStar.solve(board, new LinearConflictWithMD(), TimeUnit.MS, DebugMode.ON);
+//        IDAStar.solve(board, new PatternDatabase(), TimeUnit.MS, DebugMode.ON);
+//        IDAStar.solve(board, new WalkingDistance(), TimeUnit.MS, DebugMode.ON);
         //---------------------------
     }
 }
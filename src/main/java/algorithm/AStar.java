@@ -1,24 +1,80 @@
 package algorithm;
 
 import board.Board;
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
 import com.google.common.base.Stopwatch;
 import heuristic.Heuristic;
 import util.DebugMode;
+import util.PuzzleException;
 import util.Utils;
 
-import java.util.*;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 /**
- * Class for the AStar algorithm
+ * Class for the AStar algorithm on boards up to 16 cells of dimensions the heuristic supports.
+ * Nodes are kept in a node arena of primitive arrays and referenced by index from the open list,
+ * so no board objects are created while searching and the path is rebuilt from the parent indices.
  */
-public abstract class AStar {
-    private static final long KILOBYTES = 1024L;
-    private static final PriorityQueue<Board> openList = new PriorityQueue<>(Comparator.comparing(Board::getFScore));
-    private static final Set<Board> closedList = new HashSet<>();
+public class AStar implements Solver {
+    public static final int DEFAULT_EVENT_INTERVAL = 100_000;
+    private static final Move[] MOVES = Move.values();
+    private final Heuristic heuristic;
+    private final Supplier<OpenList> openListFactory;
+    private final SearchListener listener;
+    private final int eventInterval;
 
     /**
-     * Solves a valid given 15-puzzle using AStar algorithm
+     * Creates an AStar solver using the bucket open list
+     *
+     * @param heuristic Type of heuristic
+     */
+    public AStar(Heuristic heuristic) {
+        this(heuristic, BucketOpenList::new);
+    }
+
+    /**
+     * Creates an AStar solver using open lists of the given factory
+     *
+     * @param heuristic       Type of heuristic
+     * @param openListFactory Creates an open list for every solve, e.g. BucketOpenList::new or PriorityOpenList::new
+     */
+    public AStar(Heuristic heuristic, Supplier<OpenList> openListFactory) {
+        this(heuristic, openListFactory, SearchListener.NONE, DEFAULT_EVENT_INTERVAL);
+    }
+
+    /**
+     * Creates an AStar solver using the bucket open list, sending one event per 100000 expanded boards
+     *
+     * @param heuristic Type of heuristic
+     * @param listener  Listener receiving the events, e.g. a SearchTrace
+     */
+    public AStar(Heuristic heuristic, SearchListener listener) {
+        this(heuristic, BucketOpenList::new, listener, DEFAULT_EVENT_INTERVAL);
+    }
+
+    /**
+     * Creates an AStar solver sending events while searching and once the goal is found
+     *
+     * @param heuristic       Type of heuristic
+     * @param openListFactory Creates an open list for every solve, e.g. BucketOpenList::new or PriorityOpenList::new
+     * @param listener        Listener receiving the events, e.g. a SearchTrace
+     * @param eventInterval   Number of expanded boards between two events
+     */
+    public AStar(Heuristic heuristic, Supplier<OpenList> openListFactory, SearchListener listener, int eventInterval) {
+        if (eventInterval < 1) {
+            throw new IllegalArgumentException("Event interval must be at least 1");
+        }
+        this.heuristic = heuristic;
+        this.openListFactory = openListFactory;
+        this.listener = listener;
+        this.eventInterval = eventInterval;
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using AStar algorithm
      *
      * @param initialBoard Start board to solve
      * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
@@ -27,54 +83,168 @@ public abstract class AStar {
      * @return Result object
      */
     public static Result solve(Board initialBoard, Heuristic heuristic, util.TimeUnit timeUnit, DebugMode debugMode) {
-        Utils.checkInput(initialBoard);
-        Board BoardCopy = new Board(initialBoard.getState());//copy board
-        BoardCopy.setHeuristic(heuristic);
-        BoardCopy.setHScore(heuristic.calculate(BoardCopy));
+        return new AStar(heuristic).solve(initialBoard, timeUnit, debugMode);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using AStar algorithm with the given open list implementation
+     *
+     * @param initialBoard Start board to solve
+     * @param heuristic    Type of heuristic
+     * @param openList     Open list implementation, e.g. BucketOpenList or PriorityOpenList
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    public static Result solve(Board initialBoard, Heuristic heuristic, OpenList openList, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return new AStar(heuristic, () -> openList).solve(initialBoard, timeUnit, debugMode);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using AStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using AStar algorithm within the limits of the given options,
+     * a stopped solve returns the highest f score of the expanded boards as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Dimensions dimensions = Utils.checkInput(initialBoard, heuristic);
+        if (!dimensions.isNarrow()) {
+            throw new PuzzleException("AStar solves boards up to " + PackedBoard.CELLS + " cells");
+        }
+        long initialState = initialBoard.getPackedState();
+        long goal = dimensions.getPackedGoal();
         TimeUnit unit = switch (timeUnit) {
             case MS -> TimeUnit.MILLISECONDS;
             case NS -> TimeUnit.NANOSECONDS;
         };
         Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
         stopwatch.start();//start timer
-        //clear up
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        SolveBudget budget = new SolveBudget(options);
+        OpenList openList = openListFactory.get();
+        ClosedSet closedList = new ClosedSet();
+        NodeArena nodes = new NodeArena();
         openList.clear();
-        closedList.clear();
         int numOfExpandedBoards = 0;
-        openList.add(BoardCopy);
+        int peakOpenListSize = 1;
+        int peakPathLength = 0;
+        SearchProgress progress = new SearchProgress("AStar", listener);
+        int expansions = 0;
+        int polledBoards = 0;
+        long reportedBoards = 0;
+        int root = nodes.add(initialState, 0, heuristic.calculate(initialState), PackedBoard.indexOf(initialState, 0),
+                NodeArena.NO_PARENT, null);
+        int lowerBound = nodes.getFScore(root);
+        openList.add(root, nodes.getFScore(root), 0);
         while (!openList.isEmpty()) {
-            Board currentBoard = openList.poll();
-            if (currentBoard.isSolution()) {
+            int current = openList.poll();
+            long state = nodes.getState(current);
+            int gScore = nodes.getGScore(current);
+            //every polled f score was the lowest of the open list, so no solution is shorter
+            lowerBound = Math.max(lowerBound, nodes.getFScore(current));
+            if ((++polledBoards & SolveBudget.CHECK_MASK) == 0) {
+                boolean exhausted = budget.isExhausted(numOfExpandedBoards - reportedBoards,
+                        nodes.getBytes() + openList.getBytes() + closedList.getBytes());
+                reportedBoards = numOfExpandedBoards;
+                if (exhausted) {
+                    stopwatch.stop();
+                    Result result = new Result(new Board(initialBoard.getState()), "AStar", heuristic,
+                            numOfExpandedBoards, openList.size(), closedList.size(),
+                            Utils.getThreadAllocatedBytesSince(allocatedBytes), peakOpenListSize, closedList.size(),
+                            peakPathLength, stopwatch.elapsed(unit), "no moves", budget.getStatus(), lowerBound);
+                    if (debugMode == DebugMode.ON) {
+                        Utils.printResults(result);//print results
+                    }
+                    return result;
+                }
+            }
+            if (state == goal) {
                 stopwatch.stop();
-                Runtime runtime = Runtime.getRuntime();
-                runtime.gc();
-                long memory = runtime.totalMemory() - runtime.freeMemory();
-                memory = memory / KILOBYTES;
+                progress.report(gScore, peakPathLength, numOfExpandedBoards, openList.size(), closedList.size());
+                Board finalBoard = new Board(state, dimensions);
+                finalBoard.setGScore(gScore);
+                Result result = new Result(finalBoard, "AStar", heuristic, numOfExpandedBoards, openList.size(),
+                        closedList.size(), Utils.getThreadAllocatedBytesSince(allocatedBytes), peakOpenListSize,
+                        closedList.size(), Math.max(peakPathLength, gScore), stopwatch.elapsed(unit),
+                        Utils.getMoves(nodes.getPath(current), gScore));
                 if (debugMode == DebugMode.ON) {
-                    Utils.printResults("AStar", heuristic, numOfExpandedBoards,
-                            openList, closedList, currentBoard, null, memory, stopwatch.elapsed(unit));//print results
+                    Utils.printResults(result);//print results
                 }
-                return new Result(currentBoard, "AStar", heuristic, numOfExpandedBoards, openList.size(),
-                        closedList.size(), memory, stopwatch.elapsed(unit), Utils.getMoves(currentBoard));
+                return result;
             }
-            closedList.add(currentBoard);
-            currentBoard.setSuccessors(currentBoard.generateSuccessors());
-//            numOfExpandedBoards += currentBoard.getSuccessors().size();
-            Iterator<Board> iteratorCurrentBoard = currentBoard.getSuccessors().iterator();
-            while (iteratorCurrentBoard.hasNext()) {//using an iterator over foreach-loop there is a save of approx. 20% memory usage
-                Board successor = iteratorCurrentBoard.next();
-                if (closedList.contains(successor)) {
-                    iteratorCurrentBoard.remove();
+            if (isClosed(closedList, state, gScore)) {
+                continue;//already expanded with lower or equal g score
+            }
+            //states are reopened with a lower g score, needed for admissible heuristics which are not consistent
+            closedList.put(state, gScore, nodes.getMove(current));
+            int blank = nodes.getBlank(current);
+            int hScore = nodes.getHScore(current);
+            for (Move move : MOVES) {
+                if (!dimensions.canMove(move, blank)) {
+                    continue;
+                }
+                int target = blank + dimensions.getOffset(move);
+                long successor = PackedBoard.move(state, blank, target);
+                if (isClosed(closedList, successor, gScore + 1)) {
                     continue;
                 }
+                int successorHScore = heuristic.update(state, hScore, blank, target);
+                int node = nodes.add(successor, gScore + 1, successorHScore, target, current, move);
                 numOfExpandedBoards++;
-                openList.add(successor);
+                openList.add(node, gScore + 1 + successorHScore, gScore + 1);
+            }
+            peakOpenListSize = Math.max(peakOpenListSize, openList.size());
+            peakPathLength = Math.max(peakPathLength, gScore + 1);
+            if (++expansions == eventInterval) {
+                progress.report(nodes.getFScore(current), peakPathLength, numOfExpandedBoards, openList.size(),
+                        closedList.size());
+                expansions = 0;
             }
         }
         System.out.println("No solution found");
-        return new Result(BoardCopy, "AStar", heuristic, numOfExpandedBoards,
-                0, 0, 0, stopwatch.elapsed(TimeUnit.NANOSECONDS), "no moves");
+        return new Result(new Board(initialBoard.getState()), "AStar", heuristic, numOfExpandedBoards, 0, 0,
+                Utils.getThreadAllocatedBytesSince(allocatedBytes), peakOpenListSize, closedList.size(), peakPathLength,
+                stopwatch.elapsed(TimeUnit.NANOSECONDS), "no moves");
     }
 
-}
+    /**
+     * Returns true if the state is in the closed list with lower or equal g score
+     *
+     * @param closedList Closed list of the current search
+     * @param state      Packed state
+     * @param gScore     G score of the state
+     * @return true if the state does not need to be expanded
+     */
+    private static boolean isClosed(ClosedSet closedList, long state, int gScore) {
+        int closedGScore = closedList.getGScore(state);
+        return closedGScore >= 0 && closedGScore <= gScore;
+    }
 
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+}
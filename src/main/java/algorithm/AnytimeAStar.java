@@ -0,0 +1,141 @@
+package algorithm;
+
+import board.Board;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.Utils;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Class for the anytime repairing AStar algorithm (ARA*) on boards up to 16 cells.
+ * A weighted AStar search with a large weight finds a first solution quickly, the search is then continued with
+ * smaller weights while time remains. Every iteration reuses the boards of the previous ones and expands every state
+ * at most once, until the weight is 1 and the solution is optimal. Every better solution is passed to a callback
+ * together with its suboptimality bound.
+ */
+public class AnytimeAStar implements Solver {
+    public static final double DEFAULT_INITIAL_WEIGHT = 3;
+    public static final double DEFAULT_WEIGHT_STEP = 0.5;
+    private final Heuristic heuristic;
+    private final double initialWeight;
+    private final double weightStep;
+    private final Duration timeLimit;
+    private final Consumer<BoundedResult> listener;
+
+    /**
+     * Creates an anytime AStar solver starting with weight 3 which is lowered by 0.5 per iteration
+     *
+     * @param heuristic Type of heuristic
+     * @param timeLimit Time after which the best solution found so far is returned
+     */
+    public AnytimeAStar(Heuristic heuristic, Duration timeLimit) {
+        this(heuristic, DEFAULT_INITIAL_WEIGHT, DEFAULT_WEIGHT_STEP, timeLimit, result -> {
+        });
+    }
+
+    /**
+     * Creates an anytime AStar solver
+     *
+     * @param heuristic     Type of heuristic
+     * @param initialWeight Weight of the heuristic for the first solution, between 1 and 10
+     * @param weightStep    Amount by which the weight is lowered after every iteration
+     * @param timeLimit     Time after which the best solution found so far is returned,
+     *                      the search always runs until a first solution is found
+     * @param listener      Callback receiving every better solution, called on the solving thread
+     */
+    public AnytimeAStar(Heuristic heuristic, double initialWeight, double weightStep, Duration timeLimit,
+                        Consumer<BoundedResult> listener) {
+        WeightedSearch.toScaledWeight(initialWeight);//validate weight
+        if (!(weightStep > 0)) {
+            throw new IllegalArgumentException("Weight step must be positive");
+        }
+        if (timeLimit.isNegative()) {
+            throw new IllegalArgumentException("Time limit must not be negative");
+        }
+        this.heuristic = heuristic;
+        this.initialWeight = initialWeight;
+        this.weightStep = weightStep;
+        this.timeLimit = timeLimit;
+        this.listener = listener;
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using anytime AStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object of the best solution found within the time limit
+     */
+    @Override
+    public BoundedResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using anytime AStar algorithm within the limits of the given options.
+     * A limit stops the search like the time limit, but also before the first solution,
+     * the stopped solve then returns the smallest f score of the open boards as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object of the best solution found within the time limit and the limits of the options
+     */
+    @Override
+    public BoundedResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Utils.checkInput(initialBoard, heuristic);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        long deadline = System.nanoTime() + Math.min(timeLimit.toSeconds(), Integer.MAX_VALUE) * 1_000_000_000L
+                + timeLimit.toNanosPart();
+        double weight = initialWeight;
+        SolveBudget budget = new SolveBudget(options);
+        WeightedSearch search = new WeightedSearch(initialBoard, heuristic, weight, budget);
+        BoundedResult best = null;
+        while (true) {
+            boolean complete = search.improve(deadline);
+            BoundedResult result = search.toResult("AnytimeAStar", Utils.getThreadAllocatedBytesSince(allocatedBytes),
+                    stopwatch.elapsed(unit), complete);
+            if (!search.hasSolution()) {
+                best = result;//stopped by a limit before the first solution
+                break;
+            }
+            if (best == null || result.getDepth() < best.getDepth()
+                    || result.getSuboptimalityBound() < best.getSuboptimalityBound()) {
+                best = result;
+                listener.accept(result);
+            }
+            if (!complete || best.isOptimal() || System.nanoTime() - deadline >= 0) {
+                break;
+            }
+            weight = Math.max(1, weight - weightStep);
+            search.setWeight(weight);
+        }
+        if (debugMode == DebugMode.ON) {
+            Utils.printResults(best);//print results
+            System.out.println("Suboptimality bound: " + best.getSuboptimalityBound());
+        }
+        return best;
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+}
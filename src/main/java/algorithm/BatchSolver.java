@@ -0,0 +1,213 @@
+package algorithm;
+
+import board.Board;
+import board.PuzzleReader;
+import util.TimeUnit;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Class for solving puzzle files on all cores.
+ * Puzzles are read line by line in the format of the puzzlesN.txt files by a {@link PuzzleReader} and solved concurrently,
+ * at most a fixed number of puzzles is in flight so reading waits for the solvers and memory stays bounded.
+ * Every result is written as one line as soon as it is available, so lines are in completion order:
+ * <pre>
+ * file;line;depth;expanded boards;run time;algorithm;heuristic;moves
+ * file;line;ERROR;message
+ * file;line;STOPPED;reason;lower bound;expanded boards;run time
+ * </pre>
+ * Stopped lines are written for puzzles which reached a limit of the solve options.
+ */
+public class BatchSolver {
+    public static final String HEADER = "file;line;depth;expanded boards;run time;algorithm;heuristic;moves";
+    private static final long REPORT_INTERVAL_NANOS = 5_000_000_000L;
+    private final Solver solver;
+    private final int threads;
+    private final int maxInFlight;
+    private final SolveOptions options;
+
+    /**
+     * Creates a batch solver with one thread per available processor
+     *
+     * @param solver Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     */
+    public BatchSolver(Solver solver) {
+        this(solver, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a batch solver with the given number of threads, four puzzles per thread are kept in flight
+     *
+     * @param solver  Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param threads Number of threads
+     */
+    public BatchSolver(Solver solver, int threads) {
+        this(solver, threads, threads * 4);
+    }
+
+    /**
+     * Creates a batch solver
+     *
+     * @param solver      Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param threads     Number of threads
+     * @param maxInFlight Maximum number of puzzles read but not yet written
+     */
+    public BatchSolver(Solver solver, int threads, int maxInFlight) {
+        this(solver, threads, maxInFlight, SolveOptions.NONE);
+    }
+
+    /**
+     * Creates a batch solver stopping every solve at the limits of the given options,
+     * so a single hard puzzle can not block a thread
+     *
+     * @param solver      Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param threads     Number of threads
+     * @param maxInFlight Maximum number of puzzles read but not yet written
+     * @param options     Limits of every solve, e.g. SolveOptions.NONE.withTimeLimit(Duration.ofSeconds(10))
+     */
+    public BatchSolver(Solver solver, int threads, int maxInFlight, SolveOptions options) {
+        if (threads < 1 || maxInFlight < 1) {
+            throw new IllegalArgumentException("Threads and puzzles in flight must be at least 1");
+        }
+        this.solver = solver;
+        this.threads = threads;
+        this.maxInFlight = maxInFlight;
+        this.options = options;
+    }
+
+    /**
+     * Solves all puzzles of the given files and writes one line per puzzle,
+     * invalid puzzles are written as error lines and do not stop the batch.
+     * Throughput is printed to the console while the batch runs.
+     *
+     * @param files    Puzzle files with one puzzle per line
+     * @param out      Writer for the result lines, the header is written first
+     * @param timeUnit Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @return Number of solved puzzles
+     * @throws IOException being thrown when a file could not be read or the results could not be written
+     */
+    public long solve(List<Path> files, Writer out, TimeUnit timeUnit) throws IOException {
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicLong solved = new AtomicLong();
+        AtomicLong stopped = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        AtomicReference<IOException> writeError = new AtomicReference<>();
+        long start = System.nanoTime();
+        long nextReport = start + REPORT_INTERVAL_NANOS;
+        out.write(HEADER + System.lineSeparator());
+        try (SolverService service = new SolverService(threads)) {
+            for (Path file : files) {
+                try (PuzzleReader reader = new PuzzleReader(file)) {
+                    while (writeError.get() == null && reader.next()) {
+                        String source = file.getFileName() + ";" + reader.getLineNumber() + ";";
+                        acquire(inFlight, 1);
+                        if (!reader.isValid()) {
+                            failed.incrementAndGet();
+                            write(out, source + "ERROR;" + reader.getError(), writeError);
+                            inFlight.release();
+                            continue;
+                        }
+                        Board board = new Board(reader.getState());
+                        service.submit(board, solver, timeUnit, options).whenComplete((result, error) -> {
+                            if (error == null) {
+                                (result.isSolved() ? solved : stopped).incrementAndGet();
+                                write(out, source + format(result), writeError);
+                            } else {
+                                failed.incrementAndGet();
+                                Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                                write(out, source + "ERROR;" + cause.getMessage(), writeError);
+                            }
+                            inFlight.release();
+                        });
+                        long now = System.nanoTime();
+                        if (now >= nextReport) {
+                            report(solved.get(), stopped.get(), failed.get(), now - start);
+                            nextReport = now + REPORT_INTERVAL_NANOS;
+                        }
+                    }
+                }
+            }
+            acquire(inFlight, maxInFlight);//wait until all results are written
+        }
+        if (writeError.get() != null) {
+            throw writeError.get();
+        }
+        out.flush();
+        report(solved.get(), stopped.get(), failed.get(), System.nanoTime() - start);
+        return solved.get();
+    }
+
+    /**
+     * Formats a result as one line without the source of the puzzle
+     *
+     * @param result Result of a solve
+     * @return Result line
+     */
+    public static String format(Result result) {
+        if (!result.isSolved()) {
+            return "STOPPED;" + result.getStatus() + ";" + result.getLowerBound() + ";" + result.getExpandedBoards()
+                    + ";" + result.getRunTime();
+        }
+        return result.getDepth() + ";" + result.getExpandedBoards() + ";" + result.getRunTime() + ";"
+                + result.getAlgorithm() + ";" + result.getName() + ";" + result.getMoves();
+    }
+
+    /**
+     * Writes one line, the first write error is kept and stops the batch
+     *
+     * @param out        Writer for the result lines
+     * @param line       Line to write
+     * @param writeError First write error
+     */
+    private static void write(Writer out, String line, AtomicReference<IOException> writeError) {
+        synchronized (out) {
+            try {
+                out.write(line + System.lineSeparator());
+            } catch (IOException e) {
+                writeError.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * Acquires permits without giving up on interrupts, the interrupt is restored afterwards
+     *
+     * @param semaphore Semaphore
+     * @param permits   Number of permits
+     */
+    private static void acquire(Semaphore semaphore, int permits) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                semaphore.acquire(permits);
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Prints the number of processed puzzles and the throughput
+     *
+     * @param solved       Number of solved puzzles
+     * @param stopped      Number of puzzles stopped by a limit
+     * @param failed       Number of invalid puzzles
+     * @param elapsedNanos Elapsed time in nanoseconds
+     */
+    private static void report(long solved, long stopped, long failed, long elapsedNanos) {
+        double seconds = Math.max(elapsedNanos, 1L) / 1e9;
+        System.out.printf("Solved %d puzzles (%d stopped, %d invalid) in %.1f s, %.1f puzzles/s%n",
+                solved, stopped, failed, seconds, solved / seconds);
+    }
+}
@@ -0,0 +1,436 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.Utils;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for the bidirectional MM algorithm ("meet in the middle").
+ * A forward search starts at the initial board and a backward search at the goal board, the backward search
+ * estimates the distance to the initial board with {@link Heuristic#towards(long)}. Both searches expand
+ * states by the priority max(f, 2g), so no state is expanded further than half of the solution from its root.
+ * Every state generated by one search is looked up in the other search, the best meeting gives the cost U.
+ * The search stops once U is not larger than the lower bound
+ * max(C, fmin forward, fmin backward, gmin forward + gmin backward + 1), C being the smallest priority,
+ * so the solution is optimal for admissible heuristics.
+ */
+public class BidirectionalMM implements Solver {
+    private static final Move[] MOVES = Move.values();
+    private final Heuristic heuristic;
+
+    /**
+     * Creates a bidirectional MM solver
+     *
+     * @param heuristic Type of heuristic for the forward search, the backward search uses it towards the initial board
+     */
+    public BidirectionalMM(Heuristic heuristic) {
+        this.heuristic = heuristic;
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using the bidirectional MM algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object with the expanded boards per direction
+     */
+    @Override
+    public BidirectionalResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using the bidirectional MM algorithm within the limits of the given options,
+     * a stopped solve returns the highest lower bound of the stopping rule
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object with the expanded boards per direction
+     */
+    @Override
+    public BidirectionalResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode,
+                                     SolveOptions options) {
+        Utils.checkInput(initialBoard);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        long state = PackedBoard.pack(initialBoard.getState());
+        Frontier forward = new Frontier(heuristic);
+        Frontier backward = new Frontier(heuristic.towards(state));
+        SolveBudget budget = new SolveBudget(options);
+        Search search = new Search(forward, backward, budget);
+        search.start(state);
+        boolean solved = search.run();
+        stopwatch.stop();
+        Board finalBoard;
+        String moves;
+        if (solved) {
+            finalBoard = new Board(PackedBoard.GOAL);
+            finalBoard.setGScore(search.bestCost);
+            moves = Utils.getMoves(search.getPath(), search.bestCost);
+        } else {
+            if (!budget.isStopped()) {
+                System.out.println("No solution found");
+            }
+            finalBoard = new Board(initialBoard.getState());
+            moves = "no moves";
+        }
+        BidirectionalResult result = new BidirectionalResult(finalBoard, "MM", heuristic,
+                forward.expandedBoards, backward.expandedBoards, forward.openSize + backward.openSize,
+                forward.expanded.size() + backward.expanded.size(), Utils.getThreadAllocatedBytesSince(allocatedBytes),
+                search.peakOpenListSize, forward.expanded.size() + backward.expanded.size(),
+                Math.max(forward.maxG, backward.maxG), stopwatch.elapsed(unit), moves, budget.getStatus(),
+                solved ? search.bestCost : search.lowerBound);
+        if (debugMode == DebugMode.ON) {
+            Utils.printResults(result);//print results
+            System.out.println("Forward expanded boards: " + result.getForwardExpandedBoards());
+            System.out.println("Backward expanded boards: " + result.getBackwardExpandedBoards());
+        }
+        return result;
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * State of one solve, holds both searches and the best meeting found so far
+     */
+    private static class Search {
+        private final Frontier forward;
+        private final Frontier backward;
+        private final SolveBudget budget;
+        private int bestCost = Integer.MAX_VALUE;
+        private long meeting;
+        private int peakOpenListSize;
+        private int lowerBound;//highest lower bound of the stopping rule so far
+
+        Search(Frontier forward, Frontier backward, SolveBudget budget) {
+            this.forward = forward;
+            this.backward = backward;
+            this.budget = budget;
+        }
+
+        /**
+         * Adds the roots of both searches
+         *
+         * @param state Packed state of the initial board
+         */
+        void start(long state) {
+            forward.add(state, 0, forward.heuristic.calculate(state), null);
+            backward.add(PackedBoard.GOAL, 0, backward.heuristic.calculate(PackedBoard.GOAL), null);
+            if (state == PackedBoard.GOAL) {
+                bestCost = 0;
+                meeting = state;
+            }
+            peakOpenListSize = 2;
+        }
+
+        /**
+         * Expands states in the direction with the smaller priority until the stopping rule holds
+         * or a limit of the solve is reached, the limits are checked every SolveBudget.CHECK_INTERVAL expansions
+         *
+         * @return true if a solution was found
+         */
+        boolean run() {
+            int expansions = 0;
+            long reportedBoards = 0;
+            while (true) {
+                int forwardPriority = forward.getMinPriority();
+                int backwardPriority = backward.getMinPriority();
+                if (forwardPriority == Integer.MAX_VALUE || backwardPriority == Integer.MAX_VALUE) {
+                    return bestCost != Integer.MAX_VALUE;//one search is exhausted, every meeting has been seen
+                }
+                lowerBound = Math.max(lowerBound, Math.max(Math.min(forwardPriority, backwardPriority),
+                        Math.max(Math.max(forward.getMinF(), backward.getMinF()), forward.getMinG() + backward.getMinG() + 1)));
+                if (bestCost <= lowerBound) {
+                    return true;
+                }
+                if ((++expansions & SolveBudget.CHECK_MASK) == 0) {
+                    long expandedBoards = forward.expandedBoards + backward.expandedBoards;
+                    boolean exhausted = budget.isExhausted(expandedBoards - reportedBoards,
+                            forward.getBytes() + backward.getBytes());
+                    reportedBoards = expandedBoards;
+                    if (exhausted) {
+                        return false;
+                    }
+                }
+                if (forwardPriority <= backwardPriority) {
+                    expand(forward, backward);
+                } else {
+                    expand(backward, forward);
+                }
+                peakOpenListSize = Math.max(peakOpenListSize, forward.openSize + backward.openSize);
+            }
+        }
+
+        /**
+         * Expands the state with the smallest priority of one search and looks up its successors in the other search
+         *
+         * @param frontier Search to expand
+         * @param other    Search of the other direction
+         */
+        private void expand(Frontier frontier, Frontier other) {
+            long state = frontier.poll();
+            int gScore = frontier.polledGScore;
+            int hScore = frontier.polledHScore;
+            int blank = PackedBoard.indexOf(state, 0);
+            Move parentMove = frontier.gScores.getMove(state);
+            for (Move move : MOVES) {
+                if (!move.canMove(blank) || (parentMove != null && move == parentMove.inverse())) {
+                    continue;
+                }
+                int target = blank + move.getOffset();
+                long successor = PackedBoard.move(state, blank, target);
+                if (frontier.add(successor, gScore + 1, frontier.heuristic.update(state, hScore, blank, target), move)) {
+                    int otherGScore = other.gScores.getGScore(successor);
+                    if (otherGScore >= 0 && gScore + 1 + otherGScore < bestCost) {
+                        bestCost = gScore + 1 + otherGScore;
+                        meeting = successor;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Joins the path of the forward search to the meeting with the reversed path of the backward search
+         *
+         * @return Move ordinals from the initial board to the goal board
+         */
+        byte[] getPath() {
+            byte[] path = new byte[bestCost];
+            int forwardLength = forward.gScores.getGScore(meeting);
+            long state = meeting;
+            for (int i = forwardLength - 1; i >= 0; i--) {
+                Move move = forward.gScores.getMove(state);
+                path[i] = (byte) move.ordinal();
+                int blank = PackedBoard.indexOf(state, 0);
+                state = PackedBoard.move(state, blank, blank - move.getOffset());
+            }
+            state = meeting;
+            for (int i = forwardLength; i < bestCost; i++) {
+                Move move = backward.gScores.getMove(state);
+                path[i] = (byte) move.inverse().ordinal();//the backward search moved from the next state to this one
+                int blank = PackedBoard.indexOf(state, 0);
+                state = PackedBoard.move(state, blank, blank - move.getOffset());
+            }
+            return path;
+        }
+    }
+
+    /**
+     * Open and closed list of one direction.
+     * Open states are kept in stacks per priority, a state whose g score was lowered is pushed again
+     * and its old entry is skipped when polled. The number of open states per f and per g score gives fmin and gmin.
+     */
+    private static class Frontier {
+        private final Heuristic heuristic;
+        private final ClosedSet gScores = new ClosedSet();//g score and move of every generated state
+        private final ClosedSet expanded = new ClosedSet();//g score of every state when it was expanded
+        private Bucket[] buckets = new Bucket[128];
+        private int[] fCounts = new int[128];
+        private int[] gCounts = new int[128];
+        private int minPriority = Integer.MAX_VALUE;
+        private int minF = Integer.MAX_VALUE;
+        private int minG = Integer.MAX_VALUE;
+        private int openSize;
+        private int maxG;
+        private long expandedBoards;
+        private int polledGScore;
+        private int polledHScore;
+
+        Frontier(Heuristic heuristic) {
+            this.heuristic = heuristic;
+        }
+
+        /**
+         * Adds a state to the open list unless it was already generated with lower or equal g score,
+         * a state with a lower g score than before is reopened
+         *
+         * @param state  Packed state
+         * @param gScore G score of the state
+         * @param hScore H score of the state
+         * @param move   Move leading to the state, null for the root
+         * @return true if the state was added
+         */
+        boolean add(long state, int gScore, int hScore, Move move) {
+            int oldGScore = gScores.getGScore(state);
+            if (oldGScore >= 0) {
+                if (oldGScore <= gScore) {
+                    return false;
+                }
+                if (isOpen(state, oldGScore)) {
+                    fCounts[oldGScore + hScore]--;
+                    gCounts[oldGScore]--;
+                    openSize--;
+                }
+            }
+            gScores.put(state, gScore, move);
+            int f = gScore + hScore;
+            int priority = Math.max(f, 2 * gScore);
+            if (priority >= buckets.length) {
+                int length = Math.max(priority + 1, buckets.length << 1);
+                buckets = Arrays.copyOf(buckets, length);
+                fCounts = Arrays.copyOf(fCounts, length);
+                gCounts = Arrays.copyOf(gCounts, length);
+            }
+            if (buckets[priority] == null) {
+                buckets[priority] = new Bucket();
+            }
+            buckets[priority].push(state, gScore, hScore);
+            fCounts[f]++;
+            gCounts[gScore]++;
+            minPriority = Math.min(minPriority, priority);
+            minF = Math.min(minF, f);
+            minG = Math.min(minG, gScore);
+            maxG = Math.max(maxG, gScore);
+            openSize++;
+            if (move != null) {
+                expandedBoards++;
+            }
+            return true;
+        }
+
+        /**
+         * Removes the open state with the smallest priority and closes it,
+         * its g and h score are stored in polledGScore and polledHScore
+         *
+         * @return Packed state
+         */
+        long poll() {
+            Bucket bucket = buckets[getMinPriority()];
+            long state = bucket.states[bucket.size - 1];
+            polledGScore = bucket.gScores[bucket.size - 1];
+            polledHScore = bucket.hScores[bucket.size - 1];
+            bucket.size--;
+            expanded.put(state, polledGScore, null);
+            fCounts[polledGScore + polledHScore]--;
+            gCounts[polledGScore]--;
+            openSize--;
+            return state;
+        }
+
+        /**
+         * Get smallest priority of an open state, stale entries on top of the buckets are removed
+         *
+         * @return Smallest priority or Integer.MAX_VALUE if no state is open
+         */
+        int getMinPriority() {
+            while (minPriority < buckets.length) {
+                Bucket bucket = buckets[minPriority];
+                while (bucket != null && bucket.size > 0) {
+                    long state = bucket.states[bucket.size - 1];
+                    int gScore = bucket.gScores[bucket.size - 1];
+                    if (gScores.getGScore(state) == gScore && isOpen(state, gScore)) {
+                        return minPriority;
+                    }
+                    bucket.size--;
+                }
+                minPriority++;
+            }
+            minPriority = Integer.MAX_VALUE;
+            return minPriority;
+        }
+
+        /**
+         * Get smallest f score of an open state
+         *
+         * @return Smallest f score or Integer.MAX_VALUE if no state is open
+         */
+        int getMinF() {
+            minF = advance(fCounts, minF);
+            return minF;
+        }
+
+        /**
+         * Get smallest g score of an open state
+         *
+         * @return Smallest g score or Integer.MAX_VALUE if no state is open
+         */
+        int getMinG() {
+            minG = advance(gCounts, minG);
+            return minG;
+        }
+
+        /**
+         * Get bytes of the closed sets, the counters and the buckets of this direction
+         *
+         * @return Bytes
+         */
+        long getBytes() {
+            long bytes = gScores.getBytes() + expanded.getBytes() + (long) (fCounts.length + gCounts.length) * Integer.BYTES;
+            for (Bucket bucket : buckets) {
+                if (bucket != null) {
+                    bytes += (long) bucket.states.length * (Long.BYTES + 2 * Byte.BYTES);
+                }
+            }
+            return bytes;
+        }
+
+        /**
+         * Returns true if the state with the given g score is not expanded yet
+         *
+         * @param state  Packed state
+         * @param gScore Current g score of the state
+         * @return true if the state is open
+         */
+        private boolean isOpen(long state, int gScore) {
+            return expanded.getGScore(state) != gScore;
+        }
+
+        /**
+         * Moves a cursor to the first score with open states
+         *
+         * @param counts Number of open states per score
+         * @param cursor Current cursor, no score below it has open states
+         * @return First score with open states or Integer.MAX_VALUE
+         */
+        private static int advance(int[] counts, int cursor) {
+            while (cursor < counts.length && counts[cursor] == 0) {
+                cursor++;
+            }
+            return cursor < counts.length ? cursor : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Array based stack of open states with equal priority
+     */
+    private static class Bucket {
+        private long[] states = new long[16];
+        private byte[] gScores = new byte[16];
+        private byte[] hScores = new byte[16];
+        private int size;
+
+        void push(long state, int gScore, int hScore) {
+            if (size == states.length) {
+                states = Arrays.copyOf(states, size << 1);
+                gScores = Arrays.copyOf(gScores, size << 1);
+                hScores = Arrays.copyOf(hScores, size << 1);
+            }
+            states[size] = state;
+            gScores[size] = (byte) gScore;
+            hScores[size++] = (byte) hScore;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package algorithm;
+
+import board.Board;
+import heuristic.Heuristic;
+import util.SolveStatus;
+
+/**
+ * Class for the result of a bidirectional search, the expanded boards are also reported per direction
+ */
+public class BidirectionalResult extends Result {
+    private final long forwardExpandedBoards;
+    private final long backwardExpandedBoards;
+
+    public BidirectionalResult(Board finalBoard, String algorithmType, Heuristic heuristic, long forwardExpandedBoards,
+                               long backwardExpandedBoards, int totalOpenListSize, int totalClosedListSize,
+                               long allocatedBytes, int peakOpenListSize, int peakClosedListSize, int peakPathLength,
+                               long totalRunTime, String movesToSolve) {
+        this(finalBoard, algorithmType, heuristic, forwardExpandedBoards, backwardExpandedBoards, totalOpenListSize,
+                totalClosedListSize, allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength,
+                totalRunTime, movesToSolve, SolveStatus.SOLVED, finalBoard.getGScore());
+    }
+
+    /**
+     * Creates a result, solves stopped by a limit of their solve options are not solved
+     * and only know a lower bound of the solution length
+     */
+    public BidirectionalResult(Board finalBoard, String algorithmType, Heuristic heuristic, long forwardExpandedBoards,
+                               long backwardExpandedBoards, int totalOpenListSize, int totalClosedListSize,
+                               long allocatedBytes, int peakOpenListSize, int peakClosedListSize, int peakPathLength,
+                               long totalRunTime, String movesToSolve, SolveStatus status, int lowerBound) {
+        super(finalBoard, algorithmType, heuristic, forwardExpandedBoards + backwardExpandedBoards, totalOpenListSize,
+                totalClosedListSize, allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength,
+                totalRunTime, movesToSolve, status, lowerBound);
+        this.forwardExpandedBoards = forwardExpandedBoards;
+        this.backwardExpandedBoards = backwardExpandedBoards;
+    }
+
+    /**
+     * Get boards expanded by the search starting at the initial board
+     *
+     * @return Forward expanded boards
+     */
+    public long getForwardExpandedBoards() {
+        return forwardExpandedBoards;
+    }
+
+    /**
+     * Get boards expanded by the search starting at the goal board
+     *
+     * @return Backward expanded boards
+     */
+    public long getBackwardExpandedBoards() {
+        return backwardExpandedBoards;
+    }
+}
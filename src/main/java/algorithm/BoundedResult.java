@@ -0,0 +1,67 @@
+package algorithm;
+
+import board.Board;
+import heuristic.Heuristic;
+import util.SolveStatus;
+
+/**
+ * Class for the result of a bounded suboptimal search, the solution is at most
+ * the suboptimality bound times longer than an optimal solution.
+ * A search stopped by its solve options before the first solution has an infinite suboptimality bound.
+ */
+public class BoundedResult extends Result {
+    private final double weight;
+    private final double suboptimalityBound;
+
+    public BoundedResult(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                         int totalOpenListSize, int totalClosedListSize, long allocatedBytes, int peakOpenListSize,
+                         int peakClosedListSize, int peakPathLength, long totalRunTime, String movesToSolve,
+                         double weight, double suboptimalityBound) {
+        this(finalBoard, algorithmType, heuristic, totalExpandedBoards, totalOpenListSize, totalClosedListSize,
+                allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength, totalRunTime, movesToSolve,
+                SolveStatus.SOLVED, (int) Math.ceil(finalBoard.getGScore() / suboptimalityBound - 1e-9), weight,
+                suboptimalityBound);
+    }
+
+    /**
+     * Creates a result, solves stopped by a limit of their solve options are not solved
+     * and only know a lower bound of the solution length
+     */
+    public BoundedResult(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                         int totalOpenListSize, int totalClosedListSize, long allocatedBytes, int peakOpenListSize,
+                         int peakClosedListSize, int peakPathLength, long totalRunTime, String movesToSolve,
+                         SolveStatus status, int lowerBound, double weight, double suboptimalityBound) {
+        super(finalBoard, algorithmType, heuristic, totalExpandedBoards, totalOpenListSize, totalClosedListSize,
+                allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength, totalRunTime, movesToSolve,
+                status, lowerBound);
+        this.weight = weight;
+        this.suboptimalityBound = suboptimalityBound;
+    }
+
+    /**
+     * Get weight of the heuristic used by the search which found the solution
+     *
+     * @return Weight
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get factor by which the solution is at most longer than an optimal solution
+     *
+     * @return Suboptimality bound, 1 for an optimal solution
+     */
+    public double getSuboptimalityBound() {
+        return suboptimalityBound;
+    }
+
+    /**
+     * Returns true if the solution is known to be optimal
+     *
+     * @return true if the suboptimality bound is 1
+     */
+    public boolean isOptimal() {
+        return suboptimalityBound <= 1;
+    }
+}
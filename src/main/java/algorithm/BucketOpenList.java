@@ -0,0 +1,134 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Open list with one bucket per f score and g score.
+ * Nodes are polled from the lowest f score and within an f score from the highest g score,
+ * so nodes closer to the goal are preferred. Add and poll run in constant time because f and g
+ * are small bounded numbers.
+ */
+public class BucketOpenList implements OpenList {
+    private static final int INITIAL_MAX_F = 100;
+    private Bucket[][] buckets = new Bucket[INITIAL_MAX_F][];
+    private int[] bucketSizes = new int[INITIAL_MAX_F];//nodes per f score
+    private int[] maxG = new int[INITIAL_MAX_F];//highest g score per f score which may hold nodes
+    private int minF = Integer.MAX_VALUE;
+    private int size;
+
+    @Override
+    public void add(int node, int f, int g) {
+        if (f >= buckets.length) {
+            grow(f);
+        }
+        if (buckets[f] == null || g >= buckets[f].length) {
+            buckets[f] = buckets[f] == null ? new Bucket[Math.max(f, g) + 1] : Arrays.copyOf(buckets[f], g + 1);
+        }
+        if (buckets[f][g] == null) {
+            buckets[f][g] = new Bucket();
+        }
+        buckets[f][g].push(node);
+        if (bucketSizes[f]++ == 0 || g > maxG[f]) {
+            maxG[f] = g;
+        }
+        if (f < minF) {
+            minF = f;
+        }
+        size++;
+    }
+
+    @Override
+    public int poll() {
+        if (size == 0) {
+            return NONE;
+        }
+        while (bucketSizes[minF] == 0) {
+            minF++;
+        }
+        Bucket[] bucketsOfF = buckets[minF];
+        while (bucketsOfF[maxG[minF]] == null || bucketsOfF[maxG[minF]].isEmpty()) {
+            maxG[minF]--;
+        }
+        int node = bucketsOfF[maxG[minF]].pop();
+        bucketSizes[minF]--;
+        if (--size == 0) {
+            minF = Integer.MAX_VALUE;
+        }
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getBytes() {
+        long bytes = (long) buckets.length * 2 * Integer.BYTES;
+        for (Bucket[] bucketsOfF : buckets) {
+            if (bucketsOfF != null) {
+                for (Bucket bucket : bucketsOfF) {
+                    if (bucket != null) {
+                        bytes += (long) bucket.nodes.length * Integer.BYTES;
+                    }
+                }
+            }
+        }
+        return bytes;
+    }
+
+    @Override
+    public void clear() {
+        for (Bucket[] bucketsOfF : buckets) {
+            if (bucketsOfF != null) {
+                for (Bucket bucket : bucketsOfF) {
+                    if (bucket != null) {
+                        bucket.clear();
+                    }
+                }
+            }
+        }
+        Arrays.fill(bucketSizes, 0);
+        minF = Integer.MAX_VALUE;
+        size = 0;
+    }
+
+    /**
+     * Grows the arrays to hold the given f score
+     *
+     * @param f F score
+     */
+    private void grow(int f) {
+        int length = Math.max(f + 1, buckets.length << 1);
+        buckets = Arrays.copyOf(buckets, length);
+        bucketSizes = Arrays.copyOf(bucketSizes, length);
+        maxG = Arrays.copyOf(maxG, length);
+    }
+
+    /**
+     * Array based stack of nodes with equal f and g score
+     */
+    private static class Bucket {
+        private int[] nodes = new int[16];
+        private int size;
+
+        void push(int node) {
+            if (size == nodes.length) {
+                nodes = Arrays.copyOf(nodes, size << 1);
+            }
+            nodes[size++] = node;
+        }
+
+        int pop() {
+            return nodes[--size];
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            size = 0;
+        }
+    }
+}
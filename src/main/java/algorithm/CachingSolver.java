@@ -0,0 +1,128 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.Utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Solver answering repeated puzzles and puzzles on earlier solution paths from a solution cache,
+ * other puzzles are solved by the wrapped solver and their solutions are added to the cache.
+ * The wrapped solver must return optimal solutions.
+ */
+public class CachingSolver implements Solver {
+    private final Solver solver;
+    private final SolutionCache cache;
+
+    /**
+     * Creates a caching solver with its own cache
+     *
+     * @param solver Optimal solver used on cache misses, e.g. new IDAStar(new LinearConflictWithMD())
+     */
+    public CachingSolver(Solver solver) {
+        this(solver, new SolutionCache());
+    }
+
+    /**
+     * Creates a caching solver
+     *
+     * @param solver Optimal solver used on cache misses, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param cache  Cache of solutions, can be shared between solvers returning optimal solutions
+     */
+    public CachingSolver(Solver solver, SolutionCache cache) {
+        this.solver = solver;
+        this.cache = cache;
+    }
+
+    /**
+     * Solves a valid given 15-puzzle from the cache or with the wrapped solver,
+     * results from the cache have the algorithm type "Cache" and no expanded boards
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given 15-puzzle from the cache or with the wrapped solver within the limits of the given options,
+     * stopped solves are not cached
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the wrapped solver
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Utils.checkInput(initialBoard);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        long state = PackedBoard.pack(initialBoard.getState());
+        byte[] path = cache.get(state);
+        if (path == null) {
+            Result result = solver.solve(initialBoard, timeUnit, debugMode, options);
+            if (result.isSolved() && result.getFinalBoard().isSolution()) {
+                cache.put(state, toPath(result.getMoves(), result.getDepth()));
+            }
+            return result;
+        }
+        stopwatch.stop();
+        Board finalBoard = new Board(PackedBoard.GOAL);
+        finalBoard.setGScore(path.length);
+        Result result = new Result(finalBoard, "Cache", solver.getHeuristic(), 0, 0, 0,
+                Utils.getThreadAllocatedBytesSince(allocatedBytes), 0, 0, 0, stopwatch.elapsed(unit),
+                Utils.getMoves(path, path.length));
+        if (debugMode == DebugMode.ON) {
+            Utils.printResults(result);//print results
+        }
+        return result;
+    }
+
+    /**
+     * Converts the moves of a result back to move ordinals
+     *
+     * @param moves  Moves of the result, e.g. "R-U-L"
+     * @param length Number of moves
+     * @return Move ordinals
+     */
+    private static byte[] toPath(String moves, int length) {
+        byte[] path = new byte[length];
+        if (length > 0) {
+            String[] names = moves.split("-");
+            for (int i = 0; i < length; i++) {
+                path[i] = (byte) Move.valueOf(names[i]).ordinal();
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Get cache of this solver
+     *
+     * @return Solution cache
+     */
+    public SolutionCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public Heuristic getHeuristic() {
+        return solver.getHeuristic();
+    }
+}
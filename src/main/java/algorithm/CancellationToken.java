@@ -0,0 +1,25 @@
+package algorithm;
+
+/**
+ * Token for stopping solves from another thread, solves check the token every few thousand expanded boards
+ * and return a result which is not solved. One token can be shared by several solves to stop all of them.
+ */
+public class CancellationToken {
+    private volatile boolean cancelled;
+
+    /**
+     * Requests all solves using this token to stop
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Returns true if the token was cancelled
+     *
+     * @return true if cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
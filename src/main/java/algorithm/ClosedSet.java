@@ -0,0 +1,217 @@
+package algorithm;
+
+import board.Move;
+import board.PackedBoard;
+
+import java.util.Arrays;
+
+/**
+ * Closed list keyed on the packed state of a board.
+ * Uses open addressing with linear probing on primitive arrays, so there are no objects per entry.
+ * Every entry stores the g score and the move leading to the state to rebuild the path.
+ */
+public class ClosedSet {
+    private static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int NO_MOVE = -1;
+    private static final long EMPTY = 0L;//no valid board packs to 0
+    private long[] keys;
+    private short[] gScores;
+    private byte[] moves;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Creates a closed set with default capacity
+     */
+    public ClosedSet() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a closed set which holds the given number of states before the first resize
+     *
+     * @param expectedSize Expected number of states
+     */
+    public ClosedSet(int expectedSize) {
+        allocate(Math.max(16, Integer.highestOneBit(Math.max(1, expectedSize - 1)) << 2));
+    }
+
+    /**
+     * Adds a state to the closed set if it is not already contained
+     *
+     * @param state  Packed state
+     * @param gScore G score of the state
+     * @param move   Move leading to the state, null for the initial board
+     * @return true if the state was added
+     */
+    public boolean add(long state, int gScore, Move move) {
+        int slot = PackedBoard.hash(state) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == state) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = state;
+        gScores[slot] = (short) gScore;
+        moves[slot] = (byte) (move == null ? NO_MOVE : move.ordinal());
+        if (++size > resizeThreshold) {
+            resize();
+        }
+        return true;
+    }
+
+    /**
+     * Adds a state to the closed set or replaces the g score and move of a contained state,
+     * used to reopen states when a heuristic is not consistent
+     *
+     * @param state  Packed state
+     * @param gScore G score of the state
+     * @param move   Move leading to the state, null for the initial board
+     */
+    public void put(long state, int gScore, Move move) {
+        int slot = find(state);
+        if (slot < 0) {
+            add(state, gScore, move);
+        } else {
+            gScores[slot] = (short) gScore;
+            moves[slot] = (byte) (move == null ? NO_MOVE : move.ordinal());
+        }
+    }
+
+    /**
+     * Returns true if the state is in the closed set
+     *
+     * @param state Packed state
+     * @return true if contained
+     */
+    public boolean contains(long state) {
+        return find(state) >= 0;
+    }
+
+    /**
+     * Get g score of the given state
+     *
+     * @param state Packed state
+     * @return G score or -1 if the state is not contained
+     */
+    public int getGScore(long state) {
+        int slot = find(state);
+        return slot < 0 ? -1 : gScores[slot];
+    }
+
+    /**
+     * Get the move which led to the given state
+     *
+     * @param state Packed state
+     * @return Move or null if the state is the initial board or not contained
+     */
+    public Move getMove(long state) {
+        int slot = find(state);
+        return slot < 0 || moves[slot] == NO_MOVE ? null : Move.of(moves[slot]);
+    }
+
+    /**
+     * Rebuilds the moves from the initial board to the given state by walking back the stored moves
+     *
+     * @param state Packed state contained in the closed set
+     * @return String with all moves
+     */
+    public String getMoves(long state) {
+        StringBuilder turnsToSolve = new StringBuilder();
+        Move move = getMove(state);
+        if (move == null) {
+            return "initial board is goal board";
+        }
+        while (move != null) {
+            turnsToSolve.append(move).append("-");
+            int blank = PackedBoard.indexOf(state, 0);
+            state = PackedBoard.move(state, blank, blank - move.getOffset());
+            move = getMove(state);
+        }
+        turnsToSolve.setLength(turnsToSolve.length() - 1);
+        return turnsToSolve.reverse().toString();
+    }
+
+    /**
+     * Get number of states in the closed set
+     *
+     * @return Size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get bytes of the arrays of the table, including the free slots
+     *
+     * @return Bytes
+     */
+    public long getBytes() {
+        return (long) keys.length * (Long.BYTES + Short.BYTES + Byte.BYTES);
+    }
+
+    /**
+     * Removes all states, large tables are released and reallocated with default capacity
+     */
+    public void clear() {
+        if (keys.length > DEFAULT_CAPACITY) {
+            allocate(DEFAULT_CAPACITY);
+        } else {
+            Arrays.fill(keys, EMPTY);
+        }
+        size = 0;
+    }
+
+    /**
+     * Get slot of given state
+     *
+     * @param state Packed state
+     * @return Slot index or -1 if not contained
+     */
+    private int find(long state) {
+        int slot = PackedBoard.hash(state) & mask;
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == state) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the capacity and reinserts all states
+     */
+    private void resize() {
+        long[] oldKeys = keys;
+        short[] oldGScores = gScores;
+        byte[] oldMoves = moves;
+        allocate(oldKeys.length << 1);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = PackedBoard.hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                gScores[slot] = oldGScores[i];
+                moves[slot] = oldMoves[i];
+            }
+        }
+    }
+
+    /**
+     * Allocates empty arrays with given capacity
+     *
+     * @param capacity Power of two capacity
+     */
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        gScores = new short[capacity];
+        moves = new byte[capacity];
+        mask = capacity - 1;
+        resizeThreshold = (int) (capacity * 0.7f);
+    }
+}
@@ -0,0 +1,470 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.SolveStatus;
+import util.Utils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Class for the external memory AStar algorithm.
+ * Open and closed states are kept in files on disk with one bucket per g and h score, the only limit on the depth
+ * of a puzzle is disk space. Buckets are expanded by increasing f score and within an f score by increasing g score.
+ * Before a bucket is expanded its states are sorted in runs fitting into memory, the runs are merged and
+ * duplicates are removed together with the states already expanded in the buckets g - 1 and g - 2 of the same
+ * h score, since a move changes the g score of a state by at most one. The expanded states stay on disk sorted,
+ * the path is rebuilt from the goal by looking up predecessors in these files.
+ * The heuristic must be admissible, an inconsistent heuristic (e.g. linear conflict, where a move can lower
+ * the h score by three) is corrected by pathmax, so no successor belongs to a bucket which was already expanded.
+ * The search stops as soon as the goal is generated within the current f score instead of expanding the rest
+ * of the buckets of the last f score.
+ */
+public class ExternalAStar implements Solver {
+    public static final int DEFAULT_RUN_LENGTH = 1 << 22;//32 MB of states per sorted run
+    private static final int MAX_H = 1 << 8;
+    private static final Move[] MOVES = Move.values();
+    private final Heuristic heuristic;
+    private final Path directory;
+    private final int runLength;
+
+    /**
+     * Creates an external memory AStar solver with runs of 32 MB
+     *
+     * @param heuristic Admissible heuristic
+     * @param directory Directory for the bucket files, every solve uses and deletes its own subdirectory
+     */
+    public ExternalAStar(Heuristic heuristic, Path directory) {
+        this(heuristic, directory, DEFAULT_RUN_LENGTH);
+    }
+
+    /**
+     * Creates an external memory AStar solver
+     *
+     * @param heuristic Admissible heuristic
+     * @param directory Directory for the bucket files, every solve uses and deletes its own subdirectory
+     * @param runLength Number of states sorted in memory at once, 8 bytes each
+     */
+    public ExternalAStar(Heuristic heuristic, Path directory, int runLength) {
+        if (runLength < 1) {
+            throw new IllegalArgumentException("Run length must be at least 1");
+        }
+        this.heuristic = heuristic;
+        this.directory = directory;
+        this.runLength = runLength;
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using external memory AStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object with the disk I/O of the solve
+     * @throws UncheckedIOException being thrown when the bucket files could not be read or written
+     */
+    @Override
+    public ExternalResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using external memory AStar algorithm within the limits of the given options,
+     * a stopped solve returns the f score of the unfinished buckets as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object with the disk I/O of the solve
+     * @throws UncheckedIOException being thrown when the bucket files could not be read or written
+     */
+    @Override
+    public ExternalResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Utils.checkInput(initialBoard);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        Path solveDirectory = null;
+        try {
+            Files.createDirectories(directory);
+            solveDirectory = Files.createTempDirectory(directory, "external-astar-");
+            Search search = new Search(new StateFiles(solveDirectory), new SolveBudget(options));
+            int depth = search.run(PackedBoard.pack(initialBoard.getState()));
+            stopwatch.stop();
+            StateFiles files = search.files;
+            Board finalBoard;
+            String moves;
+            if (depth >= 0) {
+                finalBoard = new Board(PackedBoard.GOAL);
+                finalBoard.setGScore(depth);
+                moves = Utils.getMoves(search.getPath(depth), depth);
+            } else {
+                finalBoard = new Board(initialBoard.getState());
+                moves = "no moves";
+            }
+            ExternalResult result = new ExternalResult(finalBoard, "ExternalAStar", heuristic, search.numOfExpandedBoards,
+                    toInt(search.openStates), toInt(search.closedStates), Utils.getThreadAllocatedBytesSince(allocatedBytes),
+                    toInt(search.peakOpenStates), toInt(search.closedStates), depth >= 0 ? depth : search.f,
+                    stopwatch.elapsed(unit), moves, search.budget.getStatus(), depth >= 0 ? depth : search.f,
+                    files.getBytesRead(), files.getBytesWritten(), files.getIoNanos(), files.getPeakDiskBytes());
+            if (debugMode == DebugMode.ON) {
+                Utils.printResults(result);//print results
+                System.out.printf("Disk I/O: %d MB read, %d MB written, %.1f MB/s, peak disk usage %d MB%n",
+                        result.getBytesRead() >> 20, result.getBytesWritten() >> 20, result.getIoThroughput() / (1 << 20),
+                        result.getPeakDiskBytes() >> 20);
+            }
+            return result;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteDirectory(solveDirectory);
+        }
+    }
+
+    /**
+     * Deletes a directory with all its files
+     *
+     * @param solveDirectory Directory or null
+     */
+    private static void deleteDirectory(Path solveDirectory) {
+        if (solveDirectory == null) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(solveDirectory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not delete " + solveDirectory + ": " + e.getMessage());
+        }
+    }
+
+    private static int toInt(long value) {
+        return (int) Math.min(value, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * State of one solve
+     */
+    private class Search {
+        private final StateFiles files;
+        private final SolveBudget budget;
+        private final long[] chunk;
+        private final BitSet openBuckets = new BitSet();//index g * MAX_H + h
+        private final BitSet closedBuckets = new BitSet();
+        private long numOfExpandedBoards;
+        private long reportedBoards;
+        private long openStates;
+        private long peakOpenStates;
+        private long closedStates;
+        private int f;
+
+        Search(StateFiles files, SolveBudget budget) {
+            this.files = files;
+            this.budget = budget;
+            this.chunk = new long[runLength];
+        }
+
+        /**
+         * Expands buckets by increasing f and g score until the goal is expanded
+         *
+         * @param state Packed state of the initial board
+         * @return Length of the solution or -1 if the solve was stopped
+         * @throws IOException being thrown when a file could not be read or written
+         */
+        int run(long state) throws IOException {
+            int hScore = heuristic.calculate(state);
+            try (StateFiles.Writer writer = files.writer(files.open(0, hScore))) {
+                writer.write(state);
+            }
+            openBuckets.set(hScore);
+            openStates = peakOpenStates = 1;
+            for (f = hScore; !openBuckets.isEmpty(); f++) {
+                for (int gScore = Math.max(0, f - MAX_H + 1); gScore <= f; gScore++) {
+                    if (!openBuckets.get(gScore * MAX_H + f - gScore)) {
+                        continue;
+                    }
+                    int depth = expand(gScore, f - gScore);
+                    if (depth >= 0) {
+                        return depth;
+                    }
+                    if (budget.isStopped()) {
+                        return -1;
+                    }
+                }
+            }
+            throw new IllegalStateException("No solution found");
+        }
+
+        /**
+         * Sorts and merges the states of a bucket, removes duplicates and states expanded before,
+         * writes the remaining states sorted to the closed file of the bucket and their successors to the open files
+         *
+         * @param gScore G score of the bucket
+         * @param hScore H score of the bucket
+         * @return Length of the solution if the goal was reached, otherwise -1
+         * @throws IOException being thrown when a file could not be read or written
+         */
+        private int expand(int gScore, int hScore) throws IOException {
+            Path open = files.open(gScore, hScore);
+            openStates -= Files.size(open) / Long.BYTES;
+            openBuckets.clear(gScore * MAX_H + hScore);
+            List<Path> runs = files.sortRuns(open, chunk);
+            int bufferBytes = StateFiles.mergeBufferBytes(runs.size(), chunk.length);
+            StateFiles.Reader[] readers = new StateFiles.Reader[runs.size()];
+            StateFiles.Reader[] expanded = new StateFiles.Reader[2];//buckets g - 1 and g - 2 of the same h score
+            Map<Integer, StateFiles.Writer> successors = new HashMap<>();
+            int depth = -1;
+            try (StateFiles.Writer closed = files.writer(files.closed(gScore, hScore))) {
+                for (int i = 0; i < readers.length; i++) {
+                    readers[i] = files.reader(runs.get(i), bufferBytes);
+                }
+                for (int i = 0; i < expanded.length; i++) {
+                    int previous = gScore - 1 - i;
+                    if (previous >= 0 && closedBuckets.get(previous * MAX_H + hScore)) {
+                        expanded[i] = files.reader(files.closed(previous, hScore), StateFiles.IO_BUFFER_BYTES);
+                    }
+                }
+                RunHeap heap = new RunHeap(readers);
+                long last = 0L;//no valid state packs to 0
+                int expansions = 0;
+                while (!heap.isEmpty()) {
+                    long state = heap.poll();
+                    if (state == last || isExpanded(expanded, state)) {
+                        continue;
+                    }
+                    last = state;
+                    closed.write(state);
+                    if (state == PackedBoard.GOAL) {
+                        depth = gScore;
+                        break;
+                    }
+                    int blank = PackedBoard.indexOf(state, 0);
+                    for (Move move : MOVES) {
+                        if (!move.canMove(blank)) {
+                            continue;
+                        }
+                        int target = blank + move.getOffset();
+                        //pathmax keeps the f score from decreasing, so no successor belongs to a bucket expanded before
+                        int successorHScore = Math.max(heuristic.update(state, hScore, blank, target), hScore - 1);
+                        StateFiles.Writer writer = successors.get(successorHScore);
+                        if (writer == null) {
+                            writer = files.writer(files.open(gScore + 1, successorHScore));
+                            successors.put(successorHScore, writer);
+                        }
+                        long successor = PackedBoard.move(state, blank, target);
+                        writer.write(successor);
+                        numOfExpandedBoards++;
+                        if (successor == PackedBoard.GOAL && gScore + 1 == f) {
+                            depth = f;//no bucket with a lower f score is left, a shorter solution does not exist
+                        }
+                    }
+                    if (depth >= 0) {
+                        break;//the rest of the last f score does not need to be expanded
+                    }
+                    if ((++expansions & SolveBudget.CHECK_MASK) == 0) {
+                        boolean exhausted = budget.isExhausted(numOfExpandedBoards - reportedBoards,
+                                (long) chunk.length * Long.BYTES);
+                        reportedBoards = numOfExpandedBoards;
+                        if (exhausted) {
+                            break;
+                        }
+                    }
+                }
+                closedStates += closed.getStates();
+            } finally {
+                for (StateFiles.Reader reader : readers) {
+                    if (reader != null) {
+                        reader.close();
+                    }
+                }
+                for (StateFiles.Reader reader : expanded) {
+                    if (reader != null) {
+                        reader.close();
+                    }
+                }
+                for (Map.Entry<Integer, StateFiles.Writer> entry : successors.entrySet()) {
+                    entry.getValue().close();
+                    openStates += entry.getValue().getStates();
+                    openBuckets.set((gScore + 1) * MAX_H + entry.getKey());
+                }
+                for (Path run : runs) {
+                    files.delete(run);
+                }
+            }
+            closedBuckets.set(gScore * MAX_H + hScore);
+            peakOpenStates = Math.max(peakOpenStates, openStates);
+            return depth;
+        }
+
+        /**
+         * Returns true if one of the sorted readers of expanded buckets contains the state,
+         * the readers are advanced up to the state since states are looked up in increasing order
+         *
+         * @param expanded Readers of the expanded buckets, null if a bucket is empty
+         * @param state    Packed state
+         * @return true if the state was expanded before
+         * @throws IOException being thrown when a file could not be read
+         */
+        private boolean isExpanded(StateFiles.Reader[] expanded, long state) throws IOException {
+            for (StateFiles.Reader reader : expanded) {
+                if (reader == null) {
+                    continue;
+                }
+                while (reader.hasNext() && reader.peek() < state) {
+                    reader.next();
+                }
+                if (reader.hasNext() && reader.peek() == state) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Rebuilds the path by walking back from the goal, a predecessor of a state with g score d
+         * is a neighbour found in one of the closed files of g score d - 1
+         *
+         * @param depth G score of the goal
+         * @return Move ordinals from the initial board to the goal board
+         * @throws IOException being thrown when a file could not be read
+         */
+        byte[] getPath(int depth) throws IOException {
+            byte[] path = new byte[depth];
+            long state = PackedBoard.GOAL;
+            for (int gScore = depth; gScore > 0; gScore--) {
+                int blank = PackedBoard.indexOf(state, 0);
+                long predecessor = 0L;
+                for (Move move : MOVES) {
+                    if (!move.canMove(blank)) {
+                        continue;
+                    }
+                    long neighbour = PackedBoard.move(state, blank, blank + move.getOffset());
+                    if (isClosed(gScore - 1, neighbour)) {
+                        path[gScore - 1] = (byte) move.inverse().ordinal();//the blank tile moves back to this cell
+                        predecessor = neighbour;
+                        break;
+                    }
+                }
+                if (predecessor == 0L) {
+                    throw new IllegalStateException("No predecessor found on depth " + (gScore - 1));
+                }
+                state = predecessor;
+            }
+            return path;
+        }
+
+        /**
+         * Returns true if the state was expanded with the g score, the bucket of its own h score is looked up first
+         * since the h score of a bucket only differs from it after pathmax
+         *
+         * @param gScore G score
+         * @param state  Packed state
+         * @return true if a closed file of the g score contains the state
+         * @throws IOException being thrown when a file could not be read
+         */
+        private boolean isClosed(int gScore, long state) throws IOException {
+            int hScore = heuristic.calculate(state);
+            if (hScore < MAX_H && closedBuckets.get(gScore * MAX_H + hScore)
+                    && files.contains(files.closed(gScore, hScore), state)) {
+                return true;
+            }
+            for (int h = closedBuckets.nextSetBit(gScore * MAX_H); h >= 0 && h < (gScore + 1) * MAX_H;
+                 h = closedBuckets.nextSetBit(h + 1)) {
+                if (h - gScore * MAX_H != hScore && files.contains(files.closed(gScore, h - gScore * MAX_H), state)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * Binary min heap over the next states of sorted runs, used for merging the runs
+     */
+    private static class RunHeap {
+        private final StateFiles.Reader[] readers;
+        private final int[] heap;
+        private int size;
+
+        RunHeap(StateFiles.Reader[] readers) throws IOException {
+            this.readers = readers;
+            this.heap = new int[readers.length];
+            for (int i = 0; i < readers.length; i++) {
+                if (readers[i].hasNext()) {
+                    heap[size++] = i;
+                }
+            }
+            for (int i = size / 2 - 1; i >= 0; i--) {
+                siftDown(i);
+            }
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Removes the smallest next state of all runs
+         *
+         * @return Packed state
+         * @throws IOException being thrown when a run could not be read
+         */
+        long poll() throws IOException {
+            StateFiles.Reader reader = readers[heap[0]];
+            long state = reader.next();
+            if (!reader.hasNext()) {
+                heap[0] = heap[--size];
+            }
+            siftDown(0);
+            return state;
+        }
+
+        private void siftDown(int index) {
+            while (true) {
+                int smallest = index;
+                for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                    if (readers[heap[child]].peek() < readers[heap[smallest]].peek()) {
+                        smallest = child;
+                    }
+                }
+                if (smallest == index) {
+                    return;
+                }
+                int swap = heap[index];
+                heap[index] = heap[smallest];
+                heap[smallest] = swap;
+                index = smallest;
+            }
+        }
+    }
+}
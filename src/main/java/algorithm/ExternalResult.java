@@ -0,0 +1,64 @@
+package algorithm;
+
+import board.Board;
+import heuristic.Heuristic;
+import util.SolveStatus;
+
+/**
+ * Class for the result of the external memory AStar, also reports the disk I/O of the solve
+ */
+public class ExternalResult extends Result {
+    private final long bytesRead;
+    private final long bytesWritten;
+    private final long ioNanos;
+    private final long peakDiskBytes;
+
+    public ExternalResult(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                          int totalOpenListSize, int totalClosedListSize, long allocatedBytes, int peakOpenListSize,
+                          int peakClosedListSize, int peakPathLength, long totalRunTime, String movesToSolve,
+                          SolveStatus status, int lowerBound, long bytesRead, long bytesWritten, long ioNanos,
+                          long peakDiskBytes) {
+        super(finalBoard, algorithmType, heuristic, totalExpandedBoards, totalOpenListSize, totalClosedListSize,
+                allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength, totalRunTime, movesToSolve,
+                status, lowerBound);
+        this.bytesRead = bytesRead;
+        this.bytesWritten = bytesWritten;
+        this.ioNanos = ioNanos;
+        this.peakDiskBytes = peakDiskBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead;
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    /**
+     * Get time spent reading and writing files
+     *
+     * @return I/O time in nanoseconds
+     */
+    public long getIoNanos() {
+        return ioNanos;
+    }
+
+    /**
+     * Get largest number of bytes in the files of the solve at the same time
+     *
+     * @return Peak disk usage in bytes
+     */
+    public long getPeakDiskBytes() {
+        return peakDiskBytes;
+    }
+
+    /**
+     * Get bytes read and written per second of I/O time
+     *
+     * @return I/O throughput in bytes per second
+     */
+    public double getIoThroughput() {
+        return (bytesRead + bytesWritten) / (Math.max(ioNanos, 1L) / 1e9);
+    }
+}
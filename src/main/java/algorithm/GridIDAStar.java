@@ -0,0 +1,82 @@
+package algorithm;
+
+import board.Board;
+import board.Dimensions;
+import heuristic.Heuristic;
+import heuristic.LinearConflictWithMD;
+import util.DebugMode;
+import util.PuzzleException;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class for the IDAStar algorithm on sliding puzzles of any dimensions up to 25 cells,
+ * e.g. the 8-puzzle, the 24-puzzle or rectangular puzzles. The dimensions are taken from the 2d array of the board.
+ * 4 by 4 boards are solved by {@link IDAStar} with the given heuristic, boards of other dimensions by {@link IDAStar}
+ * with the linear conflict of their dimensions.
+ */
+public class GridIDAStar implements Solver {
+    private final IDAStar fourByFour;
+    private final Map<Dimensions, IDAStar> solvers = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a solver using linear conflict for 4 by 4 boards
+     */
+    public GridIDAStar() {
+        this(new LinearConflictWithMD());
+    }
+
+    /**
+     * Creates a solver
+     *
+     * @param heuristic Type of heuristic for 4 by 4 boards
+     */
+    public GridIDAStar(Heuristic heuristic) {
+        this.fourByFour = new IDAStar(heuristic);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using IDAStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using IDAStar algorithm within the limits of the given options,
+     * a stopped solve returns the threshold of the unfinished iteration as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        if (initialBoard == null) {
+            throw new PuzzleException("Given board is null");
+        }
+        Dimensions dimensions = Dimensions.of(initialBoard.getState());
+        IDAStar solver = dimensions == Dimensions.FOUR_BY_FOUR ? fourByFour
+                : solvers.computeIfAbsent(dimensions, d -> new IDAStar(new LinearConflictWithMD(d)));
+        return solver.solve(initialBoard, timeUnit, debugMode, options);
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic for 4 by 4 boards
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return fourByFour.getHeuristic();
+    }
+}
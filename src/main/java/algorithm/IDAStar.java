@@ -1,25 +1,135 @@
 package algorithm;
 
 import board.Board;
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
+import board.WidePackedBoard;
 import com.google.common.base.Stopwatch;
 import heuristic.Heuristic;
 import util.DebugMode;
 import util.Utils;
 
 import java.util.ArrayList;
-import java.util.LinkedList;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
- * Class for the IDAStar algorithm
+ * Class for the IDAStar algorithm on boards of any dimensions the heuristic supports.
+ * The search works in place on the packed state, every move is undone on backtracking
+ * and the path is kept as array of move ordinals, so no objects are created per node.
+ * Boards up to 16 cells are searched on one packed long, larger boards on the two longs of {@link WidePackedBoard}.
+ * Duplicate move sequences, e.g. a move undoing the last move, are pruned by a {@link MoveAutomaton}.
  */
-public abstract class IDAStar {
-    private static final long KILOBYTES = 1024L;
-    private static final LinkedList<Board> path = new LinkedList<>();
-    private static int numOfExpandedBoards = 0;
+public class IDAStar implements Solver {
+    static final int FOUND = -1;
+    static final int MAX_DEPTH = 256;
+    //maximum length of the automaton paired with a transposition table, it only prunes moves undoing the last move
+    static final int TABLE_AUTOMATON_MAX_LENGTH = 2;
+    //maximum length of the automata generated for other dimensions, longer duplicates take seconds on larger boards
+    static final int GENERATED_AUTOMATON_MAX_LENGTH = 10;
+    static final Move[] MOVES = Move.values();
+    //bit masks of the moves the blank tile can do on a cell
+    static final int[] CELL_MOVES = new int[PackedBoard.CELLS];
+    //ordinals of the moves of a bit mask
+    static final int[][] MOVES_OF = new int[1 << MOVES.length][];
+    private final Heuristic heuristic;
+    private final SearchListener listener;
+    private final long transpositionTableBytes;
+    private final MoveAutomaton automaton;
+
+    static {
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            for (Move move : MOVES) {
+                if (move.canMove(cell)) {
+                    CELL_MOVES[cell] |= 1 << move.ordinal();
+                }
+            }
+        }
+        for (int mask = 0; mask < MOVES_OF.length; mask++) {
+            int[] moves = new int[Integer.bitCount(mask)];
+            int count = 0;
+            for (Move move : MOVES) {
+                if ((mask & 1 << move.ordinal()) != 0) {
+                    moves[count++] = move.ordinal();
+                }
+            }
+            MOVES_OF[mask] = moves;
+        }
+    }
+
+    /**
+     * Creates an IDAStar solver
+     *
+     * @param heuristic Type of heuristic
+     */
+    public IDAStar(Heuristic heuristic) {
+        this(heuristic, SearchListener.NONE);
+    }
+
+    /**
+     * Creates an IDAStar solver sending one event per threshold iteration
+     *
+     * @param heuristic Type of heuristic
+     * @param listener  Listener receiving the events, e.g. a SearchTrace
+     */
+    public IDAStar(Heuristic heuristic, SearchListener listener) {
+        this(heuristic, listener, 0);
+    }
+
+    /**
+     * Creates an IDAStar solver with a transposition table, which prunes boards reached again by other move orders.
+     * With a table the move automaton only prunes moves undoing the last move, the table takes over the pruning
+     * of the longer duplicates of the default automaton. The default automaton without a table still expands
+     * fewer boards, the table is meant for heuristics or puzzles where the automaton misses many transpositions.
+     *
+     * @param heuristic               Type of heuristic
+     * @param transpositionTableBytes Memory of the transposition table of every solve, 0 for no table
+     */
+    public IDAStar(Heuristic heuristic, long transpositionTableBytes) {
+        this(heuristic, SearchListener.NONE, transpositionTableBytes);
+    }
+
+    /**
+     * Creates an IDAStar solver sending one event per threshold iteration, with a transposition table
+     * the move automaton only prunes moves undoing the last move
+     *
+     * @param heuristic               Type of heuristic
+     * @param listener                Listener receiving the events, e.g. a SearchTrace
+     * @param transpositionTableBytes Memory of the transposition table of every solve, 0 for no table
+     */
+    public IDAStar(Heuristic heuristic, SearchListener listener, long transpositionTableBytes) {
+        this(heuristic, listener, transpositionTableBytes, transpositionTableBytes > 0
+                ? MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, TABLE_AUTOMATON_MAX_LENGTH)
+                : MoveAutomaton.of(Dimensions.FOUR_BY_FOUR));
+    }
+
+    /**
+     * Creates an IDAStar solver with the given move automaton pruning duplicate move sequences.
+     * The transposition table only applies its bounds to boards reached in the same automaton state
+     * unless the automaton only prunes first moves, e.g. the automaton of maximum length 2.
+     * The default automaton already prunes most of the transpositions, a table rarely pays off with it.
+     * Boards of other dimensions than the automaton use an automaton generated for their dimensions
+     * on the first solve, which is neither timed nor limited by the options.
+     *
+     * @param heuristic               Type of heuristic
+     * @param listener                Listener receiving the events, e.g. a SearchTrace
+     * @param transpositionTableBytes Memory of the transposition table of every solve, 0 for no table,
+     *                                only used for boards up to 16 cells
+     * @param automaton               Move automaton
+     */
+    public IDAStar(Heuristic heuristic, SearchListener listener, long transpositionTableBytes, MoveAutomaton automaton) {
+        if (transpositionTableBytes < 0) {
+            throw new IllegalArgumentException("Transposition table bytes must not be negative");
+        }
+        this.heuristic = heuristic;
+        this.listener = listener;
+        this.transpositionTableBytes = transpositionTableBytes;
+        this.automaton = automaton;
+    }
 
     /**
-     * Solves a valid given 15-puzzle using IDAStar algorithm
+     * Solves a valid given sliding puzzle using IDAStar algorithm
      *
      * @param initialBoard Start board to solve
      * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
@@ -28,74 +138,505 @@ public abstract class IDAStar {
      * @return Result object
      */
     public static Result solve(Board initialBoard, Heuristic heuristic, util.TimeUnit timeUnit, DebugMode debugMode) {
-        Utils.checkInput(initialBoard);
-        Board BoardCopy = new Board(initialBoard.getState());//copy board
-        BoardCopy.setHeuristic(heuristic);
+        return new IDAStar(heuristic).solve(initialBoard, timeUnit, debugMode);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using IDAStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using IDAStar algorithm within the limits of the given options,
+     * a stopped solve returns the threshold of the unfinished iteration as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Dimensions dimensions = Utils.checkInput(initialBoard, heuristic);
         TimeUnit unit = switch (timeUnit) {
             case MS -> TimeUnit.MILLISECONDS;
             case NS -> TimeUnit.NANOSECONDS;
         };
+        MoveAutomaton automaton = getAutomaton(dimensions);
+        if (!dimensions.isNarrow()) {
+            return solveWide(initialBoard, automaton, unit, debugMode, options);
+        }
         Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
         stopwatch.start();//start timer
-        //clear up
-        path.clear();
-        numOfExpandedBoards = 0;
-        //----------
-        BoardCopy.setHScore(heuristic.calculate(BoardCopy));
-        int threshold = BoardCopy.getHScore();
-        path.addFirst(BoardCopy);
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        SolveBudget budget = new SolveBudget(options);
+        Search search = new Search(heuristic, automaton, initialBoard.getPackedState(), budget);
+        if (transpositionTableBytes > 0) {
+            search.table = new TranspositionTable(transpositionTableBytes);
+            search.minSlack = TranspositionTable.MIN_SLACK;
+        }
+        int hScore = heuristic.calculate(search.state);
+        int threshold = hScore;
+        SearchProgress progress = new SearchProgress("IDAStar", listener);
+        TranspositionStats stats = new TranspositionStats();
         while (true) {
-            int t = search(0, threshold, heuristic);
-            if (path.getFirst().isSolution()) {
+            int t = search.search(0, hScore, threshold, MoveAutomaton.START);
+            progress.report(threshold, threshold, search.numOfExpandedBoards, 0, 0);
+            stats.endIteration(threshold, search);
+            if (t == FOUND) {
+                stopwatch.stop();
+                Board finalBoard = new Board(search.state, dimensions);
+                finalBoard.setGScore(threshold);
+                //only the goal has h = 0, so no path of an iteration gets longer than its threshold
+                Result result;
+                if (search.table == null) {
+                    result = new Result(finalBoard, "IDAStar", heuristic, search.numOfExpandedBoards, 0, 0,
+                            Utils.getThreadAllocatedBytesSince(allocatedBytes), 0, 0, threshold, stopwatch.elapsed(unit),
+                            Utils.getMoves(search.path, threshold));
+                } else {
+                    result = new TranspositionResult(finalBoard, "IDAStar", heuristic, search.numOfExpandedBoards,
+                            search.table.size(), Utils.getThreadAllocatedBytesSince(allocatedBytes), threshold,
+                            stopwatch.elapsed(unit), Utils.getMoves(search.path, threshold), stats.thresholds(),
+                            stats.expandedBoards(), stats.cutoffs(), stats.savedBoards(), search.table.capacity());
+                }
+                if (debugMode == DebugMode.ON) {
+                    Utils.printResults(result);//print results
+                }
+                return result;
+            }
+            if (budget.isStopped()) {
                 stopwatch.stop();
-                Runtime runtime = Runtime.getRuntime();
-                runtime.gc();
-                long memory = runtime.totalMemory() - runtime.freeMemory();
-                memory = memory / KILOBYTES;
+                //every iteration before this one was complete, so no solution is shorter than the threshold
+                Result result = new Result(new Board(initialBoard.getState()), "IDAStar", heuristic,
+                        search.numOfExpandedBoards, 0, 0, Utils.getThreadAllocatedBytesSince(allocatedBytes), 0, 0,
+                        threshold, stopwatch.elapsed(unit), "no moves", budget.getStatus(), threshold);
                 if (debugMode == DebugMode.ON) {
-                    Utils.printResults("IDAStar", heuristic, numOfExpandedBoards,
-                            null, null, null, path, memory, stopwatch.elapsed(unit));//print results
+                    Utils.printResults(result);//print results
                 }
-                return new Result(path.getFirst(), "IDAStar", heuristic, numOfExpandedBoards,
-                        0, 0, memory, stopwatch.elapsed(unit), Utils.getMoves(path));
+                return result;
             }
             threshold = t;
         }
     }
 
     /**
-     * Performs a recursive depth-limited search
+     * Solves a valid board over 16 cells on two packed longs, without transposition table
      *
-     * @param gScore    Current G score
-     * @param threshold Current threshold
-     * @return Current threshold
-     */
-    private static int search(int gScore, int threshold, Heuristic heuristic) {
-        int f = gScore + heuristic.calculate(path.getFirst());
-        if (f > threshold) {
-            return f;
-        }
-        if (path.getFirst().isSolution()) {
-            return f;
-        }
-        int minF = Integer.MAX_VALUE;
-        ArrayList<Board> successors = path.getFirst().generateSuccessors();
-        numOfExpandedBoards += successors.size();
-        for (Board successor : successors
-        ) {
-            if (!path.contains(successor)) {
-                path.addFirst(successor);
-                int t = search(successor.getGScore(), threshold, heuristic);
-//                System.out.println(t);//display current f score
-                if (path.getFirst().isSolution()) {
-                    return t;
+     * @param initialBoard Start board to solve
+     * @param automaton    Move automaton of the dimensions of the board
+     * @param unit         Unit for runtime
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object
+     */
+    private Result solveWide(Board initialBoard, MoveAutomaton automaton, TimeUnit unit, DebugMode debugMode,
+                             SolveOptions options) {
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        SolveBudget budget = new SolveBudget(options);
+        WideSearch search = new WideSearch(heuristic, automaton, initialBoard.getPackedLow(),
+                initialBoard.getPackedHigh(), budget);
+        int hScore = heuristic.calculate(search.low, search.high);
+        int threshold = hScore;
+        SearchProgress progress = new SearchProgress("IDAStar", listener);
+        while (true) {
+            int t = search.search(0, hScore, threshold, MoveAutomaton.START);
+            progress.report(threshold, threshold, search.numOfExpandedBoards, 0, 0);
+            if (t == FOUND) {
+                stopwatch.stop();
+                Board finalBoard = new Board(automaton.getDimensions().getGoal());
+                finalBoard.setGScore(threshold);
+                Result result = new Result(finalBoard, "IDAStar", heuristic, search.numOfExpandedBoards, 0, 0,
+                        Utils.getThreadAllocatedBytesSince(allocatedBytes), 0, 0, threshold, stopwatch.elapsed(unit),
+                        Utils.getMoves(search.path, threshold));
+                if (debugMode == DebugMode.ON) {
+                    Utils.printResults(result);//print results
+                }
+                return result;
+            }
+            if (budget.isStopped()) {
+                stopwatch.stop();
+                Result result = new Result(new Board(initialBoard.getState()), "IDAStar", heuristic,
+                        search.numOfExpandedBoards, 0, 0, Utils.getThreadAllocatedBytesSince(allocatedBytes), 0, 0,
+                        threshold, stopwatch.elapsed(unit), "no moves", budget.getStatus(), threshold);
+                if (debugMode == DebugMode.ON) {
+                    Utils.printResults(result);//print results
+                }
+                return result;
+            }
+            threshold = t;
+        }
+    }
+
+    /**
+     * Get move automaton for boards of the given dimensions, the automaton of this solver if it was built for them
+     *
+     * @param dimensions Dimensions of the board
+     * @return Move automaton
+     */
+    private MoveAutomaton getAutomaton(Dimensions dimensions) {
+        if (automaton.getDimensions().equals(dimensions)) {
+            return automaton;
+        }
+        boolean table = transpositionTableBytes > 0 && dimensions.isNarrow();
+        return MoveAutomaton.of(dimensions, table ? TABLE_AUTOMATON_MAX_LENGTH : GENERATED_AUTOMATON_MAX_LENGTH);
+    }
+
+    /**
+     * Get bit masks of the moves the blank tile can do on a cell
+     *
+     * @param dimensions Dimensions of the board
+     * @return Bit mask per cell index
+     */
+    private static int[] getCellMoves(Dimensions dimensions) {
+        if (dimensions == Dimensions.FOUR_BY_FOUR) {
+            return CELL_MOVES;
+        }
+        int[] cellMoves = new int[dimensions.getCells()];
+        for (int cell = 0; cell < cellMoves.length; cell++) {
+            cellMoves[cell] = dimensions.getMoves(cell);
+        }
+        return cellMoves;
+    }
+
+    /**
+     * Get cell index offsets of the moves
+     *
+     * @param dimensions Dimensions of the board
+     * @return Offset per move ordinal
+     */
+    private static int[] getOffsets(Dimensions dimensions) {
+        int[] offsets = new int[MOVES.length];
+        for (Move move : MOVES) {
+            offsets[move.ordinal()] = dimensions.getOffset(move);
+        }
+        return offsets;
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Search state of one solve, the state is changed in place while searching
+     */
+    static class Search {
+        private final Heuristic heuristic;
+        private final MoveAutomaton automaton;
+        //next automaton state of the state (index / 4) after the move (index % 4) or MoveAutomaton.PRUNED
+        private final short[] transitions;
+        //bit masks of the moves with a transition from an automaton state and of the moves the blank tile can do on a cell
+        private final byte[] allowedMoves;
+        private final int[] cellMoves;
+        private final int[] offsets;
+        private final long goal;
+        private final AtomicBoolean stopped;
+        private final SolveBudget budget;
+        final byte[] path = new byte[MAX_DEPTH];
+        long state;
+        private int blank;
+        long numOfExpandedBoards = 0;
+        TranspositionTable table;//null without transposition table
+        int minSlack = Integer.MAX_VALUE;//threshold minus f score of the boards looked up in the table
+        long cutoffs;
+        long savedBoards;
+
+        /**
+         * Creates a search state
+         *
+         * @param heuristic Type of heuristic
+         * @param automaton Move automaton pruning duplicate move sequences, built for the dimensions of the state
+         * @param state     Packed start state
+         * @param budget    Limits of the solve
+         */
+        Search(Heuristic heuristic, MoveAutomaton automaton, long state, SolveBudget budget) {
+            this(heuristic, automaton, state, new byte[0], new AtomicBoolean(), budget);
+        }
+
+        /**
+         * Creates a search state for a subtree reached from the initial board with the given moves
+         *
+         * @param heuristic Type of heuristic
+         * @param automaton Move automaton pruning duplicate move sequences
+         * @param state     Packed state of the subtree root
+         * @param prefix    Move ordinals leading from the initial board to the subtree root
+         * @param stopped   Flag set when another search found the goal or a limit was reached,
+         *                  the search then returns immediately
+         * @param budget    Limits of the solve, checked every SolveBudget.CHECK_INTERVAL boards
+         */
+        Search(Heuristic heuristic, MoveAutomaton automaton, long state, byte[] prefix, AtomicBoolean stopped,
+               SolveBudget budget) {
+            this.heuristic = heuristic;
+            this.automaton = automaton;
+            this.transitions = automaton.getTransitions();
+            this.allowedMoves = automaton.getAllowedMoves();
+            this.cellMoves = getCellMoves(automaton.getDimensions());
+            this.offsets = getOffsets(automaton.getDimensions());
+            this.goal = automaton.getDimensions().getPackedGoal();
+            this.stopped = stopped;
+            this.budget = budget;
+            this.state = state;
+            this.blank = PackedBoard.indexOf(state, 0);
+            System.arraycopy(prefix, 0, path, 0, prefix.length);
+        }
+
+        /**
+         * Performs a recursive depth-limited search, moves are done on the state
+         * and undone before returning unless the goal was found
+         *
+         * @param gScore         Current G score
+         * @param hScore         Current H score
+         * @param threshold      Current threshold
+         * @param automatonState State of the move automaton after the path to the current state
+         * @return FOUND if the goal was reached, otherwise the lowest f score above the threshold
+         */
+        int search(int gScore, int hScore, int threshold, int automatonState) {
+            int f = gScore + hScore;
+            if (f > threshold) {
+                return f;
+            }
+            if (stopped.get()) {
+                return Integer.MAX_VALUE;
+            }
+            if (state == goal) {
+                return FOUND;
+            }
+            boolean stored = threshold - f >= minSlack;
+            if (stored) {
+                int bound = lookUp(hScore, threshold - gScore, automatonState);
+                if (bound > threshold - gScore) {
+                    return gScore + bound;
+                }
+            }
+            long expandedBoards = numOfExpandedBoards;
+            int minF = Integer.MAX_VALUE;
+            int currentBlank = blank;
+            long currentState = state;
+            //moves of which the path ends with a duplicate of a path not longer than it are left out
+            for (int move : MOVES_OF[allowedMoves[automatonState] & cellMoves[currentBlank]]) {
+                int target = currentBlank + offsets[move];
+                if ((++numOfExpandedBoards & SolveBudget.CHECK_MASK) == 0 && budget.isExhausted(SolveBudget.CHECK_INTERVAL,
+                        table == null ? 0 : table.getBytes())) {
+                    stopped.set(true);
+                }
+                int successorHScore = heuristic.update(currentState, hScore, currentBlank, target);
+                state = PackedBoard.move(currentState, currentBlank, target);
+                blank = target;
+                path[gScore] = (byte) move;
+                int t = search(gScore + 1, successorHScore, threshold, transitions[automatonState << 2 | move]);
+                if (t == FOUND) {
+                    return FOUND;
+                }
+                if (t < minF) {
+                    minF = t;
+                }
+                state = currentState;
+                blank = currentBlank;
+            }
+            if (stored && !stopped.get()) {
+                table.put(state, minF - gScore, threshold - gScore, automatonState, numOfExpandedBoards - expandedBoards);
+            }
+            return minF;
+        }
+
+        /**
+         * Get lower bound of the moves to the goal from the transposition table for the search of the current state,
+         * counts a cutoff if the bound exceeds the remaining moves. A stored bound holds for the paths the automaton
+         * allows from the stored state, so it holds for the same state. If the stored state only prunes some first moves
+         * of the paths of the start state, e.g. the inverse of its last move, the paths starting with these moves
+         * are bounded by 1 + h of their first board, the start state allows every path of the other states.
+         *
+         * @param hScore         Current H score
+         * @param remainingMoves Threshold minus current G score
+         * @param automatonState State of the move automaton after the path to the current state
+         * @return Lower bound, at least the h score
+         */
+        private int lookUp(int hScore, int remainingMoves, int automatonState) {
+            int slot = table.find(state);
+            if (slot == TranspositionTable.NOT_FOUND) {
+                return hScore;
+            }
+            int bound = table.getBound(slot);
+            int storedAutomatonState = table.getAutomatonState(slot);
+            if (storedAutomatonState != automatonState) {
+                int restrictions = automaton.getFirstMoveRestrictions(storedAutomatonState);
+                if (restrictions == -1) {
+                    return hScore;
+                }
+                for (int move : MOVES_OF[restrictions & allowedMoves[automatonState] & cellMoves[blank]]) {
+                    bound = Math.min(bound, 1 + heuristic.update(state, hScore, blank, blank + offsets[move]));
+                }
+            }
+            if (bound > remainingMoves) {
+                cutoffs++;
+                if (table.getRemainingMoves(slot) <= remainingMoves) {//a subtree searched with more moves is larger
+                    savedBoards += table.getSubtreeSize(slot);
+                }
+            }
+            return Math.max(bound, hScore);
+        }
+    }
+
+    /**
+     * Search state of one solve of a board over 16 cells, the two packed longs are changed in place while searching
+     */
+    private static class WideSearch {
+        private final Heuristic heuristic;
+        //next automaton state of the state (index / 4) after the move (index % 4) or MoveAutomaton.PRUNED
+        private final short[] transitions;
+        //bit masks of the moves with a transition from an automaton state and of the moves the blank tile can do on a cell
+        private final byte[] allowedMoves;
+        private final int[] cellMoves;
+        private final int[] offsets;
+        private final long goalLow;
+        private final long goalHigh;
+        private final SolveBudget budget;
+        final byte[] path = new byte[MAX_DEPTH];
+        long low;
+        long high;
+        private int blank;
+        private boolean stopped;
+        long numOfExpandedBoards = 0;
+
+        /**
+         * Creates a search state
+         *
+         * @param heuristic Type of heuristic
+         * @param automaton Move automaton pruning duplicate move sequences, built for the dimensions of the state
+         * @param low       Low long of the packed start state
+         * @param high      High long of the packed start state
+         * @param budget    Limits of the solve
+         */
+        WideSearch(Heuristic heuristic, MoveAutomaton automaton, long low, long high, SolveBudget budget) {
+            Dimensions dimensions = automaton.getDimensions();
+            int[][] goal = dimensions.getGoal();
+            this.heuristic = heuristic;
+            this.transitions = automaton.getTransitions();
+            this.allowedMoves = automaton.getAllowedMoves();
+            this.cellMoves = getCellMoves(dimensions);
+            this.offsets = getOffsets(dimensions);
+            this.goalLow = WidePackedBoard.packLow(goal, dimensions);
+            this.goalHigh = WidePackedBoard.packHigh(goal, dimensions);
+            this.budget = budget;
+            this.low = low;
+            this.high = high;
+            while (WidePackedBoard.tileAt(low, high, blank) != 0) {
+                blank++;
+            }
+        }
+
+        /**
+         * Performs a recursive depth-limited search, moves are done on the state
+         * and undone before returning unless the goal was found
+         *
+         * @param gScore         Current G score
+         * @param hScore         Current H score
+         * @param threshold      Current threshold
+         * @param automatonState State of the move automaton after the path to the current state
+         * @return FOUND if the goal was reached, otherwise the lowest f score above the threshold
+         */
+        int search(int gScore, int hScore, int threshold, int automatonState) {
+            int f = gScore + hScore;
+            if (f > threshold) {
+                return f;
+            }
+            if (stopped) {
+                return Integer.MAX_VALUE;
+            }
+            if (low == goalLow && high == goalHigh) {//the tile of the last cell follows from the others
+                return FOUND;
+            }
+            int minF = Integer.MAX_VALUE;
+            int currentBlank = blank;
+            long currentLow = low;
+            long currentHigh = high;
+            for (int move : MOVES_OF[allowedMoves[automatonState] & cellMoves[currentBlank]]) {
+                int target = currentBlank + offsets[move];
+                if ((++numOfExpandedBoards & SolveBudget.CHECK_MASK) == 0 && budget.isExhausted(SolveBudget.CHECK_INTERVAL)) {
+                    stopped = true;
+                }
+                int successorHScore = heuristic.update(currentLow, currentHigh, hScore, currentBlank, target);
+                int tile = WidePackedBoard.tileAt(currentLow, currentHigh, target);
+                low = WidePackedBoard.moveLow(currentLow, currentBlank, target, tile);
+                high = WidePackedBoard.moveHigh(currentHigh, currentBlank, target, tile);
+                blank = target;
+                path[gScore] = (byte) move;
+                int t = search(gScore + 1, successorHScore, threshold, transitions[automatonState << 2 | move]);
+                if (t == FOUND) {
+                    return FOUND;
                 }
                 if (t < minF) {
                     minF = t;
                 }
-                path.pop();
+                low = currentLow;
+                high = currentHigh;
+                blank = currentBlank;
             }
+            return minF;
+        }
+    }
+
+    /**
+     * Statistics of the threshold iterations of a solve with transposition table
+     */
+    private static class TranspositionStats {
+        private final ArrayList<Integer> thresholds = new ArrayList<>();
+        private final ArrayList<Long> expandedBoards = new ArrayList<>();
+        private final ArrayList<Long> cutoffs = new ArrayList<>();
+        private final ArrayList<Long> savedBoards = new ArrayList<>();
+        private long lastExpandedBoards;
+        private long lastCutoffs;
+        private long lastSavedBoards;
+
+        /**
+         * Records the boards of an iteration
+         *
+         * @param threshold Threshold of the iteration
+         * @param search    Search state after the iteration
+         */
+        void endIteration(int threshold, Search search) {
+            if (search.table == null) {
+                return;
+            }
+            thresholds.add(threshold);
+            expandedBoards.add(search.numOfExpandedBoards - lastExpandedBoards);
+            cutoffs.add(search.cutoffs - lastCutoffs);
+            savedBoards.add(search.savedBoards - lastSavedBoards);
+            lastExpandedBoards = search.numOfExpandedBoards;
+            lastCutoffs = search.cutoffs;
+            lastSavedBoards = search.savedBoards;
+        }
+
+        int[] thresholds() {
+            return thresholds.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        long[] expandedBoards() {
+            return expandedBoards.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        long[] cutoffs() {
+            return cutoffs.stream().mapToLong(Long::longValue).toArray();
+        }
+
+        long[] savedBoards() {
+            return savedBoards.stream().mapToLong(Long::longValue).toArray();
         }
-        return minF;
     }
 }
@@ -0,0 +1,635 @@
+package algorithm;
+
+import board.Dimensions;
+import board.Move;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Finite state machine pruning duplicate move sequences of the blank tile, e.g. a move followed by its inverse
+ * or the two ways around a 2 by 2 block of cells. The automaton is generated by enumerating all move strings
+ * up to a maximum length in order of length and then move ordinal: a string is a duplicate if an earlier string
+ * leads to the same board from every start cell and stays inside the cells of the string, so it can be done
+ * wherever the string can be done. Searches index the transition table by the automaton state and the move,
+ * a board reached by a move without transition is pruned. Replacing a duplicate inside a path by its earlier
+ * string never makes the path longer, so every board keeps a shortest path and pruning preserves optimality.
+ * <p>
+ * The duplicates are matched as substrings of the path by an Aho-Corasick automaton, which is then minimized.
+ * Automata are loaded or generated once per dimensions and maximum length. Generating the default automaton
+ * of 4 by 4 boards takes seconds, so it is generated offline and shipped as resource.
+ * <p>
+ * File layout (big endian):
+ * <pre>
+ * int     magic "PZMA"
+ * int     format version
+ * int     rows, columns and maximum length
+ * int     number of duplicates
+ * int     number of states n
+ * short[] 4 * n transitions
+ * </pre>
+ */
+public final class MoveAutomaton {
+    public static final int MAGIC = 0x505A4D41;//"PZMA"
+    public static final int VERSION = 1;
+    public static final int START = 0;
+    public static final int PRUNED = -1;
+    /**
+     * Maximum length of the duplicate strings of the default automaton
+     */
+    public static final int DEFAULT_MAX_LENGTH = 14;
+    private static final Move[] MOVES = Move.values();
+    private static final Map<String, MoveAutomaton> AUTOMATA = new ConcurrentHashMap<>();
+    private final Dimensions dimensions;
+    private final int maxLength;
+    private final int duplicates;
+    //next automaton state of the state (index / 4) after the move (index % 4) or PRUNED
+    private final short[] transitions;
+    //bit mask of the moves (1 << ordinal) with a transition from the state
+    private final byte[] allowedMoves;
+    //bit mask of the moves the start state allows and the state prunes, -1 if the state prunes more than first moves
+    private final byte[] firstMoveRestrictions;
+
+    private MoveAutomaton(Dimensions dimensions, int maxLength, int duplicates, short[] transitions) {
+        this.dimensions = dimensions;
+        this.maxLength = maxLength;
+        this.duplicates = duplicates;
+        this.transitions = transitions;
+        this.allowedMoves = new byte[transitions.length / MOVES.length];
+        for (int i = 0; i < transitions.length; i++) {
+            if (transitions[i] != PRUNED) {
+                allowedMoves[i / MOVES.length] |= (byte) (1 << i % MOVES.length);
+            }
+        }
+        this.firstMoveRestrictions = new byte[allowedMoves.length];
+        for (int state = 0; state < allowedMoves.length; state++) {
+            firstMoveRestrictions[state] = (byte) (allowedMoves[START] & ~allowedMoves[state]);
+            for (int move = 0; move < MOVES.length; move++) {
+                if (next(state, move) != PRUNED && next(state, move) != next(START, move)) {
+                    firstMoveRestrictions[state] = -1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Get automaton for the given dimensions with the default maximum length
+     *
+     * @param dimensions Dimensions of the board
+     * @return Move automaton
+     */
+    public static MoveAutomaton of(Dimensions dimensions) {
+        return of(dimensions, DEFAULT_MAX_LENGTH);
+    }
+
+    /**
+     * Get automaton for the given dimensions, loaded from the shipped resource or generated on first use.
+     * A maximum length of 2 prunes only moves undoing the last move.
+     *
+     * @param dimensions Dimensions of the board
+     * @param maxLength  Maximum length of the duplicate strings, from 2 to 24
+     * @return Move automaton
+     */
+    public static MoveAutomaton of(Dimensions dimensions, int maxLength) {
+        checkMaxLength(maxLength);
+        return AUTOMATA.computeIfAbsent(resourceName(dimensions, maxLength), name -> {
+            try (InputStream in = MoveAutomaton.class.getResourceAsStream(name)) {
+                return in == null ? generate(dimensions, maxLength) : read(in, dimensions, maxLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Get name of the resource of a shipped automaton
+     *
+     * @param dimensions Dimensions of the board
+     * @param maxLength  Maximum length of the duplicate strings
+     * @return Resource name, e.g. /automata/4x4-14.bin
+     */
+    static String resourceName(Dimensions dimensions, int maxLength) {
+        return "/automata/" + dimensions + "-" + maxLength + ".bin";
+    }
+
+    private static void checkMaxLength(int maxLength) {
+        if (maxLength < 2 || maxLength > 24) {
+            throw new IllegalArgumentException("Maximum length must be between 2 and 24");
+        }
+    }
+
+    /**
+     * Writes the automaton to the given file, e.g. src/main/resources plus its resource name to ship it
+     *
+     * @param file Target file
+     * @throws IOException being thrown when the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(dimensions.getRows());
+            out.writeInt(dimensions.getColumns());
+            out.writeInt(maxLength);
+            out.writeInt(duplicates);
+            out.writeInt(getStates());
+            for (short transition : transitions) {
+                out.writeShort(transition);
+            }
+        }
+    }
+
+    /**
+     * Reads an automaton written by {@link #save(Path)}
+     *
+     * @param in         Input stream
+     * @param dimensions Expected dimensions
+     * @param maxLength  Expected maximum length of the duplicate strings
+     * @return Move automaton
+     * @throws IOException being thrown when the stream could not be read or does not match
+     */
+    static MoveAutomaton read(InputStream in, Dimensions dimensions, int maxLength) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(in));
+        if (data.readInt() != MAGIC || data.readInt() != VERSION) {
+            throw new IOException("Not a move automaton of version " + VERSION);
+        }
+        if (data.readInt() != dimensions.getRows() || data.readInt() != dimensions.getColumns()
+                || data.readInt() != maxLength) {
+            throw new IOException("Move automaton does not match " + dimensions + " and maximum length " + maxLength);
+        }
+        int duplicates = data.readInt();
+        int states = data.readInt();
+        if (states < 1 || states > Short.MAX_VALUE) {
+            throw new IOException("Move automaton has " + states + " states");
+        }
+        short[] transitions = new short[states * MOVES.length];
+        for (int i = 0; i < transitions.length; i++) {
+            transitions[i] = data.readShort();
+            if (transitions[i] < PRUNED || transitions[i] >= states) {
+                throw new IOException("Move automaton has invalid transition " + transitions[i]);
+            }
+        }
+        return new MoveAutomaton(dimensions, maxLength, duplicates, transitions);
+    }
+
+    /**
+     * Get next automaton state after a move
+     *
+     * @param state Automaton state
+     * @param move  Ordinal of the move
+     * @return Next automaton state or PRUNED if the path ends with a duplicate
+     */
+    public int next(int state, int move) {
+        return transitions[state << 2 | move];
+    }
+
+    /**
+     * Get transition table, indexed by automaton state * 4 + move ordinal
+     *
+     * @return Transition table, shared and not copied
+     */
+    short[] getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Get bit masks of the moves (1 << ordinal) with a transition, indexed by automaton state
+     *
+     * @return Move masks, shared and not copied
+     */
+    byte[] getAllowedMoves() {
+        return allowedMoves;
+    }
+
+    /**
+     * Get moves the start state allows and the given state prunes, if the state allows the same paths as the start state
+     * after every other first move. The paths allowed from the start state but not from the given state then all start
+     * with one of these moves, e.g. for the automaton of maximum length 2 the inverse of the last move.
+     *
+     * @param state Automaton state
+     * @return Bit mask of the moves (1 << ordinal) or -1 if the state also prunes longer paths
+     */
+    int getFirstMoveRestrictions(int state) {
+        return firstMoveRestrictions[state];
+    }
+
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * Get number of automaton states
+     *
+     * @return States
+     */
+    public int getStates() {
+        return transitions.length / MOVES.length;
+    }
+
+    /**
+     * Get number of duplicate strings the automaton prunes
+     *
+     * @return Duplicates
+     */
+    public int getDuplicates() {
+        return duplicates;
+    }
+
+    /**
+     * Get number of move strings of the given length the automaton allows, summed over all start cells of the blank tile
+     *
+     * @param depth Length of the move strings
+     * @return Number of move strings
+     */
+    public double countPaths(int depth) {
+        int cells = dimensions.getCells();
+        int states = getStates();
+        double[] counts = new double[cells * states];
+        for (int cell = 0; cell < cells; cell++) {
+            counts[cell * states + START] = 1;
+        }
+        for (int d = 0; d < depth; d++) {
+            double[] nextCounts = new double[counts.length];
+            for (int cell = 0; cell < cells; cell++) {
+                for (int state = 0; state < states; state++) {
+                    double count = counts[cell * states + state];
+                    if (count == 0) {
+                        continue;
+                    }
+                    for (Move move : MOVES) {
+                        int next = next(state, move.ordinal());
+                        if (next != PRUNED && dimensions.canMove(move, cell)) {
+                            nextCounts[(cell + dimensions.getOffset(move)) * states + next] += count;
+                        }
+                    }
+                }
+            }
+            counts = nextCounts;
+        }
+        return Arrays.stream(counts).sum();
+    }
+
+    /**
+     * Get branching factor of the tree the automaton allows at the given depth, the ratio of the move strings
+     * of the depth and the depth before. For large depths it converges to the asymptotic branching factor.
+     *
+     * @param depth Depth, at least 1
+     * @return Branching factor
+     */
+    public double getBranchingFactor(int depth) {
+        return countPaths(depth) / countPaths(depth - 1);
+    }
+
+    /**
+     * Generates an automaton without using shipped or cached automata
+     *
+     * @param dimensions Dimensions of the board
+     * @param maxLength  Maximum length of the duplicate strings, from 2 to 24
+     * @return Move automaton
+     */
+    public static MoveAutomaton generate(Dimensions dimensions, int maxLength) {
+        checkMaxLength(maxLength);
+        DuplicateFinder finder = new DuplicateFinder(dimensions);
+        for (int length = 1; length <= maxLength; length++) {
+            finder.enumerate(length);
+        }
+        return build(dimensions, maxLength, finder.duplicates);
+    }
+
+    /**
+     * Builds the minimized Aho-Corasick automaton of the duplicate strings
+     *
+     * @param dimensions Dimensions of the board
+     * @param maxLength  Maximum length of the duplicate strings
+     * @param duplicates Duplicate strings encoded by {@link DuplicateFinder#encode(long, int)}
+     * @return Move automaton
+     */
+    private static MoveAutomaton build(Dimensions dimensions, int maxLength, Set<Long> duplicates) {
+        //trie of the duplicate strings, node 0 is the empty string
+        List<int[]> children = new ArrayList<>();
+        List<Boolean> matches = new ArrayList<>();
+        children.add(newNode());
+        matches.add(false);
+        for (long duplicate : duplicates.stream().sorted().toList()) {//sorted for the same state numbers in every run
+            int length = DuplicateFinder.length(duplicate);
+            int node = 0;
+            for (int i = length - 1; i >= 0; i--) {
+                int move = (int) (duplicate >>> (2 * i)) & 3;
+                if (children.get(node)[move] < 0) {
+                    children.get(node)[move] = children.size();
+                    children.add(newNode());
+                    matches.add(false);
+                }
+                node = children.get(node)[move];
+            }
+            matches.set(node, true);
+        }
+        //complete the transitions along the failure links in breadth first order
+        int nodes = children.size();
+        int[] delta = new int[nodes * MOVES.length];
+        boolean[] match = new boolean[nodes];
+        int[] failure = new int[nodes];
+        ArrayDeque<Integer> queue = new ArrayDeque<>();
+        for (int move = 0; move < MOVES.length; move++) {
+            int child = children.get(0)[move];
+            delta[move] = Math.max(child, 0);
+            if (child > 0) {
+                failure[child] = 0;
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            match[node] = matches.get(node) || match[failure[node]];
+            for (int move = 0; move < MOVES.length; move++) {
+                int child = children.get(node)[move];
+                if (child > 0) {
+                    failure[child] = delta[failure[node] * MOVES.length + move];
+                    delta[node * MOVES.length + move] = child;
+                    queue.add(child);
+                } else {
+                    delta[node * MOVES.length + move] = delta[failure[node] * MOVES.length + move];
+                }
+            }
+        }
+        return new MoveAutomaton(dimensions, maxLength, duplicates.size(), minimize(delta, match));
+    }
+
+    private static int[] newNode() {
+        int[] node = new int[MOVES.length];
+        Arrays.fill(node, -1);
+        return node;
+    }
+
+    /**
+     * Merges states with the same transitions by partition refinement, the start state keeps number 0
+     *
+     * @param delta Complete transitions of the trie nodes
+     * @param match Nodes ending with a duplicate
+     * @return Transition table of the minimized automaton
+     */
+    private static short[] minimize(int[] delta, boolean[] match) {
+        int nodes = match.length;
+        int[] block = new int[nodes];//all nodes without match are one block at first, node 0 stays in block 0
+        int blocks = 1;
+        while (true) {
+            Map<List<Integer>, Integer> signatures = new HashMap<>();
+            int[] nextBlock = new int[nodes];
+            for (int node = 0; node < nodes; node++) {
+                if (match[node]) {
+                    continue;
+                }
+                List<Integer> signature = new ArrayList<>(MOVES.length + 1);
+                signature.add(block[node]);
+                for (int move = 0; move < MOVES.length; move++) {
+                    int next = delta[node * MOVES.length + move];
+                    signature.add(match[next] ? PRUNED : block[next]);
+                }
+                Integer number = signatures.putIfAbsent(signature, signatures.size());
+                nextBlock[node] = number == null ? signatures.size() - 1 : number;
+            }
+            block = nextBlock;
+            if (signatures.size() == blocks) {
+                break;
+            }
+            blocks = signatures.size();
+        }
+        if (blocks > Short.MAX_VALUE) {
+            throw new IllegalStateException("Move automaton has too many states");
+        }
+        short[] transitions = new short[blocks * MOVES.length];
+        for (int node = 0; node < nodes; node++) {
+            if (match[node]) {
+                continue;
+            }
+            for (int move = 0; move < MOVES.length; move++) {
+                int next = delta[node * MOVES.length + move];
+                transitions[block[node] * MOVES.length + move] = (short) (match[next] ? PRUNED : block[next]);
+            }
+        }
+        return transitions;
+    }
+
+    /**
+     * Enumerates the move strings without duplicate substrings by length on a grid large enough for every string
+     * fitting the board, the blank tile starts in the middle of the grid
+     */
+    private static class DuplicateFinder {
+        private final Dimensions dimensions;
+        private final int width;
+        private final int center;
+        private final int[] offsets = new int[MOVES.length];
+        private final int[] grid;
+        private final Set<Long> duplicates = new HashSet<>();
+        //earlier strings by the hash of their board
+        private final Map<Long, List<Long>> strings = new HashMap<>();
+        private final int[] rows;
+        private final int[] columns;
+        private int blank;
+        private long hash;
+
+        DuplicateFinder(Dimensions dimensions) {
+            this.dimensions = dimensions;
+            this.width = 2 * Math.max(dimensions.getRows(), dimensions.getColumns()) + 1;
+            this.center = width * width / 2;
+            this.grid = new int[width * width];
+            this.rows = new int[width * width];
+            this.columns = new int[width * width];
+            for (int cell = 0; cell < grid.length; cell++) {
+                rows[cell] = cell / width;
+                columns[cell] = cell % width;
+            }
+            offsets[Move.R.ordinal()] = 1;
+            offsets[Move.L.ordinal()] = -1;
+            offsets[Move.U.ordinal()] = -width;
+            offsets[Move.D.ordinal()] = width;
+            reset();
+            strings.computeIfAbsent(hash, key -> new ArrayList<>()).add(encode(0L, 0));
+        }
+
+        /**
+         * Encodes a move string, two bits per move with the last move in the lowest bits and the length above
+         *
+         * @param moves  Move ordinals
+         * @param length Length of the string
+         * @return Encoded string
+         */
+        static long encode(long moves, int length) {
+            return (long) length << 58 | moves;
+        }
+
+        static int length(long string) {
+            return (int) (string >>> 58);
+        }
+
+        private void reset() {
+            for (int cell = 0; cell < grid.length; cell++) {
+                grid[cell] = cell;
+            }
+            blank = center;
+            hash = 0L;
+        }
+
+        /**
+         * Enumerates the strings of the given length in order of the move ordinals, shorter strings were enumerated before
+         *
+         * @param length Length of the strings
+         */
+        void enumerate(int length) {
+            reset();
+            search(0L, 0, length, center, center, center, center);
+        }
+
+        /**
+         * Extends the current string by every move, the arguments bound the cells visited by the string
+         */
+        private void search(long moves, int depth, int length, int top, int bottom, int left, int right) {
+            for (int move = 0; move < MOVES.length; move++) {
+                int target = blank + offsets[move];
+                int newTop = rows[target] < rows[top] ? target : top;
+                int newBottom = rows[target] > rows[bottom] ? target : bottom;
+                int newLeft = columns[target] < columns[left] ? target : left;
+                int newRight = columns[target] > columns[right] ? target : right;
+                if (rows[newBottom] - rows[newTop] >= dimensions.getRows()
+                        || columns[newRight] - columns[newLeft] >= dimensions.getColumns()) {
+                    continue;//the string does not fit the board
+                }
+                long newMoves = moves << 2 | move;
+                if (endsWithDuplicate(newMoves, depth + 1)) {
+                    continue;
+                }
+                int previousBlank = blank;
+                move(target);
+                if (depth + 1 < length) {
+                    search(newMoves, depth + 1, length, newTop, newBottom, newLeft, newRight);
+                } else {
+                    classify(encode(newMoves, length), new int[]{rows[newTop] - rows[center], rows[newBottom] - rows[center],
+                            columns[newLeft] - columns[center], columns[newRight] - columns[center]});
+                }
+                move(previousBlank);
+            }
+        }
+
+        /**
+         * Moves the tile on the target cell into the blank cell and updates the hash of the board
+         *
+         * @param target Cell next to the blank cell
+         */
+        private void move(int target) {
+            int tile = grid[target];
+            hash += mix(tile, blank) - mix(tile, target) + mix(grid[blank], target) - mix(grid[blank], blank);
+            grid[blank] = tile;
+            grid[target] = center;
+            blank = target;
+        }
+
+        private static long mix(int tile, int cell) {
+            long x = (long) tile << 32 | cell;
+            x = (x ^ (x >>> 33)) * 0xFF51AFD7ED558CCDL;
+            x = (x ^ (x >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return x ^ (x >>> 33);
+        }
+
+        /**
+         * Returns true if a suffix of the string is a known duplicate
+         *
+         * @param moves  Move ordinals
+         * @param length Length of the string
+         * @return true if the string ends with a duplicate
+         */
+        private boolean endsWithDuplicate(long moves, int length) {
+            for (int suffix = 2; suffix <= length; suffix++) {
+                if (duplicates.contains(encode(moves & ((1L << 2 * suffix) - 1), suffix))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Marks the current string as duplicate if an earlier string leads to the same board and stays inside its cells,
+         * otherwise records it
+         *
+         * @param string Encoded current string
+         * @param bounds Top, bottom, left and right bound of the cells visited by the string relative to the start cell
+         */
+        private void classify(long string, int[] bounds) {
+            List<Long> earlier = strings.computeIfAbsent(hash, key -> new ArrayList<>(1));
+            for (long other : earlier) {
+                int[] otherBounds = bounds(other);
+                if (otherBounds[0] >= bounds[0] && otherBounds[1] <= bounds[1]
+                        && otherBounds[2] >= bounds[2] && otherBounds[3] <= bounds[3]
+                        && Arrays.equals(grid, replay(other))) {
+                    duplicates.add(string);
+                    return;
+                }
+            }
+            earlier.add(string);
+        }
+
+        /**
+         * Get bounds of the cells visited by a string relative to the start cell
+         *
+         * @param string Encoded string
+         * @return Top, bottom, left and right bound
+         */
+        private int[] bounds(long string) {
+            int row = 0;
+            int column = 0;
+            int[] bounds = new int[4];
+            for (int i = length(string) - 1; i >= 0; i--) {
+                Move move = MOVES[(int) (string >>> (2 * i)) & 3];
+                row += move == Move.D ? 1 : move == Move.U ? -1 : 0;
+                column += move == Move.R ? 1 : move == Move.L ? -1 : 0;
+                bounds[0] = Math.min(bounds[0], row);
+                bounds[1] = Math.max(bounds[1], row);
+                bounds[2] = Math.min(bounds[2], column);
+                bounds[3] = Math.max(bounds[3], column);
+            }
+            return bounds;
+        }
+
+        /**
+         * Get board after a string starting from the middle of the grid
+         *
+         * @param string Encoded string
+         * @return Tiles of the grid
+         */
+        private int[] replay(long string) {
+            int[] board = new int[grid.length];
+            for (int cell = 0; cell < board.length; cell++) {
+                board[cell] = cell;
+            }
+            int cell = center;
+            for (int i = length(string) - 1; i >= 0; i--) {
+                int target = cell + offsets[(int) (string >>> (2 * i)) & 3];
+                board[cell] = board[target];
+                board[target] = center;
+                cell = target;
+            }
+            return board;
+        }
+    }
+}
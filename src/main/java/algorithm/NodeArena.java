@@ -0,0 +1,134 @@
+package algorithm;
+
+import board.Move;
+
+import java.util.Arrays;
+
+/**
+ * Nodes of the AStar search stored as a struct of arrays, a node is an index into the arrays.
+ * Every node keeps its packed state, g and h score, blank tile index, parent index and the move leading to it,
+ * 18 bytes without any object per node. The path is rebuilt by walking the parent indices back to the root.
+ */
+class NodeArena {
+    static final int NO_PARENT = -1;
+    static final int BYTES_PER_NODE = Long.BYTES + 2 * Short.BYTES + Integer.BYTES + 2 * Byte.BYTES;
+    private static final int DEFAULT_CAPACITY = 1 << 12;
+    private long[] states;
+    private short[] gScores;
+    private short[] hScores;
+    private int[] parents;
+    private byte[] blanks;
+    private byte[] moves;
+    private int size;
+
+    /**
+     * Creates an empty arena with default capacity
+     */
+    NodeArena() {
+        states = new long[DEFAULT_CAPACITY];
+        gScores = new short[DEFAULT_CAPACITY];
+        hScores = new short[DEFAULT_CAPACITY];
+        parents = new int[DEFAULT_CAPACITY];
+        blanks = new byte[DEFAULT_CAPACITY];
+        moves = new byte[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Adds a node
+     *
+     * @param state  Packed state
+     * @param gScore G score
+     * @param hScore H score
+     * @param blank  Index of the blank tile
+     * @param parent Index of the parent node or NO_PARENT for the root
+     * @param move   Move leading from the parent to the node, null for the root
+     * @return Index of the node
+     */
+    int add(long state, int gScore, int hScore, int blank, int parent, Move move) {
+        if (size == states.length) {
+            grow();
+        }
+        states[size] = state;
+        gScores[size] = (short) gScore;
+        hScores[size] = (short) hScore;
+        parents[size] = parent;
+        blanks[size] = (byte) blank;
+        moves[size] = (byte) (move == null ? -1 : move.ordinal());
+        return size++;
+    }
+
+    long getState(int node) {
+        return states[node];
+    }
+
+    int getGScore(int node) {
+        return gScores[node];
+    }
+
+    int getHScore(int node) {
+        return hScores[node];
+    }
+
+    int getFScore(int node) {
+        return gScores[node] + hScores[node];
+    }
+
+    int getBlank(int node) {
+        return blanks[node];
+    }
+
+    /**
+     * Get move leading from the parent to the node
+     *
+     * @param node Index of the node
+     * @return Move or null for the root
+     */
+    Move getMove(int node) {
+        return moves[node] < 0 ? null : Move.of(moves[node]);
+    }
+
+    /**
+     * Get number of nodes
+     *
+     * @return Size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get bytes of the arrays, the capacity times BYTES_PER_NODE
+     *
+     * @return Bytes
+     */
+    long getBytes() {
+        return (long) states.length * BYTES_PER_NODE;
+    }
+
+    /**
+     * Rebuilds the moves from the root to the node by walking the parent indices
+     *
+     * @param node Index of the node
+     * @return Move ordinals from the root to the node
+     */
+    byte[] getPath(int node) {
+        byte[] path = new byte[gScores[node]];
+        for (int i = node; parents[i] != NO_PARENT; i = parents[i]) {
+            path[gScores[i] - 1] = moves[i];
+        }
+        return path;
+    }
+
+    /**
+     * Doubles the capacity of all arrays
+     */
+    private void grow() {
+        int length = states.length << 1;
+        states = Arrays.copyOf(states, length);
+        gScores = Arrays.copyOf(gScores, length);
+        hScores = Arrays.copyOf(hScores, length);
+        parents = Arrays.copyOf(parents, length);
+        blanks = Arrays.copyOf(blanks, length);
+        moves = Arrays.copyOf(moves, length);
+    }
+}
@@ -0,0 +1,52 @@
+package algorithm;
+
+/**
+ * Interface for the open list of the AStar algorithm, holding the indices of nodes in the node arena of a search
+ */
+public interface OpenList {
+    int NONE = -1;
+
+    /**
+     * Adds a node ordered by its f score
+     *
+     * @param node   Index of the node
+     * @param fScore F score of the node
+     * @param gScore G score of the node
+     */
+    void add(int node, int fScore, int gScore);
+
+    /**
+     * Removes and returns the node with the lowest f score
+     *
+     * @return Index of the node with lowest f score or NONE if empty
+     */
+    int poll();
+
+    /**
+     * Get number of nodes in the open list
+     *
+     * @return Size
+     */
+    int size();
+
+    /**
+     * Get bytes of the arrays holding the nodes, including unused capacity
+     *
+     * @return Bytes
+     */
+    long getBytes();
+
+    /**
+     * Removes all nodes
+     */
+    void clear();
+
+    /**
+     * Returns true if the open list has no nodes
+     *
+     * @return true if empty
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+}
@@ -0,0 +1,291 @@
+package algorithm;
+
+import board.Board;
+import board.Dimensions;
+import board.PackedBoard;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.Utils;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Class for the parallel IDAStar algorithm.
+ * Every threshold iteration is split into subtrees at a shallow depth, the subtrees are searched
+ * as fork/join tasks so idle workers steal the remaining work. The first worker finding the goal
+ * stops all other workers of the iteration, the solution length is the same as with {@link IDAStar}.
+ */
+public class ParallelIDAStar implements Solver {
+    private static final int DEFAULT_SPLIT_DEPTH = 10;
+    private final Heuristic heuristic;
+    private final ForkJoinPool pool;
+    private final int splitDepth;
+    private final SearchListener listener;
+    private final MoveAutomaton automaton = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR);
+
+    /**
+     * Creates a parallel IDAStar solver running on the common fork/join pool
+     *
+     * @param heuristic Type of heuristic
+     */
+    public ParallelIDAStar(Heuristic heuristic) {
+        this(heuristic, ForkJoinPool.commonPool(), DEFAULT_SPLIT_DEPTH);
+    }
+
+    /**
+     * Creates a parallel IDAStar solver
+     *
+     * @param heuristic  Type of heuristic
+     * @param pool       Pool running the subtree searches
+     * @param splitDepth Depth up to which the search tree is split into tasks
+     */
+    public ParallelIDAStar(Heuristic heuristic, ForkJoinPool pool, int splitDepth) {
+        this(heuristic, pool, splitDepth, SearchListener.NONE);
+    }
+
+    /**
+     * Creates a parallel IDAStar solver sending one event per threshold iteration
+     *
+     * @param heuristic  Type of heuristic
+     * @param pool       Pool running the subtree searches
+     * @param splitDepth Depth up to which the search tree is split into tasks
+     * @param listener   Listener receiving the events, e.g. a SearchTrace
+     */
+    public ParallelIDAStar(Heuristic heuristic, ForkJoinPool pool, int splitDepth, SearchListener listener) {
+        if (splitDepth < 0 || splitDepth >= IDAStar.MAX_DEPTH) {
+            throw new IllegalArgumentException("Split depth must be between 0 and " + (IDAStar.MAX_DEPTH - 1));
+        }
+        this.heuristic = heuristic;
+        this.pool = pool;
+        this.splitDepth = splitDepth;
+        this.listener = listener;
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using parallel IDAStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given 15-puzzle using parallel IDAStar algorithm within the limits of the given options,
+     * a stopped solve returns the threshold of the unfinished iteration as lower bound.
+     * The memory limit counts the search structures, the workers only keep their paths, so it has no effect here.
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object
+     */
+    @Override
+    public Result solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Utils.checkInput(initialBoard);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long state = PackedBoard.pack(initialBoard.getState());
+        int hScore = heuristic.calculate(state);
+        int threshold = hScore;
+        Statistics statistics = new Statistics();
+        SolveBudget budget = new SolveBudget(options);
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        SearchProgress progress = new SearchProgress("IDAStar", listener);
+        while (true) {
+            Iteration iteration = new Iteration(threshold, statistics, budget);
+            statistics.addAllocatedBytes(allocatedBytes);//allocations of the workers are measured by the tasks
+            int t = pool.invoke(new SubtreeTask(iteration, state, hScore, new byte[0], MoveAutomaton.START));
+            allocatedBytes = Utils.getThreadAllocatedBytes();
+            progress.report(threshold, threshold, statistics.numOfExpandedBoards.sum(), 0, 0);
+            if (t == IDAStar.FOUND) {
+                stopwatch.stop();
+                IDAStar.Search solution = iteration.solution.get();
+                Board finalBoard = new Board(solution.state);
+                finalBoard.setGScore(threshold);
+                statistics.addAllocatedBytes(allocatedBytes);
+                //only the goal has h = 0, so no path of an iteration gets longer than its threshold
+                Result result = new Result(finalBoard, "IDAStar", heuristic, statistics.numOfExpandedBoards.sum(), 0, 0,
+                        statistics.getAllocatedBytes(), 0, 0, threshold, stopwatch.elapsed(unit),
+                        Utils.getMoves(solution.path, threshold));
+                if (debugMode == DebugMode.ON) {
+                    Utils.printResults(result);//print results
+                }
+                return result;
+            }
+            if (budget.isStopped()) {
+                stopwatch.stop();
+                statistics.addAllocatedBytes(allocatedBytes);
+                //every iteration before this one was complete, so no solution is shorter than the threshold
+                Result result = new Result(new Board(initialBoard.getState()), "IDAStar", heuristic,
+                        statistics.numOfExpandedBoards.sum(), 0, 0, statistics.getAllocatedBytes(), 0, 0, threshold,
+                        stopwatch.elapsed(unit), "no moves", budget.getStatus(), threshold);
+                if (debugMode == DebugMode.ON) {
+                    Utils.printResults(result);//print results
+                }
+                return result;
+            }
+            threshold = t;
+        }
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    /**
+     * Counters of one solve updated by all workers
+     */
+    private static class Statistics {
+        private final LongAdder numOfExpandedBoards = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+        private volatile boolean allocationsMeasured = true;
+
+        /**
+         * Adds the bytes allocated by the current thread since the given measurement
+         *
+         * @param start Allocated bytes of the current thread at the start of the measurement
+         */
+        void addAllocatedBytes(long start) {
+            long bytes = Utils.getThreadAllocatedBytesSince(start);
+            if (bytes < 0) {
+                allocationsMeasured = false;
+            } else {
+                allocatedBytes.add(bytes);
+            }
+        }
+
+        /**
+         * Get bytes allocated by all threads of the solve
+         *
+         * @return Allocated bytes or -1 if the JVM does not measure allocations
+         */
+        long getAllocatedBytes() {
+            return allocationsMeasured ? allocatedBytes.sum() : -1;
+        }
+    }
+
+    /**
+     * State shared by all tasks of one threshold iteration
+     */
+    private static class Iteration {
+        private final int threshold;
+        private final Statistics statistics;
+        private final SolveBudget budget;
+        private final AtomicBoolean stopped = new AtomicBoolean();
+        private final AtomicReference<IDAStar.Search> solution = new AtomicReference<>();
+
+        Iteration(int threshold, Statistics statistics, SolveBudget budget) {
+            this.threshold = threshold;
+            this.statistics = statistics;
+            this.budget = budget;
+        }
+    }
+
+    /**
+     * Task searching the subtree below one state, states above the split depth fork one task per move
+     * and states on the split depth are searched sequentially in place
+     */
+    private class SubtreeTask extends RecursiveTask<Integer> {
+        private final Iteration iteration;
+        private final long state;
+        private final int hScore;
+        private final byte[] path;
+        private final int automatonState;
+
+        /**
+         * Creates a subtree task
+         *
+         * @param iteration      Current iteration
+         * @param state          Packed state of the subtree root
+         * @param hScore         H score of the subtree root
+         * @param path           Move ordinals leading from the initial board to the subtree root
+         * @param automatonState State of the move automaton after the path to the subtree root
+         */
+        SubtreeTask(Iteration iteration, long state, int hScore, byte[] path, int automatonState) {
+            this.iteration = iteration;
+            this.state = state;
+            this.hScore = hScore;
+            this.path = path;
+            this.automatonState = automatonState;
+        }
+
+        @Override
+        protected Integer compute() {
+            int gScore = path.length;
+            int f = gScore + hScore;
+            if (f > iteration.threshold) {
+                return f;
+            }
+            if (iteration.stopped.get()) {
+                return Integer.MAX_VALUE;
+            }
+            Statistics statistics = iteration.statistics;
+            long allocatedBytes = Utils.getThreadAllocatedBytes();
+            if (gScore == splitDepth || state == PackedBoard.GOAL) {
+                IDAStar.Search search = new IDAStar.Search(heuristic, automaton, state, path, iteration.stopped,
+                        iteration.budget);
+                int t = search.search(gScore, hScore, iteration.threshold, automatonState);
+                statistics.addAllocatedBytes(allocatedBytes);
+                statistics.numOfExpandedBoards.add(search.numOfExpandedBoards);
+                if (iteration.budget.isExhausted(search.numOfExpandedBoards & SolveBudget.CHECK_MASK)) {
+                    iteration.stopped.set(true);//boards not reported while searching
+                }
+                if (t == IDAStar.FOUND && iteration.solution.compareAndSet(null, search)) {
+                    iteration.stopped.set(true);//stop all other workers
+                }
+                return t;
+            }
+            int blank = PackedBoard.indexOf(state, 0);
+            SubtreeTask[] tasks = new SubtreeTask[IDAStar.MOVES.length];
+            int count = 0;
+            for (int move : IDAStar.MOVES_OF[automaton.getAllowedMoves()[automatonState] & IDAStar.CELL_MOVES[blank]]) {
+                int target = blank + IDAStar.MOVES[move].getOffset();
+                byte[] successorPath = Arrays.copyOf(path, gScore + 1);
+                successorPath[gScore] = (byte) move;
+                tasks[count++] = new SubtreeTask(iteration, PackedBoard.move(state, blank, target),
+                        heuristic.update(state, hScore, blank, target), successorPath,
+                        automaton.next(automatonState, move));
+            }
+            tasks = Arrays.copyOf(tasks, count);
+            statistics.addAllocatedBytes(allocatedBytes);//joining may run other tasks, so they are not measured
+            statistics.numOfExpandedBoards.add(count);
+            if (iteration.budget.isExhausted(count)) {
+                iteration.stopped.set(true);
+                return Integer.MAX_VALUE;
+            }
+            invokeAll(tasks);
+            int minF = Integer.MAX_VALUE;
+            for (SubtreeTask task : tasks) {
+                int t = task.join();
+                if (t == IDAStar.FOUND) {
+                    return IDAStar.FOUND;
+                }
+                minF = Math.min(minF, t);
+            }
+            return minF;
+        }
+    }
+}
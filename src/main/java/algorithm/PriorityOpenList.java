@@ -0,0 +1,65 @@
+package algorithm;
+
+import java.util.Arrays;
+
+/**
+ * Open list backed by a binary heap, ties between equal f scores are broken arbitrarily.
+ * Every entry is a long holding the f score in the upper and the node index in the lower half,
+ * so the heap is a single primitive array.
+ */
+public class PriorityOpenList implements OpenList {
+    private long[] heap = new long[1 << 10];
+    private int size;
+
+    @Override
+    public void add(int node, int fScore, int gScore) {
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, size << 1);
+        }
+        long entry = (long) fScore << 32 | node;
+        int i = size++;
+        while (i > 0 && heap[(i - 1) >>> 1] > entry) {//sift up
+            heap[i] = heap[(i - 1) >>> 1];
+            i = (i - 1) >>> 1;
+        }
+        heap[i] = entry;
+    }
+
+    @Override
+    public int poll() {
+        if (size == 0) {
+            return NONE;
+        }
+        int node = (int) heap[0];
+        long last = heap[--size];
+        int i = 0;
+        int child;
+        while ((child = 2 * i + 1) < size) {//sift down
+            if (child + 1 < size && heap[child + 1] < heap[child]) {
+                child++;
+            }
+            if (heap[child] >= last) {
+                break;
+            }
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = last;
+        return node;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long getBytes() {
+        return (long) heap.length * Long.BYTES;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+    }
+}
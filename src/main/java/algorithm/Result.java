@@ -2,6 +2,7 @@ package algorithm;
 
 import board.Board;
 import heuristic.Heuristic;
+import util.SolveStatus;
 
 /**
  * Class for the result objects to better handle tests and comparison between algorithms and heuristics
@@ -10,24 +11,48 @@ public class Result {
     private final Board finalBoard;
     private final String algorithmType;
     private final Heuristic heuristic;
-    private final int totalExpandedBoards;
+    private final long totalExpandedBoards;
     private final int totalOpenListSize;
     private final int totalClosedListSize;
-    private final long totalMemoryUsed;
+    private final long allocatedBytes;
+    private final int peakOpenListSize;
+    private final int peakClosedListSize;
+    private final int peakPathLength;
     private final long totalRunTime;
     private final String movesToSolve;
+    private final SolveStatus status;
+    private final int lowerBound;
 
-    public Result(Board finalBoard, String algorithmType, Heuristic heuristic, int totalExpandedBoards,
-                  int totalOpenListSize, int totalClosedListSize, long totalMemoryUsed, long totalRunTime, String movesToSolve) {
+    public Result(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                  int totalOpenListSize, int totalClosedListSize, long allocatedBytes, int peakOpenListSize,
+                  int peakClosedListSize, int peakPathLength, long totalRunTime, String movesToSolve) {
+        this(finalBoard, algorithmType, heuristic, totalExpandedBoards, totalOpenListSize, totalClosedListSize,
+                allocatedBytes, peakOpenListSize, peakClosedListSize, peakPathLength, totalRunTime, movesToSolve,
+                SolveStatus.SOLVED, finalBoard.getGScore());
+    }
+
+    /**
+     * Creates a result, solves stopped by a limit of their solve options are not solved
+     * and only know a lower bound of the solution length
+     */
+    public Result(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                  int totalOpenListSize, int totalClosedListSize, long allocatedBytes, int peakOpenListSize,
+                  int peakClosedListSize, int peakPathLength, long totalRunTime, String movesToSolve,
+                  SolveStatus status, int lowerBound) {
         this.finalBoard = finalBoard;
         this.algorithmType = algorithmType;
         this.heuristic = heuristic;
         this.totalOpenListSize = totalOpenListSize;
         this.totalClosedListSize = totalClosedListSize;
         this.totalExpandedBoards = totalExpandedBoards;
-        this.totalMemoryUsed = totalMemoryUsed;
+        this.allocatedBytes = allocatedBytes;
+        this.peakOpenListSize = peakOpenListSize;
+        this.peakClosedListSize = peakClosedListSize;
+        this.peakPathLength = peakPathLength;
         this.totalRunTime = totalRunTime;
         this.movesToSolve = movesToSolve;
+        this.status = status;
+        this.lowerBound = lowerBound;
     }
 
     public Board getFinalBoard() {
@@ -42,7 +67,7 @@ public class Result {
         return heuristic.getName();
     }
 
-    public int getExpandedBoards() {
+    public long getExpandedBoards() {
         return totalExpandedBoards;
     }
 
@@ -50,8 +75,50 @@ public class Result {
         return finalBoard.getGScore();
     }
 
+    /**
+     * Get kilobytes allocated by the solve
+     *
+     * @return Allocated kilobytes or -1 if the JVM does not measure allocations
+     */
     public long getMemoryUsed() {
-        return totalMemoryUsed;
+        return allocatedBytes < 0 ? -1 : allocatedBytes / 1024;
+    }
+
+    /**
+     * Get bytes allocated by the threads of the solve while solving, measured per thread
+     * so the value is not influenced by concurrent solves or garbage collection
+     *
+     * @return Allocated bytes or -1 if the JVM does not measure allocations
+     */
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    /**
+     * Get the largest number of boards in the open list at the same time
+     *
+     * @return Peak open list size, 0 for algorithms without open list
+     */
+    public int getPeakOpenListSize() {
+        return peakOpenListSize;
+    }
+
+    /**
+     * Get the largest number of states in the closed list at the same time
+     *
+     * @return Peak closed list size, 0 for algorithms without closed list
+     */
+    public int getPeakClosedListSize() {
+        return peakClosedListSize;
+    }
+
+    /**
+     * Get the largest number of moves on the search path at the same time
+     *
+     * @return Peak path length
+     */
+    public int getPeakPathLength() {
+        return peakPathLength;
     }
 
     public long getRunTime() {
@@ -69,4 +136,32 @@ public class Result {
     public int getClosedListSize() {
         return totalClosedListSize;
     }
+
+    /**
+     * Returns true if a solution was found, false if the solve was stopped by a limit of its solve options
+     *
+     * @return true if solved
+     */
+    public boolean isSolved() {
+        return status == SolveStatus.SOLVED;
+    }
+
+    /**
+     * Get status of the solve
+     *
+     * @return SOLVED or the limit which stopped the solve
+     */
+    public SolveStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Get lower bound of the solution length, the last IDAStar threshold or the highest f score expanded by AStar.
+     * For solved puzzles with optimal solvers this is the depth.
+     *
+     * @return Lower bound of the optimal number of moves
+     */
+    public int getLowerBound() {
+        return lowerBound;
+    }
 }
@@ -0,0 +1,135 @@
+package algorithm;
+
+/**
+ * Class for the progress events of a running search
+ */
+public class SearchEvent {
+    private final String algorithmType;
+    private final int iteration;
+    private final int threshold;
+    private final int depth;
+    private final long expandedBoards;
+    private final long totalExpandedBoards;
+    private final long iterationNanos;
+    private final long elapsedNanos;
+    private final int openListSize;
+    private final int closedListSize;
+
+    /**
+     * Creates a search event
+     *
+     * @param algorithmType       Name of the algorithm
+     * @param iteration           Number of the event, starting with 1
+     * @param threshold           IDAStar threshold of the iteration or AStar f score of the last expanded board
+     * @param depth               Deepest g score searched
+     * @param expandedBoards      Boards expanded since the last event
+     * @param totalExpandedBoards Boards expanded since the start of the search
+     * @param iterationNanos      Nanoseconds since the last event
+     * @param elapsedNanos        Nanoseconds since the start of the search
+     * @param openListSize        Size of the open list, 0 for algorithms without open list
+     * @param closedListSize      Size of the closed list, 0 for algorithms without closed list
+     */
+    public SearchEvent(String algorithmType, int iteration, int threshold, int depth, long expandedBoards,
+                       long totalExpandedBoards, long iterationNanos, long elapsedNanos, int openListSize, int closedListSize) {
+        this.algorithmType = algorithmType;
+        this.iteration = iteration;
+        this.threshold = threshold;
+        this.depth = depth;
+        this.expandedBoards = expandedBoards;
+        this.totalExpandedBoards = totalExpandedBoards;
+        this.iterationNanos = iterationNanos;
+        this.elapsedNanos = elapsedNanos;
+        this.openListSize = openListSize;
+        this.closedListSize = closedListSize;
+    }
+
+    /**
+     * Calculates the effective branching factor b of a uniform tree with the given depth
+     * holding the given number of boards below the root, so nodes = b + b^2 + ... + b^depth
+     *
+     * @param nodes Number of boards below the root
+     * @param depth Depth of the tree
+     * @return Effective branching factor or 0 if depth or nodes are 0
+     */
+    public static double effectiveBranchingFactor(long nodes, int depth) {
+        if (nodes <= 0 || depth <= 0) {
+            return 0;
+        }
+        double low = 0;
+        double high = Math.max(1, nodes);
+        for (int i = 0; i < 100 && high - low > 1e-9; i++) {
+            double b = (low + high) / 2;
+            double sum = 0;
+            double power = 1;
+            for (int d = 0; d < depth && sum <= nodes; d++) {
+                power *= b;
+                sum += power;
+            }
+            if (sum > nodes) {
+                high = b;
+            } else {
+                low = b;
+            }
+        }
+        return (low + high) / 2;
+    }
+
+    public String getAlgorithm() {
+        return algorithmType;
+    }
+
+    public int getIteration() {
+        return iteration;
+    }
+
+    public int getThreshold() {
+        return threshold;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getExpandedBoards() {
+        return expandedBoards;
+    }
+
+    public long getTotalExpandedBoards() {
+        return totalExpandedBoards;
+    }
+
+    public long getIterationNanos() {
+        return iterationNanos;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public int getOpenListSize() {
+        return openListSize;
+    }
+
+    public int getClosedListSize() {
+        return closedListSize;
+    }
+
+    /**
+     * Get effective branching factor, for IDAStar the boards of this iteration are used,
+     * for AStar all boards expanded so far
+     *
+     * @return Effective branching factor
+     */
+    public double getEffectiveBranchingFactor() {
+        return effectiveBranchingFactor(algorithmType.equals("AStar") ? totalExpandedBoards : expandedBoards, depth);
+    }
+
+    /**
+     * Get boards expanded per second since the last event
+     *
+     * @return Nodes per second
+     */
+    public double getNodesPerSecond() {
+        return iterationNanos == 0 ? 0 : expandedBoards * 1e9 / iterationNanos;
+    }
+}
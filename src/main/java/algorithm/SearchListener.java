@@ -0,0 +1,22 @@
+package algorithm;
+
+/**
+ * Interface for receiving progress events of a running search.
+ * IDAStar sends one event per finished threshold iteration, AStar one event per fixed number of expanded boards.
+ * Events are sent on the thread running the search, so listeners should return quickly.
+ */
+@FunctionalInterface
+public interface SearchListener {
+    /**
+     * Listener ignoring all events
+     */
+    SearchListener NONE = event -> {
+    };
+
+    /**
+     * Called with the progress of the search
+     *
+     * @param event Progress of the search
+     */
+    void onEvent(SearchEvent event);
+}
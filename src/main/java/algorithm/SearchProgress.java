@@ -0,0 +1,48 @@
+package algorithm;
+
+/**
+ * Bookkeeping of one solve for sending search events, keeps the counters of the last event
+ * to report the boards and time of every iteration
+ */
+class SearchProgress {
+    private final String algorithmType;
+    private final SearchListener listener;
+    private final long startNanos;
+    private long lastNanos;
+    private long lastExpandedBoards;
+    private int iteration;
+
+    /**
+     * Starts the bookkeeping of a solve
+     *
+     * @param algorithmType Name of the algorithm
+     * @param listener      Listener receiving the events
+     */
+    SearchProgress(String algorithmType, SearchListener listener) {
+        this.algorithmType = algorithmType;
+        this.listener = listener;
+        this.startNanos = System.nanoTime();
+        this.lastNanos = startNanos;
+    }
+
+    /**
+     * Sends an event for the boards expanded since the last event
+     *
+     * @param threshold           IDAStar threshold of the iteration or AStar f score of the last expanded board
+     * @param depth               Deepest g score searched
+     * @param totalExpandedBoards Boards expanded since the start of the search
+     * @param openListSize        Size of the open list
+     * @param closedListSize      Size of the closed list
+     */
+    void report(int threshold, int depth, long totalExpandedBoards, int openListSize, int closedListSize) {
+        if (listener == SearchListener.NONE) {
+            return;
+        }
+        long now = System.nanoTime();
+        listener.onEvent(new SearchEvent(algorithmType, ++iteration, threshold, depth,
+                totalExpandedBoards - lastExpandedBoards, totalExpandedBoards, now - lastNanos, now - startNanos,
+                openListSize, closedListSize));
+        lastNanos = now;
+        lastExpandedBoards = totalExpandedBoards;
+    }
+}
@@ -0,0 +1,73 @@
+package algorithm;
+
+import util.TraceFormat;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * Listener writing every search event as one line of a CSV or JSON Lines trace.
+ * The writer is flushed after every event, so traces of long solves can be followed while they run.
+ */
+public class SearchTrace implements SearchListener {
+    public static final String CSV_HEADER = "algorithm,iteration,threshold,depth,expandedBoards,totalExpandedBoards,"
+            + "effectiveBranchingFactor,nodesPerSecond,openListSize,closedListSize,elapsedNanos";
+    private final Writer out;
+    private final TraceFormat format;
+    private boolean headerWritten;
+
+    /**
+     * Creates a trace writing to the given writer
+     *
+     * @param out    Writer for the trace, not closed by the trace
+     * @param format Trace format (CSV = comma separated values with header, JSONL = one JSON object per line)
+     */
+    public SearchTrace(Writer out, TraceFormat format) {
+        this.out = out;
+        this.format = format;
+    }
+
+    /**
+     * Writes the event as one line
+     *
+     * @param event Progress of the search
+     * @throws UncheckedIOException being thrown when the trace could not be written
+     */
+    @Override
+    public synchronized void onEvent(SearchEvent event) {
+        try {
+            if (format == TraceFormat.CSV && !headerWritten) {
+                out.write(CSV_HEADER + System.lineSeparator());
+                headerWritten = true;
+            }
+            out.write(format(event, format) + System.lineSeparator());
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Formats an event as one line without line separator
+     *
+     * @param event  Progress of the search
+     * @param format Trace format
+     * @return Formatted event
+     */
+    public static String format(SearchEvent event, TraceFormat format) {
+        return switch (format) {
+            case CSV -> String.format(Locale.ROOT, "%s,%d,%d,%d,%d,%d,%.4f,%.1f,%d,%d,%d",
+                    event.getAlgorithm(), event.getIteration(), event.getThreshold(), event.getDepth(),
+                    event.getExpandedBoards(), event.getTotalExpandedBoards(), event.getEffectiveBranchingFactor(),
+                    event.getNodesPerSecond(), event.getOpenListSize(), event.getClosedListSize(), event.getElapsedNanos());
+            case JSONL -> String.format(Locale.ROOT, "{\"algorithm\":\"%s\",\"iteration\":%d,\"threshold\":%d,\"depth\":%d,"
+                            + "\"expandedBoards\":%d,\"totalExpandedBoards\":%d,\"effectiveBranchingFactor\":%.4f,"
+                            + "\"nodesPerSecond\":%.1f,\"openListSize\":%d,\"closedListSize\":%d,\"elapsedNanos\":%d}",
+                    event.getAlgorithm(), event.getIteration(), event.getThreshold(), event.getDepth(),
+                    event.getExpandedBoards(), event.getTotalExpandedBoards(), event.getEffectiveBranchingFactor(),
+                    event.getNodesPerSecond(), event.getOpenListSize(), event.getClosedListSize(), event.getElapsedNanos());
+        };
+    }
+}
@@ -0,0 +1,396 @@
+package algorithm;
+
+import board.Move;
+import board.PackedBoard;
+import board.Symmetry;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of optimal solutions keyed on the packed state of a board.
+ * When a solution is added, every state on its path is stored with its exact remaining distance,
+ * so later puzzles starting anywhere on the path are answered from the cache.
+ * The moves of all paths are appended to one byte pool, each path ends with a terminator,
+ * and an entry only keeps the position of its remaining moves in the pool.
+ * States are stored under their canonical form, so a state and its mirror share one entry
+ * and the moves are mirrored on lookup if needed, see {@link Symmetry}.
+ * Entries live in primitive arrays indexed by an entry number and are found by an open addressing table
+ * of entry numbers with linear probing, so there are no objects per state, about 30 bytes plus the moves.
+ * The least recently used states are evicted once the capacity is reached, the entries are linked in order of use
+ * by their numbers. Moves no entry refers to any more are removed when the pool is full.
+ */
+public class SolutionCache {
+    public static final int DEFAULT_CAPACITY = 1 << 20;
+    private static final int INITIAL_ENTRIES = 1 << 10;
+    private static final int INITIAL_POOL_BYTES = 1 << 12;
+    private static final int NONE = -1;
+    private static final byte END = -1;//terminates every path in the pool
+    private final int capacity;
+    private int[] table;//entry numbers or NONE
+    private int mask;
+    private long[] keys;//canonical state of every entry
+    private int[] positions;//position of the remaining moves in the pool
+    private boolean[] mirrored;//the moves belong to the mirror of the canonical state
+    private int[] older;//next less recently used entry or NONE
+    private int[] newer;//next more recently used entry or NONE
+    private int newest = NONE;
+    private int oldest = NONE;
+    private int size;
+    private byte[] pool;
+    private int poolSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache holding at most 2^20 states
+     */
+    public SolutionCache() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a cache holding at most the given number of states
+     *
+     * @param capacity Maximum number of states
+     */
+    public SolutionCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        allocate();
+    }
+
+    /**
+     * Get the remaining optimal moves of the given state
+     *
+     * @param state Packed state
+     * @return Move ordinals from the state to the goal or null if the state is not cached
+     */
+    public synchronized byte[] get(long state) {
+        long key = Symmetry.canonical(state);
+        int entry = find(key);
+        if (entry == NONE) {
+            misses++;
+            return null;
+        }
+        hits++;
+        use(entry);
+        int start = positions[entry];
+        int end = start;
+        while (pool[end] != END) {
+            end++;
+        }
+        byte[] moves = Arrays.copyOfRange(pool, start, end);
+        return mirrored[entry] == (key != state) ? moves : Symmetry.mirror(moves);
+    }
+
+    /**
+     * Adds an optimal solution, every state on the path is stored with its remaining moves.
+     * States already in the cache keep their entry, both are optimal, and count as used.
+     *
+     * @param state Packed start state
+     * @param path  Move ordinals of an optimal solution of the start state, copied to the pool
+     */
+    public synchronized void put(long state, byte[] path) {
+        int position = append(path);
+        for (int i = 0; i <= path.length; i++) {
+            long key = Symmetry.canonical(state);
+            int entry = find(key);
+            if (entry == NONE) {
+                add(key, position + i, key != state);
+            } else {
+                use(entry);
+            }
+            if (i < path.length) {
+                int blank = PackedBoard.indexOf(state, 0);
+                state = PackedBoard.move(state, blank, blank + Move.of(path[i]).getOffset());
+            }
+        }
+    }
+
+    /**
+     * Get number of cached states
+     *
+     * @return Size
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get maximum number of cached states
+     *
+     * @return Capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get number of lookups answered from the cache
+     *
+     * @return Hits
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Get number of lookups not answered from the cache
+     *
+     * @return Misses
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Get number of states evicted to stay within the capacity
+     *
+     * @return Evictions
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Get share of lookups answered from the cache
+     *
+     * @return Hit rate between 0 and 1, 0 before the first lookup
+     */
+    public synchronized double getHitRate() {
+        long lookups = hits + misses;
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Removes all states and resets the statistics
+     */
+    public synchronized void clear() {
+        allocate();
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    /**
+     * Adds a state which is not in the cache, the least recently used state is evicted if the cache is full
+     *
+     * @param key      Canonical state
+     * @param position Position of the remaining moves in the pool
+     * @param mirror   true if the moves belong to the mirror of the canonical state
+     */
+    private void add(long key, int position, boolean mirror) {
+        int entry;
+        if (size == capacity) {
+            entry = oldest;
+            remove(entry);
+            evictions++;
+        } else {
+            if (size == keys.length) {
+                grow();
+            }
+            entry = size++;
+        }
+        keys[entry] = key;
+        positions[entry] = position;
+        mirrored[entry] = mirror;
+        int slot = PackedBoard.hash(key) & mask;
+        while (table[slot] != NONE) {
+            slot = (slot + 1) & mask;
+        }
+        table[slot] = entry;
+        link(entry);
+    }
+
+    /**
+     * Get entry of the given canonical state
+     *
+     * @param key Canonical state
+     * @return Entry number or NONE if the state is not cached
+     */
+    private int find(long key) {
+        int slot = PackedBoard.hash(key) & mask;
+        while (table[slot] != NONE) {
+            if (keys[table[slot]] == key) {
+                return table[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NONE;
+    }
+
+    /**
+     * Removes an entry from the table and the order of use, later entries of its probe sequence are shifted back
+     * so lookups need no deleted markers
+     *
+     * @param entry Entry number
+     */
+    private void remove(int entry) {
+        int slot = PackedBoard.hash(keys[entry]) & mask;
+        while (table[slot] != entry) {
+            slot = (slot + 1) & mask;
+        }
+        int next = slot;
+        while (true) {
+            next = (next + 1) & mask;
+            if (table[next] == NONE) {
+                break;
+            }
+            int home = PackedBoard.hash(keys[table[next]]) & mask;
+            if (((next - home) & mask) >= ((next - slot) & mask)) {
+                table[slot] = table[next];//the moved entry is still reached from its home slot
+                slot = next;
+            }
+        }
+        table[slot] = NONE;
+        unlink(entry);
+    }
+
+    /**
+     * Marks an entry as most recently used
+     *
+     * @param entry Entry number
+     */
+    private void use(int entry) {
+        if (entry != newest) {
+            unlink(entry);
+            link(entry);
+        }
+    }
+
+    /**
+     * Inserts an entry as most recently used
+     *
+     * @param entry Entry number not in the order of use
+     */
+    private void link(int entry) {
+        older[entry] = newest;
+        newer[entry] = NONE;
+        if (newest == NONE) {
+            oldest = entry;
+        } else {
+            newer[newest] = entry;
+        }
+        newest = entry;
+    }
+
+    /**
+     * Removes an entry from the order of use
+     *
+     * @param entry Entry number in the order of use
+     */
+    private void unlink(int entry) {
+        if (older[entry] == NONE) {
+            oldest = newer[entry];
+        } else {
+            newer[older[entry]] = newer[entry];
+        }
+        if (newer[entry] == NONE) {
+            newest = older[entry];
+        } else {
+            older[newer[entry]] = older[entry];
+        }
+    }
+
+    /**
+     * Appends a path and its terminator to the pool, the pool is compacted or grown if it is full
+     *
+     * @param path Move ordinals
+     * @return Position of the first move in the pool
+     */
+    private int append(byte[] path) {
+        int bytes = path.length + 1;
+        if (poolSize + bytes > pool.length) {
+            compact();
+            if (poolSize + bytes > pool.length >> 1) {
+                pool = Arrays.copyOf(pool, Math.max(pool.length << 1, (poolSize + bytes) << 1));
+            }
+        }
+        int position = poolSize;
+        System.arraycopy(path, 0, pool, position, path.length);
+        pool[position + path.length] = END;
+        poolSize += bytes;
+        return position;
+    }
+
+    /**
+     * Moves the paths still referred to by an entry to the front of the pool, starting at their first used move.
+     * The entries are ordered by position, so the entries of one path follow each other and paths only move forward
+     */
+    private void compact() {
+        long[] order = new long[size];
+        for (int entry = 0; entry < size; entry++) {
+            order[entry] = (long) positions[entry] << 32 | entry;
+        }
+        Arrays.sort(order);
+        int target = 0;
+        int i = 0;
+        while (i < size) {
+            int start = (int) (order[i] >>> 32);
+            int end = start;
+            while (pool[end] != END) {
+                end++;
+            }
+            System.arraycopy(pool, start, pool, target, end + 1 - start);
+            for (; i < size && (int) (order[i] >>> 32) <= end; i++) {
+                int entry = (int) order[i];
+                positions[entry] = target + positions[entry] - start;
+            }
+            target += end + 1 - start;
+        }
+        poolSize = target;
+    }
+
+    /**
+     * Doubles the number of entries up to the capacity and rebuilds the table with at most half of its slots used
+     */
+    private void grow() {
+        int entries = (int) Math.min(capacity, (long) keys.length << 1);
+        keys = Arrays.copyOf(keys, entries);
+        positions = Arrays.copyOf(positions, entries);
+        mirrored = Arrays.copyOf(mirrored, entries);
+        older = Arrays.copyOf(older, entries);
+        newer = Arrays.copyOf(newer, entries);
+        allocateTable(entries);
+        for (int entry = 0; entry < size; entry++) {
+            int slot = PackedBoard.hash(keys[entry]) & mask;
+            while (table[slot] != NONE) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = entry;
+        }
+    }
+
+    /**
+     * Allocates empty arrays for the first entries and an empty pool
+     */
+    private void allocate() {
+        int entries = Math.min(capacity, INITIAL_ENTRIES);
+        keys = new long[entries];
+        positions = new int[entries];
+        mirrored = new boolean[entries];
+        older = new int[entries];
+        newer = new int[entries];
+        allocateTable(entries);
+        newest = NONE;
+        oldest = NONE;
+        size = 0;
+        pool = new byte[INITIAL_POOL_BYTES];
+        poolSize = 0;
+    }
+
+    /**
+     * Allocates an empty table for the given number of entries
+     *
+     * @param entries Maximum number of entries
+     */
+    private void allocateTable(int entries) {
+        int slots = Integer.highestOneBit(Math.max(1, entries - 1)) << 2;
+        table = new int[slots];
+        Arrays.fill(table, NONE);
+        mask = slots - 1;
+    }
+}
@@ -0,0 +1,117 @@
+package algorithm;
+
+import util.SolveStatus;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Limits of one running solve, created from the solve options when the solve starts.
+ * Searches report their expanded boards every CHECK_INTERVAL boards, so checking costs one
+ * counter comparison per board. The first limit reached is kept as reason for stopping.
+ */
+class SolveBudget {
+    static final int CHECK_INTERVAL = 4096;
+    static final int CHECK_MASK = CHECK_INTERVAL - 1;
+    private static final long NO_DEADLINE = Long.MAX_VALUE;
+    private final SolveOptions options;
+    private final boolean limited;
+    private final long deadline;
+    private final AtomicLong numOfExpandedBoards = new AtomicLong();
+    private volatile SolveStatus stopReason;
+
+    /**
+     * Starts the budget of a solve, the time limit is measured from now
+     *
+     * @param options Solve options
+     */
+    SolveBudget(SolveOptions options) {
+        this.options = options;
+        this.limited = options.hasLimits();
+        long now = System.nanoTime();
+        long remaining = NO_DEADLINE;
+        if (options.getTimeLimit() != null) {
+            remaining = toNanos(options.getTimeLimit());
+        }
+        if (options.getDeadline() != null) {
+            remaining = Math.min(remaining, toNanos(Duration.between(Instant.now(), options.getDeadline())));
+        }
+        this.deadline = remaining == NO_DEADLINE ? NO_DEADLINE : now + remaining;
+    }
+
+    /**
+     * Converts a duration to nanoseconds, durations too long for a nanosecond count are cut to 100 years
+     *
+     * @param duration Duration, negative durations count as 0
+     * @return Nanoseconds
+     */
+    private static long toNanos(Duration duration) {
+        if (duration.isNegative()) {
+            return 0;
+        }
+        return duration.toDays() > 36_500 ? 36_500L * 24 * 3600 * 1_000_000_000L : duration.toNanos();
+    }
+
+    /**
+     * Adds expanded boards and checks the limits of a search without growing structures,
+     * can be called by several threads at once
+     *
+     * @param expandedBoards Boards expanded since the last call
+     * @return true if the solve has to stop
+     */
+    boolean isExhausted(long expandedBoards) {
+        return isExhausted(expandedBoards, 0);
+    }
+
+    /**
+     * Adds expanded boards and checks the limits, can be called by several threads at once
+     *
+     * @param expandedBoards Boards expanded since the last call
+     * @param memoryBytes    Current bytes of the search structures of the solve
+     * @return true if the solve has to stop
+     */
+    boolean isExhausted(long expandedBoards, long memoryBytes) {
+        if (!limited) {
+            return false;
+        }
+        if (stopReason != null) {
+            return true;
+        }
+        long total = numOfExpandedBoards.addAndGet(expandedBoards);
+        CancellationToken token = options.getCancellationToken();
+        SolveStatus reason = null;
+        if (token != null && token.isCancelled()) {
+            reason = SolveStatus.CANCELLED;
+        } else if (total >= options.getMaxExpandedBoards()) {
+            reason = SolveStatus.NODE_LIMIT;
+        } else if (deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0) {
+            reason = SolveStatus.DEADLINE;
+        } else if (memoryBytes > options.getMaxMemoryBytes()) {
+            reason = SolveStatus.MEMORY_LIMIT;
+        }
+        if (reason == null) {
+            return false;
+        }
+        stopReason = reason;
+        return true;
+    }
+
+    /**
+     * Returns true if a limit was reached
+     *
+     * @return true if the solve has to stop
+     */
+    boolean isStopped() {
+        return stopReason != null;
+    }
+
+    /**
+     * Get status of the solve
+     *
+     * @return Limit which stopped the solve or SOLVED if no limit was reached
+     */
+    SolveStatus getStatus() {
+        return stopReason == null ? SolveStatus.SOLVED : stopReason;
+    }
+}
@@ -0,0 +1,136 @@
+package algorithm;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Limits of a solve, a solve reaching a limit stops and returns a result which is not solved.
+ * Options are immutable, every with method returns a copy, e.g.
+ * {@code SolveOptions.NONE.withTimeLimit(Duration.ofSeconds(5)).withMaxExpandedBoards(100_000_000)}.
+ * The limits are checked every few thousand expanded boards, so a solve may run slightly past them.
+ */
+public class SolveOptions {
+    public static final SolveOptions NONE = new SolveOptions(null, null, Long.MAX_VALUE, Long.MAX_VALUE, null);
+    private final Duration timeLimit;
+    private final Instant deadline;
+    private final long maxExpandedBoards;
+    private final long maxMemoryBytes;
+    private final CancellationToken cancellationToken;
+
+    private SolveOptions(Duration timeLimit, Instant deadline, long maxExpandedBoards, long maxMemoryBytes,
+                         CancellationToken cancellationToken) {
+        this.timeLimit = timeLimit;
+        this.deadline = deadline;
+        this.maxExpandedBoards = maxExpandedBoards;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.cancellationToken = cancellationToken;
+    }
+
+    /**
+     * Get options which stop the solve after the given time, measured from the start of the solve
+     *
+     * @param timeLimit Time limit
+     * @return Solve options
+     */
+    public SolveOptions withTimeLimit(Duration timeLimit) {
+        if (timeLimit.isNegative()) {
+            throw new IllegalArgumentException("Time limit must not be negative");
+        }
+        return new SolveOptions(timeLimit, deadline, maxExpandedBoards, maxMemoryBytes, cancellationToken);
+    }
+
+    /**
+     * Get options which stop the solve at the given wall-clock time
+     *
+     * @param deadline Deadline
+     * @return Solve options
+     */
+    public SolveOptions withDeadline(Instant deadline) {
+        return new SolveOptions(timeLimit, deadline, maxExpandedBoards, maxMemoryBytes, cancellationToken);
+    }
+
+    /**
+     * Get options which stop the solve after the given number of expanded boards
+     *
+     * @param maxExpandedBoards Maximum number of expanded boards
+     * @return Solve options
+     */
+    public SolveOptions withMaxExpandedBoards(long maxExpandedBoards) {
+        if (maxExpandedBoards < 0) {
+            throw new IllegalArgumentException("Maximum number of expanded boards must not be negative");
+        }
+        return new SolveOptions(timeLimit, deadline, maxExpandedBoards, maxMemoryBytes, cancellationToken);
+    }
+
+    /**
+     * Get options which stop the solve once its search structures hold more than the given number of bytes.
+     * The bytes are counted exactly from the capacities of the primitive arrays of the structures which grow
+     * with the search: the node arena, open and closed lists of the AStar searches, the open and closed lists
+     * of both directions of BidirectionalMM, the transposition table of IDAStar and the sort buffer of
+     * ExternalAStar. The IDAStar searches without table only keep their path and never reach the limit.
+     *
+     * @param maxMemoryBytes Maximum number of bytes of the search structures
+     * @return Solve options
+     */
+    public SolveOptions withMaxMemoryBytes(long maxMemoryBytes) {
+        if (maxMemoryBytes < 0) {
+            throw new IllegalArgumentException("Maximum number of memory bytes must not be negative");
+        }
+        return new SolveOptions(timeLimit, deadline, maxExpandedBoards, maxMemoryBytes, cancellationToken);
+    }
+
+    /**
+     * Get options which stop the solve once the given token is cancelled
+     *
+     * @param cancellationToken Cancellation token
+     * @return Solve options
+     */
+    public SolveOptions withCancellationToken(CancellationToken cancellationToken) {
+        return new SolveOptions(timeLimit, deadline, maxExpandedBoards, maxMemoryBytes, cancellationToken);
+    }
+
+    /**
+     * Returns true if any limit is set
+     *
+     * @return true if a solve may be stopped
+     */
+    public boolean hasLimits() {
+        return timeLimit != null || deadline != null || maxExpandedBoards != Long.MAX_VALUE
+                || maxMemoryBytes != Long.MAX_VALUE || cancellationToken != null;
+    }
+
+    /**
+     * Get time limit measured from the start of the solve
+     *
+     * @return Time limit or null if not set
+     */
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Get wall-clock deadline
+     *
+     * @return Deadline or null if not set
+     */
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public long getMaxExpandedBoards() {
+        return maxExpandedBoards;
+    }
+
+    public long getMaxMemoryBytes() {
+        return maxMemoryBytes;
+    }
+
+    /**
+     * Get cancellation token
+     *
+     * @return Cancellation token or null if not set
+     */
+    public CancellationToken getCancellationToken() {
+        return cancellationToken;
+    }
+}
@@ -0,0 +1,41 @@
+package algorithm;
+
+import board.Board;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.TimeUnit;
+
+/**
+ * Interface for the solving algorithms.
+ * Every call of solve uses its own search state, so one solver can be used by several threads at once.
+ */
+public interface Solver {
+    /**
+     * Solves a valid given 15-puzzle
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object
+     */
+    Result solve(Board initialBoard, TimeUnit timeUnit, DebugMode debugMode);
+
+    /**
+     * Solves a valid given 15-puzzle within the limits of the given options,
+     * a solve reaching a limit returns a result which is not solved.
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve, e.g. SolveOptions.NONE.withTimeLimit(Duration.ofSeconds(5))
+     * @return Result object
+     */
+    Result solve(Board initialBoard, TimeUnit timeUnit, DebugMode debugMode, SolveOptions options);
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    Heuristic getHeuristic();
+}
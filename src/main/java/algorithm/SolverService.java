@@ -0,0 +1,99 @@
+package algorithm;
+
+import board.Board;
+import util.DebugMode;
+import util.TimeUnit;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Front end for solving many puzzles concurrently on a configurable executor
+ */
+public class SolverService implements AutoCloseable {
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+
+    /**
+     * Creates a service with one platform thread per available processor
+     */
+    public SolverService() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a service with the given number of platform threads
+     *
+     * @param threads Number of threads
+     */
+    public SolverService(int threads) {
+        this(Executors.newFixedThreadPool(threads), true);
+    }
+
+    /**
+     * Creates a service running solves on the given executor, the executor is not shut down on close
+     *
+     * @param executor Executor for the solves
+     */
+    public SolverService(ExecutorService executor) {
+        this(executor, false);
+    }
+
+    private SolverService(ExecutorService executor, boolean ownsExecutor) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+    }
+
+    /**
+     * Creates a service starting one virtual thread per solve,
+     * on runtimes without virtual threads a cached thread pool is used instead
+     *
+     * @return Solver service
+     */
+    public static SolverService withVirtualThreads() {
+        ExecutorService executor;
+        try {
+            executor = (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            executor = Executors.newCachedThreadPool();
+        }
+        return new SolverService(executor, true);
+    }
+
+    /**
+     * Submits a puzzle to be solved
+     *
+     * @param board    Start board to solve
+     * @param solver   Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param timeUnit Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @return Future completed with the result, or exceptionally if the board is not valid
+     */
+    public CompletableFuture<Result> submit(Board board, Solver solver, TimeUnit timeUnit) {
+        return submit(board, solver, timeUnit, SolveOptions.NONE);
+    }
+
+    /**
+     * Submits a puzzle to be solved within the limits of the given options,
+     * the time limit starts when the solve starts and not when it is submitted
+     *
+     * @param board    Start board to solve
+     * @param solver   Solver, e.g. new IDAStar(new LinearConflictWithMD())
+     * @param timeUnit Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param options  Limits of the solve
+     * @return Future completed with the result, or exceptionally if the board is not valid
+     */
+    public CompletableFuture<Result> submit(Board board, Solver solver, TimeUnit timeUnit, SolveOptions options) {
+        return CompletableFuture.supplyAsync(() -> solver.solve(board, timeUnit, DebugMode.OFF, options), executor);
+    }
+
+    /**
+     * Shuts down the executor if it was created by this service, submitted solves are still finished
+     */
+    @Override
+    public void close() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package algorithm;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary files of packed states (8 bytes each) of the external memory AStar, one directory per solve.
+ * States are written and read through file channels with large buffers, so the disk only sees sequential I/O.
+ * Counts the bytes moved, the time spent in the channels and the bytes on disk.
+ */
+class StateFiles {
+    static final int IO_BUFFER_BYTES = 1 << 20;
+    private static final int MIN_MERGE_BUFFER_BYTES = 64 << 10;
+    private final Path directory;
+    private long bytesRead;
+    private long bytesWritten;
+    private long ioNanos;
+    private long diskBytes;
+    private long peakDiskBytes;
+
+    /**
+     * Creates the files of a solve
+     *
+     * @param directory Empty directory owned by the solve
+     */
+    StateFiles(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Get file of the unsorted states generated for a bucket
+     *
+     * @param gScore G score of the bucket
+     * @param hScore H score of the bucket
+     * @return Path of the file
+     */
+    Path open(int gScore, int hScore) {
+        return directory.resolve("open-" + gScore + "-" + hScore + ".bin");
+    }
+
+    /**
+     * Get file of the sorted states expanded from a bucket
+     *
+     * @param gScore G score of the bucket
+     * @param hScore H score of the bucket
+     * @return Path of the file
+     */
+    Path closed(int gScore, int hScore) {
+        return directory.resolve("closed-" + gScore + "-" + hScore + ".bin");
+    }
+
+    /**
+     * Opens a file for appending states
+     *
+     * @param file File, created if missing
+     * @return Writer
+     * @throws IOException being thrown when the file could not be opened
+     */
+    Writer writer(Path file) throws IOException {
+        return new Writer(FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND), IO_BUFFER_BYTES);
+    }
+
+    /**
+     * Opens a file for reading its states in order
+     *
+     * @param file        File
+     * @param bufferBytes Size of the read buffer, a multiple of 8
+     * @return Reader
+     * @throws IOException being thrown when the file could not be opened
+     */
+    Reader reader(Path file, int bufferBytes) throws IOException {
+        return new Reader(FileChannel.open(file, StandardOpenOption.READ), bufferBytes);
+    }
+
+    /**
+     * Sorts a file which may be larger than memory: chunks of the file are sorted in memory
+     * and written as runs without duplicates, the input file is deleted
+     *
+     * @param file  Unsorted file
+     * @param chunk Array for sorting, its length is the number of states per run
+     * @return Sorted runs, to be merged by the caller
+     * @throws IOException being thrown when a file could not be read or written
+     */
+    List<Path> sortRuns(Path file, long[] chunk) throws IOException {
+        List<Path> runs = new ArrayList<>();
+        try (Reader reader = reader(file, IO_BUFFER_BYTES)) {
+            while (reader.hasNext()) {
+                int size = 0;
+                while (size < chunk.length && reader.hasNext()) {
+                    chunk[size++] = reader.next();
+                }
+                Arrays.sort(chunk, 0, size);
+                Path run = directory.resolve(file.getFileName() + ".run" + runs.size());
+                try (Writer writer = writer(run)) {
+                    writer.write(chunk[0]);
+                    for (int i = 1; i < size; i++) {
+                        if (chunk[i] != chunk[i - 1]) {
+                            writer.write(chunk[i]);
+                        }
+                    }
+                }
+                runs.add(run);
+            }
+        }
+        delete(file);
+        return runs;
+    }
+
+    /**
+     * Get size of the read buffers when merging the given number of runs,
+     * large enough for sequential reads while all buffers together stay about the size of one run
+     *
+     * @param runs        Number of runs
+     * @param chunkLength Number of states per run
+     * @return Buffer size in bytes, a multiple of 8
+     */
+    static int mergeBufferBytes(int runs, int chunkLength) {
+        long bytes = (long) chunkLength * Long.BYTES / Math.max(1, runs);
+        return (int) Math.max(MIN_MERGE_BUFFER_BYTES, Math.min(IO_BUFFER_BYTES, bytes)) & ~7;
+    }
+
+    /**
+     * Returns true if a sorted file contains the state, found by binary search with positional reads
+     *
+     * @param file  Sorted file
+     * @param state Packed state
+     * @return true if contained
+     * @throws IOException being thrown when the file could not be read
+     */
+    boolean contains(Path file, long state) throws IOException {
+        if (!Files.exists(file)) {
+            return false;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long low = 0;
+            long high = channel.size() / Long.BYTES - 1;
+            while (low <= high) {
+                long middle = (low + high) >>> 1;
+                buffer.clear();
+                long start = System.nanoTime();
+                while (buffer.hasRemaining() && channel.read(buffer, middle * Long.BYTES + buffer.position()) >= 0) {
+                    //read the whole state
+                }
+                ioNanos += System.nanoTime() - start;
+                bytesRead += Long.BYTES;
+                long value = buffer.getLong(0);
+                if (value < state) {
+                    low = middle + 1;
+                } else if (value > state) {
+                    high = middle - 1;
+                } else {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Deletes a file of this solve
+     *
+     * @param file File
+     * @throws IOException being thrown when the file could not be deleted
+     */
+    void delete(Path file) throws IOException {
+        if (Files.exists(file)) {
+            diskBytes -= Files.size(file);
+            Files.delete(file);
+        }
+    }
+
+    long getBytesRead() {
+        return bytesRead;
+    }
+
+    long getBytesWritten() {
+        return bytesWritten;
+    }
+
+    long getIoNanos() {
+        return ioNanos;
+    }
+
+    long getPeakDiskBytes() {
+        return peakDiskBytes;
+    }
+
+    /**
+     * Buffered appending writer of states
+     */
+    class Writer implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long states;
+
+        private Writer(FileChannel channel, int bufferBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+        }
+
+        void write(long state) throws IOException {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            buffer.putLong(state);
+            states++;
+        }
+
+        /**
+         * Get number of states written by this writer
+         *
+         * @return Number of states
+         */
+        long getStates() {
+            return states;
+        }
+
+        private void flush() throws IOException {
+            buffer.flip();
+            int bytes = buffer.remaining();
+            long start = System.nanoTime();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            ioNanos += System.nanoTime() - start;
+            bytesWritten += bytes;
+            diskBytes += bytes;
+            peakDiskBytes = Math.max(peakDiskBytes, diskBytes);
+            buffer.clear();
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    /**
+     * Buffered sequential reader of states
+     */
+    class Reader implements AutoCloseable {
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private boolean endOfFile;
+
+        private Reader(FileChannel channel, int bufferBytes) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocate(bufferBytes);
+            buffer.flip();//empty until the first read
+        }
+
+        /**
+         * Returns true if there are states left, reads the next block if the buffer is empty
+         *
+         * @return true if next() returns a state
+         * @throws IOException being thrown when the file could not be read
+         */
+        boolean hasNext() throws IOException {
+            if (buffer.remaining() >= Long.BYTES) {
+                return true;
+            }
+            if (endOfFile) {
+                return false;
+            }
+            buffer.compact();
+            long start = System.nanoTime();
+            int bytes = 0;
+            while (buffer.hasRemaining()) {
+                int read = channel.read(buffer);
+                if (read < 0) {
+                    endOfFile = true;
+                    break;
+                }
+                bytes += read;
+            }
+            ioNanos += System.nanoTime() - start;
+            bytesRead += bytes;
+            buffer.flip();
+            return buffer.remaining() >= Long.BYTES;
+        }
+
+        /**
+         * Get the next state without consuming it, hasNext() must be true
+         *
+         * @return Packed state
+         */
+        long peek() {
+            return buffer.getLong(buffer.position());
+        }
+
+        /**
+         * Get the next state, hasNext() must be true
+         *
+         * @return Packed state
+         */
+        long next() {
+            return buffer.getLong();
+        }
+
+        @Override
+        public void close() throws IOException {
+            channel.close();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package algorithm;
+
+import board.Board;
+import heuristic.Heuristic;
+
+/**
+ * Class for the result of IDAStar with transposition table, also reports per threshold iteration
+ * the expanded boards, the cutoffs by the table and the boards saved by the cutoffs.
+ * The saved boards are estimated by the subtree sizes recorded with the bounds in the table, only subtrees searched
+ * with at most the remaining moves of the cutoff are counted, so the estimate is a lower bound.
+ */
+public class TranspositionResult extends Result {
+    private final int[] thresholds;
+    private final long[] iterationExpandedBoards;
+    private final long[] iterationCutoffs;
+    private final long[] iterationSavedBoards;
+    private final int tableCapacity;
+
+    public TranspositionResult(Board finalBoard, String algorithmType, Heuristic heuristic, long totalExpandedBoards,
+                               int tableSize, long allocatedBytes, int peakPathLength, long totalRunTime,
+                               String movesToSolve, int[] thresholds, long[] iterationExpandedBoards,
+                               long[] iterationCutoffs, long[] iterationSavedBoards, int tableCapacity) {
+        super(finalBoard, algorithmType, heuristic, totalExpandedBoards, 0, tableSize, allocatedBytes, 0, tableSize,
+                peakPathLength, totalRunTime, movesToSolve);
+        this.thresholds = thresholds;
+        this.iterationExpandedBoards = iterationExpandedBoards;
+        this.iterationCutoffs = iterationCutoffs;
+        this.iterationSavedBoards = iterationSavedBoards;
+        this.tableCapacity = tableCapacity;
+    }
+
+    /**
+     * Get threshold of every iteration
+     *
+     * @return Thresholds
+     */
+    public int[] getThresholds() {
+        return thresholds.clone();
+    }
+
+    /**
+     * Get boards expanded in every iteration
+     *
+     * @return Expanded boards per iteration
+     */
+    public long[] getIterationExpandedBoards() {
+        return iterationExpandedBoards.clone();
+    }
+
+    /**
+     * Get boards pruned by the transposition table in every iteration
+     *
+     * @return Cutoffs per iteration
+     */
+    public long[] getIterationCutoffs() {
+        return iterationCutoffs.clone();
+    }
+
+    /**
+     * Get boards the cutoffs saved in every iteration, estimated by the subtree sizes stored in the table
+     *
+     * @return Saved boards per iteration
+     */
+    public long[] getIterationSavedBoards() {
+        return iterationSavedBoards.clone();
+    }
+
+    /**
+     * Get boards the cutoffs saved in all iterations
+     *
+     * @return Saved boards
+     */
+    public long getSavedBoards() {
+        long saved = 0;
+        for (long boards : iterationSavedBoards) {
+            saved += boards;
+        }
+        return saved;
+    }
+
+    /**
+     * Get number of slots of the transposition table
+     *
+     * @return Capacity
+     */
+    public int getTableCapacity() {
+        return tableCapacity;
+    }
+}
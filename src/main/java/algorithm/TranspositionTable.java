@@ -0,0 +1,159 @@
+package algorithm;
+
+import board.PackedBoard;
+
+/**
+ * Fixed size transposition table of the IDAStar algorithm, keyed on the packed state of a board.
+ * Every entry stores a lower bound of the moves from the state to the goal, backed up from a finished search
+ * of the subtree, together with the remaining moves (threshold minus g score) and the state of the move automaton
+ * of that search and the size of the subtree. The bound holds for the paths the automaton allows from its state.
+ * <p>
+ * Entries are kept in buckets of two slots in primitive arrays. The first slot keeps the entry of the largest subtree,
+ * which saves the most boards, the second slot is always replaced.
+ */
+class TranspositionTable {
+    static final int BYTES_PER_ENTRY = Long.BYTES + 2 * Byte.BYTES + Short.BYTES + Integer.BYTES;
+    static final int NOT_FOUND = -1;
+    //boards with an f score closer to the threshold have small subtrees, which are searched faster than looked up
+    static final int MIN_SLACK = 2;
+    private static final int MAX_ENTRIES = 1 << 30;
+    private static final long EMPTY = 0L;//no valid board packs to 0
+    private final long[] keys;
+    private final byte[] bounds;
+    private final byte[] remainingMoves;
+    private final short[] automatonStates;
+    private final int[] subtreeSizes;
+    private final int mask;
+    private int size;
+
+    /**
+     * Creates a table using at most the given memory
+     *
+     * @param bytes Memory of the table in bytes, the number of entries is rounded down to a power of two
+     */
+    TranspositionTable(long bytes) {
+        long entries = Math.max(2, Math.min(MAX_ENTRIES, bytes / BYTES_PER_ENTRY));
+        int capacity = Integer.highestOneBit((int) entries);
+        this.keys = new long[capacity];
+        this.bounds = new byte[capacity];
+        this.remainingMoves = new byte[capacity];
+        this.automatonStates = new short[capacity];
+        this.subtreeSizes = new int[capacity];
+        this.mask = (capacity - 1) & ~1;//first slot of a bucket
+    }
+
+    /**
+     * Get slot of a state
+     *
+     * @param state Packed state
+     * @return Slot or NOT_FOUND
+     */
+    int find(long state) {
+        int slot = PackedBoard.hash(state) & mask;
+        if (keys[slot] == state) {
+            return slot;
+        }
+        if (keys[slot + 1] == state) {
+            return slot + 1;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Get lower bound of the moves to the goal for all paths the automaton allows from the stored automaton state
+     *
+     * @param slot Slot of the entry
+     * @return Lower bound
+     */
+    int getBound(int slot) {
+        return bounds[slot] & 0xFF;
+    }
+
+    /**
+     * Get state of the move automaton of the search the bound was backed up from
+     *
+     * @param slot Slot of the entry
+     * @return Automaton state
+     */
+    int getAutomatonState(int slot) {
+        return automatonStates[slot];
+    }
+
+    /**
+     * Get remaining moves (threshold minus g score) of the search the bound was backed up from
+     *
+     * @param slot Slot of the entry
+     * @return Remaining moves
+     */
+    int getRemainingMoves(int slot) {
+        return remainingMoves[slot] & 0xFF;
+    }
+
+    /**
+     * Get number of boards expanded by the search the bound was backed up from
+     *
+     * @param slot Slot of the entry
+     * @return Subtree size
+     */
+    int getSubtreeSize(int slot) {
+        return subtreeSizes[slot];
+    }
+
+    /**
+     * Stores the bound of a finished subtree search, a higher bound of the same state and automaton state is kept
+     *
+     * @param state          Packed state
+     * @param bound          Lower bound of the moves to the goal
+     * @param remainingMoves Threshold minus g score of the state in the search
+     * @param automatonState State of the move automaton after the path to the state
+     * @param subtreeSize    Number of boards expanded by the search of the subtree
+     */
+    void put(long state, int bound, int remainingMoves, int automatonState, long subtreeSize) {
+        int size = (int) Math.min(subtreeSize, Integer.MAX_VALUE);
+        int slot = PackedBoard.hash(state) & mask;
+        if (keys[slot] != state && keys[slot] != EMPTY && size < subtreeSizes[slot]) {
+            slot++;//the first slot keeps the entry of the larger subtree
+        } else if (keys[slot + 1] == state) {
+            keys[slot + 1] = EMPTY;//moved to the first slot
+            this.size--;
+        }
+        if (keys[slot] == state && automatonStates[slot] == automatonState && getBound(slot) > bound) {
+            return;
+        }
+        if (keys[slot] == EMPTY) {
+            this.size++;
+        }
+        keys[slot] = state;
+        bounds[slot] = (byte) Math.min(bound, 0xFF);
+        this.remainingMoves[slot] = (byte) remainingMoves;
+        automatonStates[slot] = (short) automatonState;
+        subtreeSizes[slot] = size;
+    }
+
+    /**
+     * Get number of stored states
+     *
+     * @return Size
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Get number of slots
+     *
+     * @return Capacity
+     */
+    int capacity() {
+        return keys.length;
+    }
+
+    /**
+     * Get bytes of the arrays of the table
+     *
+     * @return Bytes
+     */
+    long getBytes() {
+        return (long) keys.length * BYTES_PER_ENTRY;
+    }
+}
@@ -0,0 +1,95 @@
+package algorithm;
+
+import board.Board;
+import com.google.common.base.Stopwatch;
+import heuristic.Heuristic;
+import util.DebugMode;
+import util.Utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class for the weighted AStar algorithm on boards up to 16 cells.
+ * Boards are ordered by g + w * h, so boards close to the goal are expanded first and far fewer boards are expanded
+ * than by AStar. For consistent heuristics the solution is at most w times longer than an optimal solution.
+ */
+public class WeightedAStar implements Solver {
+    private final Heuristic heuristic;
+    private final double weight;
+
+    /**
+     * Creates a weighted AStar solver
+     *
+     * @param heuristic Type of heuristic
+     * @param weight    Weight of the heuristic between 1 (AStar) and 10, used with a precision of 0.01
+     */
+    public WeightedAStar(Heuristic heuristic, double weight) {
+        WeightedSearch.toScaledWeight(weight);//validate weight
+        this.heuristic = heuristic;
+        this.weight = weight;
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using weighted AStar algorithm
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @return Result object with the suboptimality bound of the solution
+     */
+    @Override
+    public BoundedResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode) {
+        return solve(initialBoard, timeUnit, debugMode, SolveOptions.NONE);
+    }
+
+    /**
+     * Solves a valid given sliding puzzle using weighted AStar algorithm within the limits of the given options,
+     * a stopped solve returns the smallest f score of the open boards as lower bound
+     *
+     * @param initialBoard Start board to solve
+     * @param timeUnit     Unit for runtime (MS = milliseconds, NS = nanoseconds)
+     * @param debugMode    Print results to console (ON = print information, OFF = print no information)
+     * @param options      Limits of the solve
+     * @return Result object with the suboptimality bound of the solution
+     */
+    @Override
+    public BoundedResult solve(Board initialBoard, util.TimeUnit timeUnit, DebugMode debugMode, SolveOptions options) {
+        Utils.checkInput(initialBoard, heuristic);
+        TimeUnit unit = switch (timeUnit) {
+            case MS -> TimeUnit.MILLISECONDS;
+            case NS -> TimeUnit.NANOSECONDS;
+        };
+        Stopwatch stopwatch = Stopwatch.createUnstarted();//create timer
+        stopwatch.start();//start timer
+        long allocatedBytes = Utils.getThreadAllocatedBytes();
+        WeightedSearch search = new WeightedSearch(initialBoard, heuristic, weight, new SolveBudget(options));
+        boolean complete = search.improve(WeightedSearch.NO_DEADLINE);
+        stopwatch.stop();
+        BoundedResult result = search.toResult("WeightedAStar", Utils.getThreadAllocatedBytesSince(allocatedBytes),
+                stopwatch.elapsed(unit), complete);
+        if (debugMode == DebugMode.ON) {
+            Utils.printResults(result);//print results
+            System.out.println("Suboptimality bound: " + result.getSuboptimalityBound());
+        }
+        return result;
+    }
+
+    /**
+     * Get weight of the heuristic
+     *
+     * @return Weight
+     */
+    public double getWeight() {
+        return weight;
+    }
+
+    /**
+     * Get heuristic of this solver
+     *
+     * @return Type of heuristic
+     */
+    @Override
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+}
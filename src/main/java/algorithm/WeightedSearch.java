@@ -0,0 +1,294 @@
+package algorithm;
+
+import board.Board;
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
+import heuristic.Heuristic;
+import util.PuzzleException;
+import util.Utils;
+
+import java.util.Arrays;
+
+/**
+ * Weighted AStar search on boards up to 16 cells which can be continued with a smaller weight, the search of ARA*.
+ * Nodes are kept in a {@link NodeArena} and ordered in a {@link PriorityOpenList} by g + w * h,
+ * the weight is kept in hundredths so the key stays an integer.
+ * Nodes whose g score is lowered after they were expanded in the current iteration are kept aside
+ * as inconsistent and only searched again with the next weight, so every iteration expands a state at most once.
+ * A state may be in the open list more than once, entries with a higher g score than the best known are skipped.
+ */
+class WeightedSearch {
+    static final int WEIGHT_SCALE = 100;
+    static final long NO_DEADLINE = Long.MAX_VALUE;
+    private static final Move[] MOVES = Move.values();
+    private final Heuristic heuristic;
+    private final SolveBudget budget;
+    private final Dimensions dimensions;
+    private final long goal;
+    private final int[][] initialState;
+    private final NodeArena nodes = new NodeArena();
+    private final PriorityOpenList openList = new PriorityOpenList();
+    private final ClosedSet gScores = new ClosedSet();//best known g score of every generated state
+    private ClosedSet closedList = new ClosedSet();//states expanded in the current iteration
+    private int[] inconsistent = new int[64];
+    private int inconsistentSize;
+    private int[] fCounts = new int[128];//nodes per f score in the open list and the inconsistent nodes
+    private int minF = Integer.MAX_VALUE;
+    private int weight;
+    private int solution = OpenList.NONE;//goal node of the best solution
+    private long numOfExpandedBoards;
+    private long reportedBoards;
+    private int peakOpenListSize = 1;
+
+    /**
+     * Creates a weighted search starting at the given board
+     *
+     * @param initialBoard Start board, must be valid
+     * @param heuristic    Type of heuristic
+     * @param weight       Weight of the heuristic, at least 1
+     * @param budget       Limits of the solve, checked every SolveBudget.CHECK_INTERVAL expanded boards
+     * @throws PuzzleException if the board has more than 16 cells
+     */
+    WeightedSearch(Board initialBoard, Heuristic heuristic, double weight, SolveBudget budget) {
+        this.heuristic = heuristic;
+        this.budget = budget;
+        this.dimensions = initialBoard.getDimensions();
+        if (!dimensions.isNarrow()) {
+            throw new PuzzleException("Weighted AStar solves boards up to " + PackedBoard.CELLS + " cells");
+        }
+        this.goal = dimensions.getPackedGoal();
+        this.initialState = initialBoard.getState();
+        this.weight = toScaledWeight(weight);
+        long state = initialBoard.getPackedState();
+        int root = nodes.add(state, 0, heuristic.calculate(state), initialBoard.getBlankIndex(),
+                NodeArena.NO_PARENT, null);
+        gScores.put(state, 0, null);
+        if (state == goal) {
+            solution = root;
+        } else {
+            insert(root);
+        }
+    }
+
+    /**
+     * Converts a weight to hundredths
+     *
+     * @param weight Weight of the heuristic
+     * @return Weight in hundredths
+     */
+    static int toScaledWeight(double weight) {
+        if (!(weight >= 1) || weight > 10) {
+            throw new IllegalArgumentException("Weight must be between 1 and 10");
+        }
+        return (int) Math.round(weight * WEIGHT_SCALE);
+    }
+
+    /**
+     * Expands nodes until no open node can lead to a better solution with the current weight
+     *
+     * @param deadline Value of System.nanoTime() after which the search stops once a solution is known or NO_DEADLINE
+     * @return true if the iteration is complete, false if it was stopped by the deadline or a limit of the solve
+     */
+    boolean improve(long deadline) {
+        int expansions = 0;
+        while (!openList.isEmpty()) {
+            int current = openList.poll();
+            long state = nodes.getState(current);
+            int gScore = nodes.getGScore(current);
+            int hScore = nodes.getHScore(current);
+            fCounts[gScore + hScore]--;
+            if (gScores.getGScore(state) != gScore || closedList.contains(state)) {
+                continue;//outdated entry or already expanded in this iteration
+            }
+            if (solution != OpenList.NONE && nodes.getGScore(solution) * WEIGHT_SCALE <= key(gScore, hScore)) {
+                insert(current);//no better solution with this weight, keep the node for the next iteration
+                return true;
+            }
+            closedList.add(state, gScore, nodes.getMove(current));
+            int blank = nodes.getBlank(current);
+            for (Move move : MOVES) {
+                if (!dimensions.canMove(move, blank)) {
+                    continue;
+                }
+                int target = blank + dimensions.getOffset(move);
+                long successor = PackedBoard.move(state, blank, target);
+                int successorGScore = gScores.getGScore(successor);
+                if (successorGScore >= 0 && successorGScore <= gScore + 1) {
+                    continue;
+                }
+                gScores.put(successor, gScore + 1, move);
+                int node = nodes.add(successor, gScore + 1, heuristic.update(state, hScore, blank, target), target,
+                        current, move);
+                numOfExpandedBoards++;
+                if (successor == goal) {
+                    if (solution == OpenList.NONE || gScore + 1 < nodes.getGScore(solution)) {
+                        solution = node;
+                    }
+                } else if (closedList.contains(successor)) {
+                    if (inconsistentSize == inconsistent.length) {
+                        inconsistent = Arrays.copyOf(inconsistent, inconsistentSize << 1);
+                    }
+                    inconsistent[inconsistentSize++] = node;
+                    count(node);
+                } else {
+                    insert(node);
+                }
+            }
+            peakOpenListSize = Math.max(peakOpenListSize, openList.size());
+            if (++expansions == SolveBudget.CHECK_INTERVAL) {
+                expansions = 0;
+                boolean exhausted = budget.isExhausted(numOfExpandedBoards - reportedBoards, getBytes());
+                reportedBoards = numOfExpandedBoards;
+                if (exhausted || solution != OpenList.NONE && deadline != NO_DEADLINE && System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Get bytes of the node arena, the open list, both closed sets and the inconsistent nodes
+     *
+     * @return Bytes
+     */
+    private long getBytes() {
+        return nodes.getBytes() + openList.getBytes() + gScores.getBytes() + closedList.getBytes()
+                + (long) inconsistent.length * Integer.BYTES;
+    }
+
+    /**
+     * Starts the next iteration with a smaller weight, the open and inconsistent nodes are ordered by the new weight
+     *
+     * @param weight Weight of the heuristic, at least 1
+     */
+    void setWeight(double weight) {
+        this.weight = toScaledWeight(weight);
+        while (!openList.isEmpty()) {
+            if (inconsistentSize == inconsistent.length) {
+                inconsistent = Arrays.copyOf(inconsistent, inconsistentSize << 1);
+            }
+            inconsistent[inconsistentSize++] = openList.poll();
+        }
+        Arrays.fill(fCounts, 0);
+        minF = Integer.MAX_VALUE;
+        closedList = new ClosedSet();
+        for (int i = 0; i < inconsistentSize; i++) {
+            int node = inconsistent[i];
+            if (gScores.getGScore(nodes.getState(node)) == nodes.getGScore(node)) {
+                insert(node);
+            }
+        }
+        inconsistentSize = 0;
+    }
+
+    /**
+     * Get key of the open list for the current weight
+     *
+     * @param gScore G score of the node
+     * @param hScore H score of the node
+     * @return g * WEIGHT_SCALE + weight * h
+     */
+    private int key(int gScore, int hScore) {
+        return gScore * WEIGHT_SCALE + weight * hScore;
+    }
+
+    /**
+     * Adds a node to the open list with the key of the current weight
+     *
+     * @param node Index of the node
+     */
+    private void insert(int node) {
+        int gScore = nodes.getGScore(node);
+        openList.add(node, key(gScore, nodes.getHScore(node)), gScore);
+        count(node);
+    }
+
+    /**
+     * Counts a node waiting for expansion by its f score
+     *
+     * @param node Index of the node
+     */
+    private void count(int node) {
+        int f = nodes.getFScore(node);
+        if (f >= fCounts.length) {
+            fCounts = Arrays.copyOf(fCounts, Math.max(f + 1, fCounts.length << 1));
+        }
+        fCounts[f]++;
+        minF = Math.min(minF, f);
+    }
+
+    /**
+     * Get factor by which the current solution is at most longer than an optimal solution.
+     * No optimal solution is shorter than the smallest f score of the nodes waiting for expansion,
+     * after a complete iteration the solution is also at most the current weight times the optimal length.
+     *
+     * @param complete true if the last iteration is complete
+     * @return Suboptimality bound, 1 for an optimal solution
+     */
+    double getSuboptimalityBound(boolean complete) {
+        if (getMinF() == Integer.MAX_VALUE) {
+            return 1;//nothing left to expand, the solution is optimal
+        }
+        double bound = Math.max(1, nodes.getGScore(solution) / (double) minF);
+        return complete ? Math.min(bound, getWeight()) : bound;
+    }
+
+    /**
+     * Get smallest f score of the nodes waiting for expansion, no solution is shorter
+     *
+     * @return Smallest f score or Integer.MAX_VALUE if no node is waiting
+     */
+    private int getMinF() {
+        while (minF < fCounts.length && fCounts[minF] == 0) {
+            minF++;
+        }
+        if (minF >= fCounts.length) {
+            minF = Integer.MAX_VALUE;
+        }
+        return minF;
+    }
+
+    /**
+     * Creates a result for the best solution found so far, a search stopped by a limit before the first solution
+     * returns the initial board with the smallest f score of the open nodes as lower bound
+     *
+     * @param algorithmType  Name of the algorithm
+     * @param allocatedBytes Bytes allocated by the solve or -1
+     * @param runTime        Run time of the solve
+     * @param complete       true if the last iteration is complete
+     * @return Result object
+     */
+    BoundedResult toResult(String algorithmType, long allocatedBytes, long runTime, boolean complete) {
+        if (solution == OpenList.NONE) {
+            return new BoundedResult(new Board(initialState), algorithmType, heuristic, numOfExpandedBoards,
+                    openList.size(), closedList.size(), allocatedBytes, peakOpenListSize, gScores.size(), 0, runTime,
+                    "no moves", budget.getStatus(), getMinF(), getWeight(), Double.POSITIVE_INFINITY);
+        }
+        int depth = nodes.getGScore(solution);
+        Board finalBoard = new Board(goal, dimensions);
+        finalBoard.setGScore(depth);
+        return new BoundedResult(finalBoard, algorithmType, heuristic, numOfExpandedBoards, openList.size(),
+                closedList.size(), allocatedBytes, peakOpenListSize, gScores.size(), depth, runTime,
+                Utils.getMoves(nodes.getPath(solution), depth), getWeight(), getSuboptimalityBound(complete));
+    }
+
+    /**
+     * Get current weight of the heuristic
+     *
+     * @return Weight
+     */
+    double getWeight() {
+        return weight / (double) WEIGHT_SCALE;
+    }
+
+    /**
+     * Returns true if a solution was found
+     *
+     * @return true if a solution is known
+     */
+    boolean hasSolution() {
+        return solution != OpenList.NONE;
+    }
+}
@@ -1,24 +1,29 @@
 package board;
 
 import heuristic.Heuristic;
+import util.PuzzleException;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 
 /**
- * Class for representing the puzzle board
+ * Class for representing the puzzle board of any {@link Dimensions}. Boards up to 16 cells are packed into one long
+ * (see {@link PackedBoard}), boards up to 25 cells into two longs (see {@link WidePackedBoard}).
  */
 public class Board {
     public static final int[][] goal = {{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 14, 15, 0}};
     public static final int BOARD_LENGTH = 4;
-    private static Heuristic heuristic;
-    private final int[][] state;
+    private static final Move[] MOVES = Move.values();
+    private int[][] state;
+    private final Dimensions dimensions;//null if the array is not a board, kept so Utils.checkInput can reject it
+    private final long packedState;//packed state, the low long of boards over 16 cells
+    private final long highState;//high long of boards over 16 cells, 0 otherwise
+    private final int blankIndex;
     private int fScore;
     private int gScore = 0;
     private int hScore;
-    private int[] blankTile;
     private Board parent;
-    private String move;
+    private Move move;
     private ArrayList<Board> successors = new ArrayList<>();
 
     /**
@@ -28,33 +33,119 @@ public class Board {
      */
     public Board(int[][] state) {
         this.state = state;
-        this.blankTile = getCoordinates(0);
+        this.dimensions = dimensionsOf(state);
+        if (dimensions == null) {
+            //invalid arrays are kept unpacked so Utils.checkInput can reject them
+            this.packedState = 0L;
+            this.highState = 0L;
+        } else if (dimensions.isNarrow()) {
+            this.packedState = PackedBoard.pack(state, dimensions);
+            this.highState = 0L;
+        } else {
+            this.packedState = WidePackedBoard.packLow(state, dimensions);
+            this.highState = WidePackedBoard.packHigh(state, dimensions);
+        }
+        this.blankIndex = dimensions == null ? -1 : indexOf(state, 0);
     }
 
     /**
-     * Copy constructor for successor boards
+     * Constructor for a 4 by 4 board given as packed state
      *
-     * @param board Board to create a copy from
+     * @param packedState Packed state of the board
      */
-    public Board(Board board) {
+    public Board(long packedState) {
+        this(packedState, Dimensions.FOUR_BY_FOUR);
+    }
+
+    /**
+     * Constructor for a board up to 16 cells given as packed state
+     *
+     * @param packedState Packed state of the board
+     * @param dimensions  Dimensions of the board, at most 16 cells
+     */
+    public Board(long packedState, Dimensions dimensions) {
+        if (!dimensions.isNarrow()) {
+            throw new IllegalArgumentException("Only boards up to " + PackedBoard.CELLS + " cells fit into one long");
+        }
+        this.dimensions = dimensions;
+        this.packedState = packedState;
+        this.highState = 0L;
+        this.blankIndex = PackedBoard.indexOf(packedState, 0);
+    }
+
+    /**
+     * Constructor for successor boards, moves the tile on target into the blank tile of the parent
+     *
+     * @param board  Parent board
+     * @param target Cell index of the tile moved into the blank tile
+     */
+    private Board(Board board, int target) {
         this.gScore = board.getGScore() + 1;
-        this.state = copyState(board);
-        heuristic = board.getHeuristic();
+        this.dimensions = board.dimensions;
+        if (dimensions.isNarrow()) {
+            this.packedState = PackedBoard.move(board.packedState, board.blankIndex, target);
+            this.highState = 0L;
+        } else {
+            int tile = WidePackedBoard.tileAt(board.packedState, board.highState, target);
+            this.packedState = WidePackedBoard.moveLow(board.packedState, board.blankIndex, target, tile);
+            this.highState = WidePackedBoard.moveHigh(board.highState, board.blankIndex, target, tile);
+        }
+        this.blankIndex = target;
         this.parent = board;
     }
 
     /**
-     * Copies state from given board and returns 2d array
+     * Get dimensions of given array
+     *
+     * @param state 2d array
+     * @return Dimensions or null if the array is not a rectangular board of 2 to 25 cells
+     */
+    private static Dimensions dimensionsOf(int[][] state) {
+        try {
+            return Dimensions.of(state);
+        } catch (PuzzleException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Get cell index (row * columns + column) of given number in a 2d array
+     *
+     * @param state  2d array
+     * @param number Number to search
+     * @return Cell index or -1 if the number is missing
+     */
+    private static int indexOf(int[][] state, int number) {
+        for (int i = 0; i < state.length; i++) {
+            for (int j = 0; j < state[i].length; j++) {
+                if (state[i][j] == number) {
+                    return i * state[i].length + j;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Checks that the board is packed into one long
      *
-     * @param board Board object
-     * @return Copied array of parent board
+     * @throws IllegalStateException if the array is not a board or the board has more than 16 cells
      */
-    public static int[][] copyState(Board board) {
-//        int[][] copy = new int[board.getState().length][];
-//        for (int i = 0; i < board.getROW(); i++) {
-//            copy[i] = Arrays.copyOf(board.getState()[i], board.getState().length);
-//        }
-        return Arrays.stream(board.getState()).map(int[]::clone).toArray(int[][]::new);//faster method due to Java stream Api;
+    private void requireNarrow() {
+        if (dimensions == null || !dimensions.isNarrow()) {
+            throw new IllegalStateException("Only boards up to " + PackedBoard.CELLS + " cells are packed into one long");
+        }
+    }
+
+    /**
+     * Checks that the board is packed into two longs
+     *
+     * @throws IllegalStateException if the array is not a board or the board has at most 16 cells
+     */
+    private void requireWide() {
+        if (dimensions == null || dimensions.isNarrow()) {
+            throw new IllegalStateException("Only boards over " + PackedBoard.CELLS + " cells are packed into two longs");
+        }
     }
 
     /**
@@ -100,96 +191,66 @@ public class Board {
      * @return 2d array with x on first and y on second index
      */
     public int[] getCoordinates(int number) {
-        for (int i = 0; i < BOARD_LENGTH; i++) {
-            for (int j = 0; j < BOARD_LENGTH; j++) {
-                if (this.state[i][j] == number) {
-                    return new int[]{i, j};
-                }
-            }
-        }
-        throw new IllegalArgumentException("Number could not be found on the board");
+        int[][] state = getState();
+        int index = indexOf(state, number);
+        return new int[]{index / state[0].length, index % state[0].length};
     }
 
     /**
-     * Copies the blank tile of parent board to the successor one
+     * Generates successors of parent board, the h scores of the successors
+     * are updated from the h score of this board
      *
-     * @param board Board object
-     * @return New Blank tile array
+     * @param heuristic Type of heuristic
+     * @return List of successors
+     * @throws IllegalStateException if the array is not a board
      */
-    public int[] copyBlankTile(Board board) {
-        int[] blankCoords = board.getBlankTile();
-        return new int[]{blankCoords[0], blankCoords[1]};
+    public ArrayList<Board> generateSuccessors(Heuristic heuristic) {
+        if (dimensions == null) {
+            throw new IllegalStateException("Puzzle has wrong dimensions");
+        }
+        ArrayList<Board> successors = new ArrayList<>(4);
+        for (Move move : MOVES) {
+            if (dimensions.canMove(move, blankIndex)) {
+                successors.add(createSuccessor(move, heuristic));
+            }
+        }
+        return successors;
     }
 
     /**
-     * Generates successors of parent board
+     * Creates a scored successor by moving the blank tile
      *
-     * @return List of successors
+     * @param move      Move of the blank tile
+     * @param heuristic Type of heuristic
+     * @return Successor board
      */
-    public ArrayList<Board> generateSuccessors() {
-        ArrayList<Board> successors = new ArrayList<>();
-        int x = this.getBlankTile()[0];
-        int y = this.getBlankTile()[1];
-        if (y < 3) {
-            Board moveBoardRight = new Board(this);
-            moveBoardRight.getState()[x][y] = moveBoardRight.getState()[x][y + 1];
-            moveBoardRight.getState()[x][y + 1] = 0;
-            moveBoardRight.setBlankTile(copyBlankTile(this));
-            moveBoardRight.setBlankTile(x, y + 1);
-            moveBoardRight.setMove("R");
-            moveBoardRight.setHScore(heuristic.calculate(moveBoardRight));
-            moveBoardRight.setFScore(moveBoardRight.getGScore() + moveBoardRight.getHScore());
-            successors.add(moveBoardRight);
-        }
-        if (y > 0) {
-            Board moveBoardLeft = new Board(this);
-            moveBoardLeft.getState()[x][y] = moveBoardLeft.getState()[x][y - 1];
-            moveBoardLeft.getState()[x][y - 1] = 0;
-            moveBoardLeft.setBlankTile(copyBlankTile(this));
-            moveBoardLeft.setBlankTile(x, y - 1);
-            moveBoardLeft.setMove("L");
-            moveBoardLeft.setHScore(heuristic.calculate(moveBoardLeft));
-            moveBoardLeft.setFScore(moveBoardLeft.getGScore() + moveBoardLeft.getHScore());
-            successors.add(moveBoardLeft);
+    private Board createSuccessor(Move move, Heuristic heuristic) {
+        Board successor = new Board(this, blankIndex + dimensions.getOffset(move));
+        successor.setMove(move);
+        if (dimensions.isNarrow()) {
+            successor.setHScore(heuristic.update(packedState, hScore, blankIndex, successor.getBlankIndex()));
+        } else {
+            successor.setHScore(heuristic.update(packedState, highState, hScore, blankIndex, successor.getBlankIndex()));
         }
-        if (x > 0) {
-            Board moveBoardUp = new Board(this);
-            moveBoardUp.getState()[x][y] = moveBoardUp.getState()[x - 1][y];
-            moveBoardUp.getState()[x - 1][y] = 0;
-            moveBoardUp.setBlankTile(copyBlankTile(this));
-            moveBoardUp.setBlankTile(x - 1, y);
-            moveBoardUp.setMove("U");
-            moveBoardUp.setHScore(heuristic.calculate(moveBoardUp));
-            moveBoardUp.setFScore(moveBoardUp.getGScore() + moveBoardUp.getHScore());
-            successors.add(moveBoardUp);
-        }
-        if (x < 3) {
-            Board moveBoardDown = new Board(this);
-            moveBoardDown.getState()[x][y] = moveBoardDown.getState()[x + 1][y];
-            moveBoardDown.getState()[x + 1][y] = 0;
-            moveBoardDown.setBlankTile(copyBlankTile(this));
-            moveBoardDown.setBlankTile(x + 1, y);
-            moveBoardDown.setMove("D");
-            moveBoardDown.setHScore(heuristic.calculate(moveBoardDown));
-            moveBoardDown.setFScore(moveBoardDown.getGScore() + moveBoardDown.getHScore());
-            successors.add(moveBoardDown);
-        }
-        return successors;
+        successor.setFScore(successor.getGScore() + successor.getHScore());
+        return successor;
     }
 
     /**
-     * Prints the current board as a 4 by 4 matrix
+     * Prints the current board as a matrix of its dimensions
      */
     public void show() {
-        System.out.println("+-----+-----+-----+-----+\n" +
-                "| " + formatCell(this.getState()[0][0]) + " | " + formatCell(this.getState()[0][1]) + " | " + formatCell(this.getState()[0][2]) + " | " + formatCell(this.getState()[0][3]) + " |\n" +
-                "+-----+-----+-----+-----+\n" +
-                "| " + formatCell(this.getState()[1][0]) + " | " + formatCell(this.getState()[1][1]) + " | " + formatCell(this.getState()[1][2]) + " | " + formatCell(this.getState()[1][3]) + " |\n" +
-                "+-----+-----+-----+-----+\n" +
-                "| " + formatCell(this.getState()[2][0]) + " | " + formatCell(this.getState()[2][1]) + " | " + formatCell(this.getState()[2][2]) + " | " + formatCell(this.getState()[2][3]) + " |\n" +
-                "+-----+-----+-----+-----+\n" +
-                "| " + formatCell(this.getState()[3][0]) + " | " + formatCell(this.getState()[3][1]) + " | " + formatCell(this.getState()[3][2]) + " | " + formatCell(this.getState()[3][3]) + " |\n" +
-                "+-----+-----+-----+-----+\n");
+        int[][] state = getState();
+        String separator = "+-----".repeat(state[0].length) + "+\n";
+        StringBuilder builder = new StringBuilder(separator);
+        for (int[] row : state) {
+            builder.append("|");
+            for (int value : row) {
+                builder.append(" ").append(formatCell(value)).append(" |");
+            }
+            builder.append("\n").append(separator);
+        }
+        System.out.println(builder);
     }
 
     /**
@@ -213,20 +274,88 @@ public class Board {
                 ", fScore=" + fScore +
                 ", gScore=" + gScore +
                 ", hScore=" + hScore +
-                ", COLUMN=" + BOARD_LENGTH +
-                ", ROW=" + BOARD_LENGTH +
+                ", COLUMN=" + getState()[0].length +
+                ", ROW=" + getState().length +
                 '}';
     }
 
     /**
-     * Get 2d array of current board
+     * Get 2d array of current board, successors unpack their state on first access
      *
      * @return 2D array
      */
     public int[][] getState() {
+        if (state == null) {
+            state = dimensions.isNarrow() ? PackedBoard.unpack(packedState, dimensions)
+                    : WidePackedBoard.unpack(packedState, highState, dimensions);
+        }
         return state;
     }
 
+    /**
+     * Get packed state of current board
+     *
+     * @return Packed state
+     * @throws IllegalStateException if the board has more than 16 cells
+     */
+    public long getPackedState() {
+        requireNarrow();
+        return packedState;
+    }
+
+    /**
+     * Get low long of the packed state of a board over 16 cells, see {@link WidePackedBoard}
+     *
+     * @return Low long of the packed state
+     * @throws IllegalStateException if the board has at most 16 cells
+     */
+    public long getPackedLow() {
+        requireWide();
+        return packedState;
+    }
+
+    /**
+     * Get high long of the packed state of a board over 16 cells, see {@link WidePackedBoard}
+     *
+     * @return High long of the packed state
+     * @throws IllegalStateException if the board has at most 16 cells
+     */
+    public long getPackedHigh() {
+        requireWide();
+        return highState;
+    }
+
+    /**
+     * Get canonical packed state of current board, the same for the board and its mirror
+     *
+     * @return Canonical packed state, see {@link Symmetry}
+     * @throws IllegalStateException if the board is not a 4 by 4 board
+     */
+    public long getCanonicalState() {
+        if (dimensions != Dimensions.FOUR_BY_FOUR) {
+            throw new IllegalStateException("Only 4 by 4 boards have a mirror");
+        }
+        return Symmetry.canonical(packedState);
+    }
+
+    /**
+     * Get dimensions of current board
+     *
+     * @return Dimensions or null if the array is not a rectangular board of 2 to 25 cells
+     */
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
+    /**
+     * Get cell index (row * columns + column) of the blank tile
+     *
+     * @return Cell index of blank tile
+     */
+    public int getBlankIndex() {
+        return blankIndex;
+    }
+
     /**
      * Get current f score
      *
@@ -286,7 +415,7 @@ public class Board {
      *
      * @return Last move
      */
-    public String getMove() {
+    public Move getMove() {
         return move;
     }
 
@@ -295,64 +424,35 @@ public class Board {
      *
      * @param move Last move
      */
-    public void setMove(String move) {
+    public void setMove(Move move) {
         this.move = move;
     }
 
-    /**
-     * Get heuristic type
-     *
-     * @return Heuristic type
-     */
-    public Heuristic getHeuristic() {
-        return heuristic;
-    }
-
-    /**
-     * Set heuristic type
-     *
-     * @param heuristic Type of heuristic
-     */
-    public void setHeuristic(Heuristic heuristic) {
-        Board.heuristic = heuristic;
-    }
-
     /**
      * Get blank tile
      *
      * @return Blank tile array
      */
     public int[] getBlankTile() {
-        return blankTile;
+        int columns = dimensions == null ? BOARD_LENGTH : dimensions.getColumns();
+        return new int[]{blankIndex / columns, blankIndex % columns};
     }
 
     /**
-     * Set blank tile array
+     * Returns true if current board is the goal board
      *
-     * @param blankTileCoords Coordinates of new blank tile
+     * @return true if board is solved
      */
-    public void setBlankTile(int[] blankTileCoords) {
-        this.blankTile = blankTileCoords;
-    }
-
-    /**
-     * Set blank tile to given x and y coordinate
-     *
-     * @param x Coordinate
-     * @param y Coordinate
-     */
-    public void setBlankTile(int x, int y) {
-        this.blankTile[0] = x;
-        this.blankTile[1] = y;
-    }
-
     public boolean isSolution() {
-        return this.equals(new Board(goal));
+        if (dimensions == null || !dimensions.isNarrow()) {
+            return dimensions != null && Arrays.deepEquals(getState(), dimensions.getGoal());
+        }
+        return packedState == dimensions.getPackedGoal();
     }
 
     /**
      * Returns true if current board is equal to given board
-     * determined using the 2d array of the boards
+     * determined using the dimensions and packed state of the boards or the 2d arrays of invalid boards
      *
      * @param o Given board object
      * @return true if both objects are equal
@@ -362,16 +462,22 @@ public class Board {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Board board = (Board) o;
-        return Arrays.deepEquals(state, board.state);
+        if (dimensions == null || board.dimensions == null) {
+            return Arrays.deepEquals(getState(), board.getState());
+        }
+        return dimensions.equals(board.dimensions) && packedState == board.packedState && highState == board.highState;
     }
 
     /**
      * Used for comparison
      *
-     * @return Hashcode of array
+     * @return Hashcode of packed state or 2d array
      */
     @Override
     public int hashCode() {
-        return Arrays.deepHashCode(state);
+        if (dimensions == null) {
+            return Arrays.deepHashCode(state);
+        }
+        return PackedBoard.hash(packedState) + 31 * Long.hashCode(highState);
     }
 }
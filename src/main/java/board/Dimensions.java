@@ -0,0 +1,270 @@
+package board;
+
+import util.PuzzleException;
+
+/**
+ * Dimensions of a sliding puzzle with the given number of rows and columns, e.g. 3 by 3 for the 8-puzzle
+ * or 5 by 5 for the 24-puzzle. Cells are indexed row * columns + column, the goal has the tiles in order
+ * and the blank tile on the last cell. Boards up to 16 cells fit into one long (see {@link PackedBoard}),
+ * boards up to 25 cells into two longs (see {@link WidePackedBoard}).
+ */
+public final class Dimensions {
+    public static final int MAX_CELLS = 25;
+    public static final Dimensions FOUR_BY_FOUR = new Dimensions(Board.BOARD_LENGTH, Board.BOARD_LENGTH);
+    private final int rows;
+    private final int columns;
+    private final int cells;
+    //cell index offset per move ordinal and bit masks of the moves the blank tile can do on a cell
+    private final int[] offsets = new int[Move.values().length];
+    private final int[] cellMoves;
+    private final long packedGoal;
+
+    private Dimensions(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.cells = rows * columns;
+        this.cellMoves = new int[cells];
+        for (Move move : Move.values()) {
+            offsets[move.ordinal()] = switch (move) {
+                case R -> 1;
+                case L -> -1;
+                case U -> -columns;
+                case D -> columns;
+            };
+            for (int cell = 0; cell < cells; cell++) {
+                boolean canMove = switch (move) {
+                    case R -> cell % columns < columns - 1;
+                    case L -> cell % columns > 0;
+                    case U -> cell >= columns;
+                    case D -> cell < cells - columns;
+                };
+                if (canMove) {
+                    cellMoves[cell] |= 1 << move.ordinal();
+                }
+            }
+        }
+        this.packedGoal = isNarrow() ? PackedBoard.pack(getGoal(), this) : 0L;
+    }
+
+    /**
+     * Get dimensions with the given number of rows and columns
+     *
+     * @param rows    Number of rows, at least 2
+     * @param columns Number of columns, at least 2
+     * @return Dimensions
+     */
+    public static Dimensions of(int rows, int columns) {
+        if (rows < 2 || columns < 2 || rows * columns > MAX_CELLS) {
+            throw new IllegalArgumentException("Puzzle must have at least 2 rows and columns and at most "
+                    + MAX_CELLS + " cells");
+        }
+        if (rows == Board.BOARD_LENGTH && columns == Board.BOARD_LENGTH) {
+            return FOUR_BY_FOUR;
+        }
+        return new Dimensions(rows, columns);
+    }
+
+    /**
+     * Get dimensions of a 2d array
+     *
+     * @param state 2d array of the board
+     * @return Dimensions
+     */
+    public static Dimensions of(int[][] state) {
+        if (state == null || state.length < 2 || state[0] == null) {
+            throw new PuzzleException("Puzzle has wrong dimensions");
+        }
+        for (int[] row : state) {
+            if (row == null || row.length != state[0].length) {
+                throw new PuzzleException("Puzzle has wrong dimensions");
+            }
+        }
+        try {
+            return of(state.length, state[0].length);
+        } catch (IllegalArgumentException e) {
+            throw new PuzzleException("Puzzle has wrong dimensions");
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getCells() {
+        return cells;
+    }
+
+    /**
+     * Returns true if a board of these dimensions fits into one long
+     *
+     * @return true for at most 16 cells
+     */
+    public boolean isNarrow() {
+        return cells <= PackedBoard.CELLS;
+    }
+
+    /**
+     * Get offset of the blank tile cell index for a move
+     *
+     * @param move Move of the blank tile
+     * @return Cell index offset
+     */
+    public int getOffset(Move move) {
+        return offsets[move.ordinal()];
+    }
+
+    /**
+     * Returns true if the blank tile on the given cell can do the move
+     *
+     * @param move  Move of the blank tile
+     * @param blank Cell index of the blank tile
+     * @return true if the move stays on the board
+     */
+    public boolean canMove(Move move, int blank) {
+        return (cellMoves[blank] & 1 << move.ordinal()) != 0;
+    }
+
+    /**
+     * Get bit mask of the moves the blank tile on the given cell can do
+     *
+     * @param blank Cell index of the blank tile
+     * @return Bit mask with the bit 1 << ordinal set for every move staying on the board
+     */
+    public int getMoves(int blank) {
+        return cellMoves[blank];
+    }
+
+    /**
+     * Get goal board, tiles in order and the blank tile on the last cell
+     *
+     * @return New 2d array of the goal board
+     */
+    public int[][] getGoal() {
+        int[][] goal = new int[rows][columns];
+        for (int cell = 0; cell < cells - 1; cell++) {
+            goal[cell / columns][cell % columns] = cell + 1;
+        }
+        return goal;
+    }
+
+    /**
+     * Get packed goal of boards up to 16 cells, see {@link PackedBoard#pack(int[][], Dimensions)}
+     *
+     * @return Packed goal
+     * @throws IllegalStateException if the boards have more than 16 cells
+     */
+    public long getPackedGoal() {
+        if (!isNarrow()) {
+            throw new IllegalStateException("Only boards up to " + PackedBoard.CELLS + " cells fit into one long");
+        }
+        return packedGoal;
+    }
+
+    /**
+     * Checks a board of these dimensions, every tile from 0 to cells - 1 must occur once and the board must be solvable
+     *
+     * @param state 2d array of the board
+     * @throws PuzzleException if the board is not valid
+     */
+    public void checkInput(int[][] state) {
+        if (!equals(of(state))) {
+            throw new PuzzleException("Puzzle has wrong dimensions");
+        }
+        int seen = 0;
+        for (int[] row : state) {
+            for (int tile : row) {
+                if (tile < 0 || tile >= cells || (seen & 1 << tile) != 0) {
+                    throw new PuzzleException("Puzzle is not valid");
+                }
+                seen |= 1 << tile;
+            }
+        }
+        if (!isSolvable(state)) {
+            throw new PuzzleException("Puzzle is not solvable");
+        }
+    }
+
+    /**
+     * A board is solvable if the number of inversions is even for an odd number of columns,
+     * for an even number of columns the number of inversions plus the row of the blank tile
+     * counted from the bottom row (starting at 0) must be even.
+     * The inversions of a tile are counted as the bits of the greater tiles in a bit mask of the tiles before it,
+     * so the check runs in linear time
+     *
+     * @param state 2d array of the board, every tile must occur once
+     * @return true when the board is solvable
+     */
+    public boolean isSolvable(int[][] state) {
+        int seen = 0;
+        int inversions = 0;
+        int blank = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int tile = state[cell / columns][cell % columns];
+            if (tile == 0) {
+                blank = cell;
+            }
+            inversions += Integer.bitCount(seen >>> tile);
+            seen |= 1 << tile;
+        }
+        return isSolvable(inversions, blank);
+    }
+
+    /**
+     * Returns true if a packed board of up to 16 cells is solvable, see {@link #isSolvable(int[][])}
+     *
+     * @param packed Packed state, every tile must occur once
+     * @return true when the board is solvable
+     */
+    public boolean isSolvable(long packed) {
+        int seen = 0;
+        int inversions = 0;
+        int blank = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            int tile = PackedBoard.tileAt(packed, cell);
+            if (tile == 0) {
+                blank = cell;
+            }
+            inversions += Integer.bitCount(seen >>> tile);
+            seen |= 1 << tile;
+        }
+        return isSolvable(inversions, blank);
+    }
+
+    /**
+     * Checks the parity of the inversions and the row of the blank tile,
+     * the bit masks count the tiles before the blank tile as its inversions, which are no inversions
+     *
+     * @param inversions Number of inversions including the tiles before the blank tile
+     * @param blank      Cell index of the blank tile
+     * @return true when the board is solvable
+     */
+    boolean isSolvable(int inversions, int blank) {
+        inversions -= blank;
+        if (columns % 2 == 1) {
+            return inversions % 2 == 0;
+        }
+        return (inversions + rows - 1 - blank / columns) % 2 == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        Dimensions that = (Dimensions) o;
+        return rows == that.rows && columns == that.columns;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * rows + columns;
+    }
+
+    @Override
+    public String toString() {
+        return rows + "x" + columns;
+    }
+}
@@ -0,0 +1,63 @@
+package board;
+
+/**
+ * Enum class for the moves of the blank tile
+ */
+public enum Move {
+    R(1), L(-1), U(-Board.BOARD_LENGTH), D(Board.BOARD_LENGTH);
+
+    private static final Move[] VALUES = values();
+    private final int offset;
+
+    Move(int offset) {
+        this.offset = offset;
+    }
+
+    /**
+     * Get move by its ordinal, used to restore moves stored as numbers
+     *
+     * @param ordinal Ordinal of the move
+     * @return Move
+     */
+    public static Move of(int ordinal) {
+        return VALUES[ordinal];
+    }
+
+    /**
+     * Get offset of the blank tile cell index for this move
+     *
+     * @return Cell index offset
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * Returns true if the blank tile on the given cell can do this move
+     *
+     * @param blank Cell index of the blank tile
+     * @return true if the move stays on the board
+     */
+    public boolean canMove(int blank) {
+        return switch (this) {
+            case R -> blank % Board.BOARD_LENGTH < Board.BOARD_LENGTH - 1;
+            case L -> blank % Board.BOARD_LENGTH > 0;
+            case U -> blank >= Board.BOARD_LENGTH;
+            case D -> blank < PackedBoard.CELLS - Board.BOARD_LENGTH;
+        };
+    }
+
+    /**
+     * Get move which undoes this move
+     *
+     * @return Inverse move
+     */
+    public Move inverse() {
+        return switch (this) {
+            case R -> L;
+            case L -> R;
+            case U -> D;
+            case D -> U;
+        };
+    }
+}
@@ -0,0 +1,130 @@
+package board;
+
+/**
+ * Helper methods for the packed 64-bit board encoding.
+ * Every cell of the 4 by 4 board is stored as one nibble,
+ * cell index (row * 4 + column) i uses the bits 4i to 4i + 3.
+ * Smaller boards (see {@link Dimensions}) use the same encoding with cell index row * columns + column.
+ */
+public abstract class PackedBoard {
+    public static final int CELLS = Board.BOARD_LENGTH * Board.BOARD_LENGTH;
+    public static final long GOAL = pack(Board.goal);
+    private static final long NIBBLE = 0xFL;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Packs a 4 by 4 state into a long, the array is expected to hold values between 0 and 15
+     *
+     * @param state 2d array of the board
+     * @return Packed state
+     */
+    public static long pack(int[][] state) {
+        long packed = 0L;
+        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
+            for (int j = 0; j < Board.BOARD_LENGTH; j++) {
+                packed |= (state[i][j] & NIBBLE) << ((i * Board.BOARD_LENGTH + j) << 2);
+            }
+        }
+        return packed;
+    }
+
+    /**
+     * Packs a state of up to 16 cells into a long, the array is expected to hold values between 0 and 15
+     *
+     * @param state      2d array of the board
+     * @param dimensions Dimensions of the board
+     * @return Packed state
+     */
+    public static long pack(int[][] state, Dimensions dimensions) {
+        long packed = 0L;
+        for (int cell = 0; cell < dimensions.getCells(); cell++) {
+            packed |= (state[cell / dimensions.getColumns()][cell % dimensions.getColumns()] & NIBBLE) << (cell << 2);
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a packed state of up to 16 cells into a new array
+     *
+     * @param packed     Packed state
+     * @param dimensions Dimensions of the board
+     * @return 2d array of the board
+     */
+    public static int[][] unpack(long packed, Dimensions dimensions) {
+        int[][] state = new int[dimensions.getRows()][dimensions.getColumns()];
+        for (int cell = 0; cell < dimensions.getCells(); cell++) {
+            state[cell / dimensions.getColumns()][cell % dimensions.getColumns()] = tileAt(packed, cell);
+        }
+        return state;
+    }
+
+    /**
+     * Unpacks a packed state into a new 4 by 4 array
+     *
+     * @param packed Packed state
+     * @return 2d array of the board
+     */
+    public static int[][] unpack(long packed) {
+        int[][] state = new int[Board.BOARD_LENGTH][Board.BOARD_LENGTH];
+        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
+            for (int j = 0; j < Board.BOARD_LENGTH; j++) {
+                state[i][j] = tileAt(packed, i * Board.BOARD_LENGTH + j);
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Get tile on given cell index
+     *
+     * @param packed Packed state
+     * @param index  Cell index (row * 4 + column)
+     * @return Tile number
+     */
+    public static int tileAt(long packed, int index) {
+        return (int) ((packed >>> (index << 2)) & NIBBLE);
+    }
+
+    /**
+     * Get cell index of given tile
+     *
+     * @param packed Packed state
+     * @param tile   Tile number
+     * @return Cell index (row * 4 + column)
+     */
+    public static int indexOf(long packed, int tile) {
+        for (int i = 0; i < CELLS; i++) {
+            if (tileAt(packed, i) == tile) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Number could not be found on the board");
+    }
+
+    /**
+     * Moves the tile on the target cell into the blank cell
+     *
+     * @param packed Packed state
+     * @param blank  Cell index of the blank tile
+     * @param target Cell index of the tile next to the blank tile
+     * @return Packed state after the move, blank tile is now on target
+     */
+    public static long move(long packed, int blank, int target) {
+        long tile = (packed >>> (target << 2)) & NIBBLE;
+        return packed - (tile << (target << 2)) + (tile << (blank << 2));
+    }
+
+    /**
+     * Cheap hash of a packed state, multiplies with the golden ratio and folds the upper half twice
+     * so that the low bits used by hash tables depend on every cell
+     *
+     * @param packed Packed state
+     * @return Hashcode of state
+     */
+    public static int hash(long packed) {
+        long h = packed * GOLDEN_GAMMA;
+        h ^= h >>> 32;
+        h *= GOLDEN_GAMMA;
+        return (int) (h ^ (h >>> 32));
+    }
+}
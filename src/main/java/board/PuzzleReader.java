@@ -0,0 +1,240 @@
+package board;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming reader of puzzle files in the format of the puzzlesN.txt files, one puzzle per line
+ * with the tiles separated by spaces, tabs or commas. The file is read in large blocks and parsed byte by byte,
+ * every puzzle is validated with a bit mask of the seen tiles, which also counts the inversions for the solvability,
+ * and encoded as packed state (see {@link PackedBoard}) without creating objects, so millions of puzzles can be read faster than they are solved.
+ * Blank lines are skipped, invalid lines are returned with an error message instead of a state:
+ * <pre>
+ * try (PuzzleReader reader = new PuzzleReader(file)) {
+ *     while (reader.next()) {
+ *         if (reader.isValid()) {
+ *             solve(reader.getState());
+ *         }
+ *     }
+ * }
+ * </pre>
+ */
+public final class PuzzleReader implements AutoCloseable {
+    public static final int BUFFER_BYTES = 1 << 20;
+    public static final String INVALID_PUZZLE = "Invalid puzzle";
+    public static final String NOT_SOLVABLE = "Puzzle is not solvable";
+    private static final int MAX_DIGITS = 18;//digits that always fit into a long
+    private final ReadableByteChannel channel;
+    private final Dimensions dimensions;
+    private final byte[] bytes;
+    private final ByteBuffer buffer;
+    private int position;
+    private int limit;
+    private int lineNumber;
+    private long state;
+    private String error;
+
+    /**
+     * Opens a file of 4 by 4 puzzles
+     *
+     * @param file Puzzle file
+     * @throws IOException being thrown when the file could not be opened
+     */
+    public PuzzleReader(Path file) throws IOException {
+        this(file, Dimensions.FOUR_BY_FOUR);
+    }
+
+    /**
+     * Opens a file of puzzles of the given dimensions
+     *
+     * @param file       Puzzle file
+     * @param dimensions Dimensions of the puzzles, at most 16 cells
+     * @throws IOException being thrown when the file could not be opened
+     */
+    public PuzzleReader(Path file, Dimensions dimensions) throws IOException {
+        this(FileChannel.open(file, StandardOpenOption.READ), dimensions, BUFFER_BYTES);
+    }
+
+    /**
+     * Creates a reader of a channel
+     *
+     * @param channel     Channel of the puzzle file, closed by this reader
+     * @param dimensions  Dimensions of the puzzles, at most 16 cells
+     * @param bufferBytes Size of the read buffer in bytes
+     */
+    PuzzleReader(ReadableByteChannel channel, Dimensions dimensions, int bufferBytes) {
+        if (!dimensions.isNarrow()) {
+            throw new IllegalArgumentException("Puzzle files are read for boards up to " + PackedBoard.CELLS + " cells");
+        }
+        this.channel = channel;
+        this.dimensions = dimensions;
+        this.bytes = new byte[bufferBytes];
+        this.buffer = ByteBuffer.wrap(bytes);
+    }
+
+    /**
+     * Reads the next puzzle, blank lines are skipped
+     *
+     * @return true if a puzzle was read, false at the end of the file
+     * @throws IOException being thrown when the file could not be read
+     */
+    public boolean next() throws IOException {
+        int cells = dimensions.getCells();
+        while (true) {
+            int b = read();
+            if (b < 0) {
+                return false;
+            }
+            lineNumber++;
+            long packed = 0L;
+            String tileError = null;
+            boolean invalid = false;
+            int seen = 0;
+            int inversions = 0;
+            int blank = 0;
+            int tiles = 0;
+            int digits = -1;//significant digits of the current number, -1 between numbers
+            boolean signed = false;
+            boolean negative = false;
+            long value = 0L;
+            StringBuilder token = null;//digits of a number too long for a long, only built for the error message
+            while (true) {
+                if (b >= '0' && b <= '9') {
+                    if (digits < 0) {
+                        digits = 0;
+                        value = 0L;
+                    }
+                    if (value != 0L || b != '0') {
+                        if (++digits <= MAX_DIGITS) {
+                            value = value * 10 + b - '0';
+                        } else {
+                            if (token == null) {
+                                token = new StringBuilder().append(value);
+                            }
+                            token.append((char) b);
+                        }
+                    }
+                } else if ((b == '-' || b == '+') && digits < 0 && !signed) {
+                    signed = true;
+                    negative = b == '-';
+                } else {
+                    if (digits >= 0) {
+                        if (tiles < cells && tileError == null) {
+                            if (negative && value != 0L || value >= cells || token != null) {
+                                tileError = "Digit is not in range 0-" + (cells - 1) + ": " + (negative ? "-" : "")
+                                        + (token == null ? value : token);
+                            } else if ((seen & 1 << value) != 0) {
+                                tileError = "Puzzle has duplicates: " + value;
+                            } else {
+                                if (value == 0L) {
+                                    blank = tiles;
+                                }
+                                inversions += Integer.bitCount(seen >>> value);//see Dimensions#isSolvable(int[][])
+                                seen |= 1 << value;
+                                packed |= value << (tiles << 2);
+                            }
+                        }
+                        tiles++;
+                        digits = -1;
+                        token = null;
+                    } else if (signed) {
+                        invalid = true;//sign without digits
+                    }
+                    signed = false;
+                    negative = false;
+                    if (b < 0 || b == '\n') {
+                        break;
+                    }
+                    if (b != ' ' && b != ',' && b != '\t' && b != '\r') {
+                        invalid = true;
+                    }
+                }
+                b = read();
+            }
+            if (tiles == 0 && !invalid) {
+                continue;//blank line
+            }
+            state = packed;
+            if (invalid || tiles != cells) {
+                error = INVALID_PUZZLE;
+            } else if (tileError != null) {
+                error = tileError;
+            } else if (!dimensions.isSolvable(inversions, blank)) {
+                error = NOT_SOLVABLE;
+            } else {
+                error = null;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Get the next byte, reads the next block if the buffer is empty
+     *
+     * @return Byte or -1 at the end of the file
+     * @throws IOException being thrown when the file could not be read
+     */
+    private int read() throws IOException {
+        if (position == limit) {
+            buffer.clear();
+            int read;
+            do {
+                read = channel.read(buffer);
+            } while (read == 0);
+            if (read < 0) {
+                return -1;
+            }
+            position = 0;
+            limit = read;
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    /**
+     * Get the packed state of the last read puzzle, only meaningful if it is valid
+     *
+     * @return Packed state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Get the line number of the last read puzzle, counting blank lines and starting at 1
+     *
+     * @return Line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns true if the last read puzzle has every tile once and is solvable
+     *
+     * @return true if the puzzle is valid
+     */
+    public boolean isValid() {
+        return error == null;
+    }
+
+    /**
+     * Get the reason the last read puzzle is invalid. Tiles out of range and duplicates have the messages of the
+     * exceptions of {@link util.Utils#convertStringTo2DIntArray(String)}, numbers are signed like Integer#parseInt,
+     * a number outside the int range is reported as out of range with its digits instead of a NumberFormatException.
+     * Other malformed lines are reported as {@link #INVALID_PUZZLE} and unsolvable puzzles as {@link #NOT_SOLVABLE}
+     *
+     * @return Error message or null if the puzzle is valid
+     */
+    public String getError() {
+        return error;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,109 @@
+package board;
+
+/**
+ * Helper methods for the symmetry of the 15-puzzle under reflection about the main diagonal.
+ * The mirror of a state transposes every cell (row, column) to (column, row) and relabels every tile
+ * with the tile whose goal cell is the transposed goal cell, so the goal board is its own mirror
+ * and a state and its mirror have the same optimal distance.
+ * The canonical form of a state is the smaller of both packed states, it is used as key for
+ * caches and duplicate detection so mirrored states are only stored once.
+ */
+public abstract class Symmetry {
+    private static final int[] TRANSPOSED_CELL = new int[PackedBoard.CELLS];
+    private static final long[] RELABELED_TILE = new long[PackedBoard.CELLS];
+
+    static {
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            TRANSPOSED_CELL[cell] = (cell % Board.BOARD_LENGTH) * Board.BOARD_LENGTH + cell / Board.BOARD_LENGTH;
+        }
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            RELABELED_TILE[PackedBoard.tileAt(PackedBoard.GOAL, cell)] =
+                    PackedBoard.tileAt(PackedBoard.GOAL, TRANSPOSED_CELL[cell]);
+        }
+    }
+
+    /**
+     * Get the mirror of the given state
+     *
+     * @param state Packed state
+     * @return Packed mirrored state
+     */
+    public static long mirror(long state) {
+        long mirrored = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            mirrored |= RELABELED_TILE[(int) (state & 0xF)] << (TRANSPOSED_CELL[cell] << 2);
+            state >>>= 4;
+        }
+        return mirrored;
+    }
+
+    /**
+     * Get the canonical form of the given state, the same for a state and its mirror
+     *
+     * @param state Packed state
+     * @return Smaller of state and mirrored state (unsigned)
+     */
+    public static long canonical(long state) {
+        long mirrored = mirror(state);
+        return Long.compareUnsigned(state, mirrored) <= 0 ? state : mirrored;
+    }
+
+    /**
+     * Returns true if the canonical form of the given state is its mirror
+     *
+     * @param state Packed state
+     * @return true if the state has to be mirrored to get the canonical form
+     */
+    public static boolean isMirrored(long state) {
+        return Long.compareUnsigned(mirror(state), state) < 0;
+    }
+
+    /**
+     * Get the transposed cell, the cell of the mirrored state a tile on the given cell is moved to
+     *
+     * @param cell Cell index
+     * @return Transposed cell index
+     */
+    public static int transpose(int cell) {
+        return TRANSPOSED_CELL[cell];
+    }
+
+    /**
+     * Get the new label of a tile on the mirrored state
+     *
+     * @param tile Tile, 0 for the blank tile
+     * @return Relabeled tile, the blank tile stays 0
+     */
+    public static int relabel(int tile) {
+        return (int) RELABELED_TILE[tile];
+    }
+
+    /**
+     * Get the move of the mirrored blank tile, moves along rows become moves along columns
+     *
+     * @param move Move on the original state
+     * @return Move on the mirrored state
+     */
+    public static Move mirror(Move move) {
+        return switch (move) {
+            case R -> Move.D;
+            case L -> Move.U;
+            case U -> Move.L;
+            case D -> Move.R;
+        };
+    }
+
+    /**
+     * Maps a move sequence of a state to the move sequence of its mirror, mapping twice returns the original moves
+     *
+     * @param path Move ordinals
+     * @return New array with the mirrored move ordinals
+     */
+    public static byte[] mirror(byte[] path) {
+        byte[] mirrored = new byte[path.length];
+        for (int i = 0; i < path.length; i++) {
+            mirrored[i] = (byte) mirror(Move.of(path[i])).ordinal();
+        }
+        return mirrored;
+    }
+}
@@ -0,0 +1,139 @@
+package board;
+
+/**
+ * Helper methods for the packed 128-bit board encoding of boards with up to 25 cells, e.g. the 24-puzzle.
+ * Every cell is stored as five bits, cells 0 to 11 in the low and cells 12 to 23 in the high long.
+ * The tile of cell 24 is not stored, since every tile occurs once it is the xor of all tiles with the stored tiles.
+ */
+public abstract class WidePackedBoard {
+    public static final int CELLS_PER_WORD = 12;
+    private static final int STORED_CELLS = 2 * CELLS_PER_WORD;
+    private static final long FIELD = 0x1FL;
+
+    /**
+     * Packs the low long of a state
+     *
+     * @param state      2d array of the board
+     * @param dimensions Dimensions of the board
+     * @return Low long of the packed state
+     */
+    public static long packLow(int[][] state, Dimensions dimensions) {
+        return pack(state, dimensions, 0);
+    }
+
+    /**
+     * Packs the high long of a state
+     *
+     * @param state      2d array of the board
+     * @param dimensions Dimensions of the board
+     * @return High long of the packed state
+     */
+    public static long packHigh(int[][] state, Dimensions dimensions) {
+        return pack(state, dimensions, CELLS_PER_WORD);
+    }
+
+    /**
+     * Packs the cells of one long
+     *
+     * @param state      2d array of the board
+     * @param dimensions Dimensions of the board
+     * @param first      First cell of the long
+     * @return Packed cells
+     */
+    private static long pack(int[][] state, Dimensions dimensions, int first) {
+        long packed = 0L;
+        int last = Math.min(first + CELLS_PER_WORD, dimensions.getCells());
+        for (int cell = first; cell < last; cell++) {
+            long tile = state[cell / dimensions.getColumns()][cell % dimensions.getColumns()];
+            packed |= tile << (5 * (cell - first));
+        }
+        return packed;
+    }
+
+    /**
+     * Unpacks a packed state into a new array
+     *
+     * @param low        Low long of the packed state
+     * @param high       High long of the packed state
+     * @param dimensions Dimensions of the board
+     * @return 2d array of the board
+     */
+    public static int[][] unpack(long low, long high, Dimensions dimensions) {
+        int[][] state = new int[dimensions.getRows()][dimensions.getColumns()];
+        for (int cell = 0; cell < dimensions.getCells(); cell++) {
+            state[cell / dimensions.getColumns()][cell % dimensions.getColumns()] = tileAt(low, high, cell);
+        }
+        return state;
+    }
+
+    /**
+     * Get tile on given cell index
+     *
+     * @param low   Low long of the packed state
+     * @param high  High long of the packed state
+     * @param index Cell index (row * columns + column)
+     * @return Tile number
+     */
+    public static int tileAt(long low, long high, int index) {
+        if (index < CELLS_PER_WORD) {
+            return (int) ((low >>> (5 * index)) & FIELD);
+        }
+        if (index < STORED_CELLS) {
+            return (int) ((high >>> (5 * (index - CELLS_PER_WORD))) & FIELD);
+        }
+        return missingTile(low, high);
+    }
+
+    /**
+     * Get tile of the last cell of a 25 cell board, the xor of the tiles 0 to 24 is 24
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @return Tile number
+     */
+    private static int missingTile(long low, long high) {
+        long x = low ^ high;//xor of the cells 0 to 23 folded into the cells 0 to 11
+        x ^= x >>> 30;
+        x ^= x >>> 15;
+        x ^= (x >>> 5) ^ (x >>> 10);
+        return (int) ((x ^ STORED_CELLS) & FIELD);
+    }
+
+    /**
+     * Moves the tile on the target cell into the blank cell, only changes the low long
+     *
+     * @param low    Low long of the packed state
+     * @param blank  Cell index of the blank tile
+     * @param target Cell index of the tile next to the blank tile
+     * @param tile   Tile on the target cell
+     * @return Low long of the packed state after the move
+     */
+    public static long moveLow(long low, int blank, int target, int tile) {
+        if (blank < CELLS_PER_WORD) {
+            low += (long) tile << (5 * blank);
+        }
+        if (target < CELLS_PER_WORD) {
+            low -= (long) tile << (5 * target);
+        }
+        return low;
+    }
+
+    /**
+     * Moves the tile on the target cell into the blank cell, only changes the high long
+     *
+     * @param high   High long of the packed state
+     * @param blank  Cell index of the blank tile
+     * @param target Cell index of the tile next to the blank tile
+     * @param tile   Tile on the target cell
+     * @return High long of the packed state after the move
+     */
+    public static long moveHigh(long high, int blank, int target, int tile) {
+        if (blank >= CELLS_PER_WORD && blank < STORED_CELLS) {
+            high += (long) tile << (5 * (blank - CELLS_PER_WORD));
+        }
+        if (target >= CELLS_PER_WORD && target < STORED_CELLS) {
+            high -= (long) tile << (5 * (target - CELLS_PER_WORD));
+        }
+        return high;
+    }
+}
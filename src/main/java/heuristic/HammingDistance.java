@@ -1,34 +1,54 @@
 package heuristic;
 
-import board.Board;
+import board.PackedBoard;
 
 /**
  * Class for the hamming distance heuristic
  */
 public class HammingDistance extends Heuristic {
     /**
-     * Calculates the hamming distance of the given board
+     * Calculates the hamming distance of the given packed state
      * Hamming distance is the number of tiles not
      * in their goal position, blank tile is ignored
      *
-     * @param board Board Object
+     * @param state Packed state
      * @return hamming distance count
      */
     @Override
-    public int calculate(Board board) {
+    public int calculate(long state) {
+        //a nibble of the xor is zero where the tile is on its goal cell
+        long diff = state ^ PackedBoard.GOAL;
         int hdCount = 0;
-        int goalPosition = 0;
-        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
-            for (int j = 0; j < Board.BOARD_LENGTH; j++) {
-                goalPosition++;
-                if (board.getState()[i][j] != goalPosition && !(board.getState()[i][j] == 0)) {
-                    hdCount++;
-                }
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            if ((diff & 0xF) != 0 && (state & 0xF) != 0) {
+                hdCount++;
             }
+            diff >>>= 4;
+            state >>>= 4;
         }
         return hdCount;
     }
 
+    /**
+     * Updates the hamming distance by checking the moved tile on its old and new cell
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Hamming distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return hamming distance of the successor
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        int goalCell = PackedBoard.tileAt(state, target) - 1;
+        return hScore - (target != goalCell ? 1 : 0) + (blank != goalCell ? 1 : 0);
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
     @Override
     public String getName() {
         return "Hamming Distance";
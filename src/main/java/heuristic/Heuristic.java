@@ -1,12 +1,133 @@
 package heuristic;
 
 import board.Board;
+import board.Dimensions;
+import board.PackedBoard;
+import board.Symmetry;
+import board.WidePackedBoard;
 
 /**
- * Superclass for heuristics
+ * Superclass for heuristics. Heuristics support 4 by 4 boards unless they override {@link #supports(Dimensions)},
+ * boards up to 16 cells are given as one packed long and larger boards as the two longs of {@link WidePackedBoard}.
  */
 public abstract class Heuristic {
-    public abstract int calculate(Board board);
+    /**
+     * Calculates the heuristic of the given board using its packed state
+     *
+     * @param board Board Object
+     * @return heuristic value
+     */
+    public int calculate(Board board) {
+        if (board.getDimensions().isNarrow()) {
+            return calculate(board.getPackedState());
+        }
+        return calculate(board.getPackedLow(), board.getPackedHigh());
+    }
+
+    /**
+     * Calculates the heuristic of the given packed state
+     *
+     * @param state Packed state, see {@link board.PackedBoard}
+     * @return heuristic value
+     */
+    public abstract int calculate(long state);
+
+    /**
+     * Calculates the heuristic of a successor from the heuristic of its parent,
+     * the tile on the target cell of the parent is moved into the blank cell.
+     * Subclasses override this if only the moved tile has to be looked at,
+     * by default the successor is calculated from scratch.
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Heuristic value of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return heuristic value of the successor
+     */
+    public int update(long state, int hScore, int blank, int target) {
+        return calculate(PackedBoard.move(state, blank, target));
+    }
+
+    /**
+     * Calculates the heuristic of the given wide packed state of a board over 16 cells
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @return heuristic value
+     * @throws UnsupportedOperationException if the heuristic does not support boards over 16 cells
+     */
+    public int calculate(long low, long high) {
+        throw new UnsupportedOperationException(getName() + " does not support boards over " + PackedBoard.CELLS
+                + " cells");
+    }
+
+    /**
+     * Calculates the heuristic of a successor of a wide packed state from the heuristic of its parent,
+     * see {@link #update(long, int, int, int)}. By default the successor is calculated from scratch.
+     *
+     * @param low    Low long of the packed state of the parent
+     * @param high   High long of the packed state of the parent
+     * @param hScore Heuristic value of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return heuristic value of the successor
+     */
+    public int update(long low, long high, int hScore, int blank, int target) {
+        int tile = WidePackedBoard.tileAt(low, high, target);
+        return calculate(WidePackedBoard.moveLow(low, blank, target, tile),
+                WidePackedBoard.moveHigh(high, blank, target, tile));
+    }
+
+    /**
+     * Returns true if the heuristic estimates boards of the given dimensions,
+     * by default only 4 by 4 boards are supported
+     *
+     * @param dimensions Dimensions of the boards
+     * @return true if the heuristic supports the dimensions
+     */
+    public boolean supports(Dimensions dimensions) {
+        return dimensions == Dimensions.FOUR_BY_FOUR;
+    }
+
+    /**
+     * Calculates the maximum of the heuristic on the given packed state and on its mirror, see {@link Symmetry}.
+     * Subclasses override this if both can be calculated in one pass over the state,
+     * by default the state is mirrored and calculated twice.
+     *
+     * @param state Packed state
+     * @return heuristic value
+     */
+    public int calculateWithMirror(long state) {
+        return Math.max(calculate(state), calculate(Symmetry.mirror(state)));
+    }
+
+    /**
+     * Returns true if the heuristic has the same value for every state and its mirror,
+     * as heuristics treating rows and columns alike have. Mirroring such a heuristic gains nothing.
+     *
+     * @return true if the heuristic is symmetric
+     */
+    public boolean isSymmetric() {
+        return false;
+    }
+
+    /**
+     * Get a heuristic estimating the distance to the given target instead of the goal, used by searches
+     * running backwards from the goal. Targets with the blank tile on the last cell are renamed to the goal
+     * so this heuristic is used, for other targets the manhattan distance to the target is used.
+     *
+     * @param target Packed target state
+     * @return Heuristic estimating the distance to the target
+     */
+    public Heuristic towards(long target) {
+        if (target == PackedBoard.GOAL) {
+            return this;
+        }
+        if (PackedBoard.indexOf(target, 0) == PackedBoard.CELLS - 1) {
+            return new RelabeledHeuristic(this, target);
+        }
+        return new TargetManhattanDistance(target);
+    }
 
     public abstract String getName();
 }
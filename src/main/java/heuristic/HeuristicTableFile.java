@@ -0,0 +1,164 @@
+package heuristic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * Class for reading and writing precomputed heuristic tables.
+ * Tables are mapped read only into memory, so loading only costs page faults
+ * and several processes using the same file share the same physical pages.
+ * <p>
+ * File layout (big endian):
+ * <pre>
+ * int    magic "PZHT"
+ * int    format version
+ * int    key length, followed by the UTF-8 key identifying the table layout
+ * int    number of tables n
+ * long   n times the table length in bytes
+ * long   CRC32 checksum over all table bytes
+ * byte[] tables, each starting on a page boundary
+ * </pre>
+ */
+public abstract class HeuristicTableFile {
+    public static final int MAGIC = 0x505A4854;//"PZHT"
+    public static final int VERSION = 1;
+    private static final int PAGE_SIZE = 4096;
+
+    /**
+     * Writes the tables to the given file, the file is written to a temporary file first
+     * and then moved, so readers never see a partial file
+     *
+     * @param file   Target file
+     * @param key    Key identifying the table layout
+     * @param tables Tables to write
+     * @throws IOException being thrown when the file could not be written
+     */
+    public static void write(Path file, String key, ByteBuffer[] tables) throws IOException {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        for (ByteBuffer table : tables) {
+            crc.update(table.duplicate().clear());
+        }
+        ByteBuffer header = ByteBuffer.allocate(headerSize(keyBytes.length, tables.length));
+        header.putInt(MAGIC).putInt(VERSION).putInt(keyBytes.length).put(keyBytes).putInt(tables.length);
+        for (ByteBuffer table : tables) {
+            header.putLong(table.capacity());
+        }
+        header.putLong(crc.getValue());
+        header.clear();
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temp = directory.resolve(file.getFileName() + "." + ProcessHandle.current().pid() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(channel, header);
+            for (ByteBuffer table : tables) {
+                channel.position(align(channel.position()));
+                writeFully(channel, table.duplicate().clear());
+            }
+        } catch (IOException e) {
+            Files.deleteIfExists(temp);
+            throw e;
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Maps the tables of the given file after checking header, key and checksum
+     *
+     * @param file File with tables
+     * @param key  Expected key of the table layout
+     * @return Read only tables
+     * @throws IOException being thrown when the file could not be read or is not valid
+     */
+    public static ByteBuffer[] map(Path file, String key) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());//mapping stays valid after close
+        }
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a heuristic table file: " + file);
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported table version " + version + " in " + file);
+            }
+            int keyLength = buffer.getInt();
+            if (keyLength < 0 || keyLength > buffer.remaining()) {
+                throw new IOException("Table file " + file + " is corrupt");
+            }
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            String fileKey = new String(keyBytes, StandardCharsets.UTF_8);
+            if (!fileKey.equals(key)) {
+                throw new IOException("Table file " + file + " holds " + fileKey + " instead of " + key);
+            }
+            ByteBuffer[] tables = new ByteBuffer[buffer.getInt()];
+            long[] lengths = new long[tables.length];
+            for (int i = 0; i < tables.length; i++) {
+                lengths[i] = buffer.getLong();
+            }
+            long checksum = buffer.getLong();
+            CRC32 crc = new CRC32();
+            long position = buffer.position();
+            for (int i = 0; i < tables.length; i++) {
+                position = align(position);
+                if (position + lengths[i] > buffer.capacity()) {
+                    throw new IOException("Table file " + file + " is truncated");
+                }
+                tables[i] = buffer.slice(Math.toIntExact(position), Math.toIntExact(lengths[i])).asReadOnlyBuffer();
+                crc.update(tables[i].duplicate());
+                position += lengths[i];
+            }
+            if (crc.getValue() != checksum) {
+                throw new IOException("Checksum of table file " + file + " does not match");
+            }
+            return tables;
+        } catch (RuntimeException e) {
+            throw new IOException("Table file " + file + " is corrupt", e);
+        }
+    }
+
+    /**
+     * Get size of the header
+     *
+     * @param keyLength  Length of the key in bytes
+     * @param tableCount Number of tables
+     * @return Header size in bytes
+     */
+    private static int headerSize(int keyLength, int tableCount) {
+        return 4 * Integer.BYTES + keyLength + tableCount * Long.BYTES + Long.BYTES;
+    }
+
+    /**
+     * Rounds the position up to the next page boundary
+     *
+     * @param position File position
+     * @return Aligned position
+     */
+    private static long align(long position) {
+        return (position + PAGE_SIZE - 1) & -PAGE_SIZE;
+    }
+
+    /**
+     * Writes the whole buffer to the channel
+     *
+     * @param channel File channel
+     * @param buffer  Buffer to write
+     * @throws IOException being thrown when writing failed
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+}
@@ -1,82 +1,320 @@
 package heuristic;
 
-import board.Board;
+import board.Dimensions;
+import board.PackedBoard;
+import board.WidePackedBoard;
 
 /**
- * Class for the combined linear conflict manhattan distance heuristic
+ * Class for the combined linear conflict manhattan distance heuristic of boards with any dimensions,
+ * 4 by 4 boards by default. 4 by 4 boards keep the values of the array based version, every conflicting pair
+ * of a line counts 2. On other dimensions every tile which has to leave its line counts 2: the tiles of a line
+ * whose goal positions form its longest increasing subsequence stay, the others leave. Counting pairs would
+ * overestimate lines with three or more tiles in reverse order, which the longer lines of other dimensions often have.
  */
 public class LinearConflictWithMD extends Heuristic {
+    private final Dimensions dimensions;
+    private final int rows;
+    private final int columns;
+    private final boolean countPairs;//conflicting pairs of the array based version on 4 by 4 boards
+    private final ManhattanDistance manhattan;
+    //goal row and goal column of a tile, -1 for the blank tile so it is in no conflict
+    private final int[] goalRow;
+    private final int[] goalColumn;
+
+    /**
+     * Creates the linear conflict for 4 by 4 boards
+     */
+    public LinearConflictWithMD() {
+        this(Dimensions.FOUR_BY_FOUR);
+    }
+
+    /**
+     * Creates the linear conflict for boards of the given dimensions
+     *
+     * @param dimensions Dimensions of the boards
+     */
+    public LinearConflictWithMD(Dimensions dimensions) {
+        this.dimensions = dimensions;
+        this.rows = dimensions.getRows();
+        this.columns = dimensions.getColumns();
+        this.countPairs = dimensions == Dimensions.FOUR_BY_FOUR;
+        this.manhattan = new ManhattanDistance(dimensions);
+        this.goalRow = new int[dimensions.getCells()];
+        this.goalColumn = new int[dimensions.getCells()];
+        goalRow[0] = -1;
+        goalColumn[0] = -1;
+        for (int tile = 1; tile < dimensions.getCells(); tile++) {
+            goalRow[tile] = (tile - 1) / columns;
+            goalColumn[tile] = (tile - 1) % columns;
+        }
+    }
+
     /**
-     * Counts conflicts on rows and columns
+     * Counts conflicts on rows and columns, a tile takes part in a conflict
+     * of its line only if the line is also its goal row or goal column.
+     * Conflicts of the last column of 4 by 4 boards are not counted, as in the array based version
      *
-     * @param board          Board Object
-     * @param rowConflict    Row array with given misplaced tiles
-     * @param columnConflict Column array with given misplaced tiles
+     * @param state Packed state
      * @return Total conflicts
      */
-    private static int getConflicts(Board board, int[][] rowConflict, int[][] columnConflict) {
-        int rowConflicts = 0;
-        int columnConflicts = 0;
-        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
-            for (int j = 0; j < Board.BOARD_LENGTH - 1; j++) {
-                //get row conflicts
-                if (rowConflict[i][j] == i) {
-                    for (int k = j + 1; k < Board.BOARD_LENGTH; k++) {
-                        if (board.getState()[i][j] > board.getState()[i][k] && rowConflict[i][k] == i) {
-                            rowConflicts += 2;
-                        }
-                    }
+    private int getConflicts(long state) {
+        int conflicts = 0;
+        for (int i = 0; i < rows; i++) {
+            conflicts += getRowConflicts(state, i);
+        }
+        for (int i = 0; i < columns; i++) {
+            conflicts += getColumnConflicts(state, i);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Counts conflicts of the given row
+     *
+     * @param state Packed state
+     * @param row   Row index
+     * @return Conflicts of row
+     */
+    int getRowConflicts(long state, int row) {
+        if (!countPairs) {
+            int tiles = 0;
+            int kept = 0;
+            for (int j = 0; j < columns; j++) {
+                int tile = PackedBoard.tileAt(state, row * columns + j);
+                if (goalRow[tile] == row) {
+                    tiles++;
+                    kept = keep(kept, goalColumn[tile]);
                 }
-                //get column conflicts
-                if (columnConflict[i][j] == j) {
-                    for (int k = i + 1; k < Board.BOARD_LENGTH; k++) {
-                        if (board.getState()[i][j] > board.getState()[k][j] && columnConflict[k][j] == j) {
-                            columnConflicts += 2;
-                        }
-                    }
+            }
+            return 2 * (tiles - Integer.bitCount(kept));
+        }
+        int conflicts = 0;
+        for (int j = 0; j < columns - 1; j++) {
+            int tile = PackedBoard.tileAt(state, row * columns + j);
+            if (goalRow[tile] != row) {
+                continue;
+            }
+            for (int k = j + 1; k < columns; k++) {
+                int other = PackedBoard.tileAt(state, row * columns + k);
+                if (tile > other && goalRow[other] == row) {
+                    conflicts += 2;
                 }
             }
         }
-        return rowConflicts + columnConflicts;
+        return conflicts;
     }
 
     /**
-     * Calculates the combined linear conflict manhattan distance of the given board
+     * Counts conflicts of the given column, the last column of 4 by 4 boards has no counted conflicts
+     *
+     * @param state  Packed state
+     * @param column Column index
+     * @return Conflicts of column
+     */
+    int getColumnConflicts(long state, int column) {
+        if (!countPairs) {
+            int tiles = 0;
+            int kept = 0;
+            for (int j = 0; j < rows; j++) {
+                int tile = PackedBoard.tileAt(state, j * columns + column);
+                if (goalColumn[tile] == column) {
+                    tiles++;
+                    kept = keep(kept, goalRow[tile]);
+                }
+            }
+            return 2 * (tiles - Integer.bitCount(kept));
+        }
+        int conflicts = 0;
+        if (column == columns - 1) {
+            return conflicts;
+        }
+        for (int j = 0; j < rows - 1; j++) {
+            int tile = PackedBoard.tileAt(state, j * columns + column);
+            if (goalColumn[tile] != column) {
+                continue;
+            }
+            for (int k = j + 1; k < rows; k++) {
+                int other = PackedBoard.tileAt(state, k * columns + column);
+                if (tile > other && goalColumn[other] == column) {
+                    conflicts += 2;
+                }
+            }
+        }
+        return conflicts;
+    }
+
+    /**
+     * Counts conflicts on rows and columns of a wide packed state, see {@link #getConflicts(long)}
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @return Total conflicts
+     */
+    private int getConflicts(long low, long high) {
+        int conflicts = 0;
+        for (int i = 0; i < rows; i++) {
+            conflicts += getRowConflicts(low, high, i);
+        }
+        for (int i = 0; i < columns; i++) {
+            conflicts += getColumnConflicts(low, high, i);
+        }
+        return conflicts;
+    }
+
+    /**
+     * Counts conflicts of the given row of a wide packed state
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @param row  Row index
+     * @return Conflicts of row
+     */
+    int getRowConflicts(long low, long high, int row) {
+        int tiles = 0;
+        int kept = 0;
+        for (int j = 0; j < columns; j++) {
+            int tile = WidePackedBoard.tileAt(low, high, row * columns + j);
+            if (goalRow[tile] == row) {
+                tiles++;
+                kept = keep(kept, goalColumn[tile]);
+            }
+        }
+        return 2 * (tiles - Integer.bitCount(kept));
+    }
+
+    /**
+     * Counts conflicts of the given column of a wide packed state
+     *
+     * @param low    Low long of the packed state
+     * @param high   High long of the packed state
+     * @param column Column index
+     * @return Conflicts of column
+     */
+    int getColumnConflicts(long low, long high, int column) {
+        int tiles = 0;
+        int kept = 0;
+        for (int j = 0; j < rows; j++) {
+            int tile = WidePackedBoard.tileAt(low, high, j * columns + column);
+            if (goalColumn[tile] == column) {
+                tiles++;
+                kept = keep(kept, goalRow[tile]);
+            }
+        }
+        return 2 * (tiles - Integer.bitCount(kept));
+    }
+
+    /**
+     * Adds the goal position of the next tile of a line to the tails of its increasing subsequences (patience sorting),
+     * the position replaces the smallest greater tail. The number of tails is the length of the longest increasing
+     * subsequence of the goal positions so far.
+     *
+     * @param tails    Bit mask of the tails
+     * @param position Goal position of the tile in the line
+     * @return Bit mask of the tails
+     */
+    private static int keep(int tails, int position) {
+        int greater = tails & -(2 << position);
+        return tails ^ (greater & -greater) | 1 << position;
+    }
+
+    /**
+     * Calculates the combined linear conflict manhattan distance of the given packed state
      * Linear Conflict is when Two tiles ti and tj are in a linear conflict if ti
      * and tj are in the same line, the goal position of ti and tj are both in
      * that line, ti is to the right of tj, and the goal position of ti is
      * to the left of the goal position of tj.
      *
-     * @param board Board Object
+     * @param state Packed state
      * @return combined linear conflict manhattan distance count
      */
     @Override
-    public int calculate(Board board) {
-        //indicates a tile which is not in goal tile
-        int[][] rowConflict = new int[Board.BOARD_LENGTH][Board.BOARD_LENGTH];
-        int[][] columnConflict = new int[Board.BOARD_LENGTH][Board.BOARD_LENGTH];
-        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
-            for (int j = 0; j < Board.BOARD_LENGTH; j++) {
-                //set goal row and column of tile
-                if (board.getState()[i][j] != 0) {
-                    rowConflict[i][j] = (board.getState()[i][j] - 1) / Board.BOARD_LENGTH;
-                    columnConflict[i][j] = (board.getState()[i][j] - 1) % Board.BOARD_LENGTH;
-                } else {
-                    //indicates the blank tile with -1 to ensure blank tile is not counted as conflict
-                    rowConflict[i][j] = -1;
-                    columnConflict[i][j] = -1;
-                }
-            }
+    public int calculate(long state) {
+        return manhattan.calculate(state) + getConflicts(state);
+    }
+
+    /**
+     * Updates the combined linear conflict manhattan distance, a horizontal move only changes
+     * the conflicts of the two columns of the moved tile, a vertical move only the conflicts of its two rows
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Combined linear conflict manhattan distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return combined linear conflict manhattan distance of the successor
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        long successor = PackedBoard.move(state, blank, target);
+        int value = manhattan.update(state, hScore, blank, target);
+        if (blank / columns == target / columns) {
+            int from = target % columns;
+            int to = blank % columns;
+            value += getColumnConflicts(successor, from) + getColumnConflicts(successor, to)
+                    - getColumnConflicts(state, from) - getColumnConflicts(state, to);
+        } else {
+            int from = target / columns;
+            int to = blank / columns;
+            value += getRowConflicts(successor, from) + getRowConflicts(successor, to)
+                    - getRowConflicts(state, from) - getRowConflicts(state, to);
+        }
+        return value;
+    }
+
+    /**
+     * Calculates the combined linear conflict manhattan distance of a wide packed state
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @return combined linear conflict manhattan distance count
+     */
+    @Override
+    public int calculate(long low, long high) {
+        return manhattan.calculate(low, high) + getConflicts(low, high);
+    }
+
+    /**
+     * Updates the combined linear conflict manhattan distance of a wide packed state,
+     * see {@link #update(long, int, int, int)}
+     *
+     * @param low    Low long of the packed state of the parent
+     * @param high   High long of the packed state of the parent
+     * @param hScore Combined linear conflict manhattan distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return combined linear conflict manhattan distance of the successor
+     */
+    @Override
+    public int update(long low, long high, int hScore, int blank, int target) {
+        int tile = WidePackedBoard.tileAt(low, high, target);
+        long successorLow = WidePackedBoard.moveLow(low, blank, target, tile);
+        long successorHigh = WidePackedBoard.moveHigh(high, blank, target, tile);
+        int value = manhattan.update(low, high, hScore, blank, target);
+        if (blank / columns == target / columns) {
+            int from = target % columns;
+            int to = blank % columns;
+            value += getColumnConflicts(successorLow, successorHigh, from)
+                    + getColumnConflicts(successorLow, successorHigh, to)
+                    - getColumnConflicts(low, high, from) - getColumnConflicts(low, high, to);
+        } else {
+            int from = target / columns;
+            int to = blank / columns;
+            value += getRowConflicts(successorLow, successorHigh, from) + getRowConflicts(successorLow, successorHigh, to)
+                    - getRowConflicts(low, high, from) - getRowConflicts(low, high, to);
         }
-        Heuristic manhattan = new ManhattanDistance();
-//            System.out.println(Arrays.deepToString(rowConflict));
-//            System.out.println(Arrays.deepToString(columnConflict));
-        return manhattan.calculate(board) + getConflicts(board, rowConflict, columnConflict);
+        return value;
+    }
+
+    @Override
+    public boolean supports(Dimensions dimensions) {
+        return this.dimensions.equals(dimensions);
+    }
+
+    public Dimensions getDimensions() {
+        return dimensions;
     }
 
     @Override
     public String getName() {
-        return "Linear Conflict";
+        return dimensions == Dimensions.FOUR_BY_FOUR ? "Linear Conflict" : "Linear Conflict (" + dimensions + ")";
     }
 }
-
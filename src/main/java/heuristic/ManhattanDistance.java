@@ -1,37 +1,134 @@
 package heuristic;
 
-import board.Board;
+import board.Dimensions;
+import board.PackedBoard;
+import board.WidePackedBoard;
 
 /**
- * Class for the manhattan distance heuristic
+ * Class for the manhattan distance heuristic of boards with any dimensions, 4 by 4 boards by default
  */
 public class ManhattanDistance extends Heuristic {
+    private final Dimensions dimensions;
+    private final int cells;
+    //distance of tile (first index) on cell (second index) to its goal cell
+    private final int[][] distance;
+
+    /**
+     * Creates the manhattan distance for 4 by 4 boards
+     */
+    public ManhattanDistance() {
+        this(Dimensions.FOUR_BY_FOUR);
+    }
+
+    /**
+     * Creates the manhattan distance for boards of the given dimensions
+     *
+     * @param dimensions Dimensions of the boards
+     */
+    public ManhattanDistance(Dimensions dimensions) {
+        this.dimensions = dimensions;
+        this.cells = dimensions.getCells();
+        int columns = dimensions.getColumns();
+        this.distance = new int[cells][cells];
+        for (int tile = 1; tile < cells; tile++) {
+            for (int cell = 0; cell < cells; cell++) {
+                distance[tile][cell] = Math.abs(cell / columns - (tile - 1) / columns)
+                        + Math.abs(cell % columns - (tile - 1) % columns);
+            }
+        }
+    }
+
     /**
-     * Calculates the manhattan distance of the given board
+     * Get manhattan distance of a single tile to its goal cell
+     *
+     * @param tile Tile number, blank tile has distance 0
+     * @param cell Cell index (row * columns + column)
+     * @return manhattan distance of the tile
+     */
+    int distance(int tile, int cell) {
+        return distance[tile][cell];
+    }
+
+    /**
+     * Calculates the manhattan distance of the given packed state
      * Manhattan distance is the sum of moves which a tile at least needs to reach their goal position
      *
-     * @param board Board Object
+     * @param state Packed state
      * @return manhattan distance count
      */
     @Override
-    public int calculate(Board board) {
+    public int calculate(long state) {
         int mdCount = 0;
-        int goalPosition = 0;
-        for (int i = 0; i < Board.BOARD_LENGTH; i++) {
-            for (int j = 0; j < Board.BOARD_LENGTH; j++) {
-                int number = board.getState()[i][j];
-                goalPosition++;
-                if (number != 0 && number != goalPosition) {
-                    mdCount = mdCount + Math.abs(i - ((number - 1) / Board.BOARD_LENGTH))
-                            + Math.abs(j - ((number - 1) % Board.BOARD_LENGTH));
-                }
-            }
+        for (int cell = 0; cell < cells; cell++) {
+            mdCount += distance[(int) (state & 0xF)][cell];
+            state >>>= 4;
+        }
+        return mdCount;
+    }
+
+    /**
+     * Updates the manhattan distance by the distance change of the moved tile
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Manhattan distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return manhattan distance of the successor
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        int tile = PackedBoard.tileAt(state, target);
+        return hScore - distance[tile][target] + distance[tile][blank];
+    }
+
+    /**
+     * Calculates the manhattan distance of a wide packed state
+     *
+     * @param low  Low long of the packed state
+     * @param high High long of the packed state
+     * @return manhattan distance count
+     */
+    @Override
+    public int calculate(long low, long high) {
+        int mdCount = 0;
+        for (int cell = 0; cell < cells; cell++) {
+            mdCount += distance[WidePackedBoard.tileAt(low, high, cell)][cell];
         }
         return mdCount;
     }
 
+    /**
+     * Updates the manhattan distance of a wide packed state by the distance change of the moved tile
+     *
+     * @param low    Low long of the packed state of the parent
+     * @param high   High long of the packed state of the parent
+     * @param hScore Manhattan distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return manhattan distance of the successor
+     */
+    @Override
+    public int update(long low, long high, int hScore, int blank, int target) {
+        int tile = WidePackedBoard.tileAt(low, high, target);
+        return hScore - distance[tile][target] + distance[tile][blank];
+    }
+
+    @Override
+    public boolean supports(Dimensions dimensions) {
+        return this.dimensions.equals(dimensions);
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    public Dimensions getDimensions() {
+        return dimensions;
+    }
+
     @Override
     public String getName() {
-        return "Manhattan Distance";
+        return dimensions == Dimensions.FOUR_BY_FOUR ? "Manhattan Distance" : "Manhattan Distance (" + dimensions + ")";
     }
 }
@@ -0,0 +1,80 @@
+package heuristic;
+
+import board.PackedBoard;
+
+/**
+ * Class for taking the maximum of a heuristic on a state and on its mirror.
+ * Both values are admissible since a state and its mirror have the same optimal distance.
+ * Heuristics treating rows and columns alike (Manhattan, Hamming, Walking Distance) return
+ * the same value for both, they are evaluated once and keep their incremental update.
+ * The maximum pays off for asymmetric heuristics like pattern databases with asymmetric partitions
+ * and Linear Conflict, which does not count the last column. Their successors are calculated from scratch
+ * on the state and its mirror, which pattern databases do in one pass with twice the table lookups.
+ */
+public class MirroredHeuristic extends Heuristic {
+    private final Heuristic heuristic;
+    private final boolean symmetric;
+
+    /**
+     * Creates a mirrored heuristic
+     *
+     * @param heuristic Heuristic evaluated on the state and on its mirror
+     */
+    public MirroredHeuristic(Heuristic heuristic) {
+        this.heuristic = heuristic;
+        this.symmetric = heuristic.isSymmetric();
+    }
+
+    /**
+     * Calculates the maximum of the heuristic on the given state and on its mirror
+     *
+     * @param state Packed state
+     * @return heuristic value
+     */
+    @Override
+    public int calculate(long state) {
+        return symmetric ? heuristic.calculate(state) : heuristic.calculateWithMirror(state);
+    }
+
+    /**
+     * Updates the maximum, a symmetric heuristic is updated incrementally,
+     * otherwise the successor and its mirror are calculated
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Heuristic value of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return heuristic value of the successor
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        if (symmetric) {
+            return heuristic.update(state, hScore, blank, target);
+        }
+        return heuristic.calculateWithMirror(PackedBoard.move(state, blank, target));
+    }
+
+    @Override
+    public int calculateWithMirror(long state) {
+        return calculate(state);
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    /**
+     * Get heuristic evaluated on the state and on its mirror
+     *
+     * @return Type of heuristic
+     */
+    public Heuristic getHeuristic() {
+        return heuristic;
+    }
+
+    @Override
+    public String getName() {
+        return heuristic.getName() + " (mirrored)";
+    }
+}
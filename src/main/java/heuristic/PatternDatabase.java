@@ -0,0 +1,350 @@
+package heuristic;
+
+import board.PackedBoard;
+import board.Symmetry;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Class for the additive disjoint pattern database heuristic.
+ * The tiles are split into disjoint groups, for every group a table stores the minimal number of moves
+ * of the group tiles needed to bring them to their goal cells. Moves of other tiles are not counted,
+ * so the values of all groups can be added and the sum is still admissible.
+ */
+public class PatternDatabase extends TableHeuristic {
+    /**
+     * Default 5-5-5 partition, builds in a few seconds
+     */
+    public static final int[][] PARTITION_5_5_5 = {{1, 2, 3, 4, 7}, {5, 6, 9, 10, 13}, {8, 11, 12, 14, 15}};
+    /**
+     * Stronger 6-6-3 partition, building takes about half a minute and 1 GB heap
+     */
+    public static final int[][] PARTITION_6_6_3 = {{1, 5, 6, 9, 10, 13}, {7, 8, 11, 12, 14, 15}, {2, 3, 4}};
+    private static final int MAX_GROUP_SIZE = 6;
+    private static final int UNSET = 0xFF;
+    private static final Map<String, ByteBuffer[]> TABLES = new ConcurrentHashMap<>();//tables shared between instances
+    private final int[][] partition;
+    private final ByteBuffer[] tables;
+    private final int[] tileOffset = new int[PackedBoard.CELLS];//bit offset of the tile cell in the combined index
+    private final int[] groupShift;
+    private final int[] groupMask;
+
+    /**
+     * Creates a pattern database with the default 5-5-5 partition
+     */
+    public PatternDatabase() {
+        this(PARTITION_5_5_5);
+    }
+
+    /**
+     * Creates a pattern database for the given partition, tables are built once per partition
+     *
+     * @param partition Disjoint groups of tiles covering all tiles 1-15, at most 6 tiles per group
+     */
+    public PatternDatabase(int[][] partition) {
+        this(partition, null);
+    }
+
+    /**
+     * Creates a pattern database for the given partition with the given tables
+     *
+     * @param partition Disjoint groups of tiles covering all tiles 1-15, at most 6 tiles per group
+     * @param tables    Tables of the groups or null to build or reuse them
+     */
+    private PatternDatabase(int[][] partition, ByteBuffer[] tables) {
+        checkPartition(partition);
+        this.partition = Arrays.stream(partition).map(int[]::clone).toArray(int[][]::new);
+        this.groupShift = new int[partition.length];
+        this.groupMask = new int[partition.length];
+        int shift = 0;
+        for (int g = 0; g < partition.length; g++) {
+            groupShift[g] = shift;
+            groupMask[g] = (1 << (partition[g].length << 2)) - 1;
+            for (int j = 0; j < partition[g].length; j++) {
+                tileOffset[partition[g][j]] = shift + (j << 2);
+            }
+            shift += partition[g].length << 2;
+        }
+        if (tables == null) {
+            this.tables = TABLES.computeIfAbsent(getTableKey(), key -> buildTables(this.partition));
+        } else {
+            for (int g = 0; g < partition.length; g++) {
+                if (tables[g].capacity() != groupMask[g] + 1) {
+                    throw new IllegalArgumentException("Table size does not match group " + Arrays.toString(partition[g]));
+                }
+            }
+            this.tables = tables;
+            TABLES.putIfAbsent(getTableKey(), tables);
+        }
+    }
+
+    /**
+     * Loads a pattern database from a table file, the tables are mapped and not copied
+     *
+     * @param file      Table file written by {@link #save(Path)}
+     * @param partition Partition the file was built for
+     * @return Pattern database
+     * @throws IOException being thrown when the file could not be read or does not match the partition
+     */
+    public static PatternDatabase load(Path file, int[][] partition) throws IOException {
+        checkPartition(partition);
+        ByteBuffer[] tables = HeuristicTableFile.map(file, tableKey(partition));
+        if (tables.length != partition.length) {
+            throw new IOException("Table file " + file + " has " + tables.length + " tables");
+        }
+        return new PatternDatabase(partition, tables);
+    }
+
+    /**
+     * Loads a pattern database from a table file, if the file is missing or not valid
+     * the tables are built and written to the file
+     *
+     * @param file      Table file
+     * @param partition Disjoint groups of tiles covering all tiles 1-15, at most 6 tiles per group
+     * @return Pattern database
+     * @throws IOException being thrown when the built tables could not be written
+     */
+    public static PatternDatabase loadOrBuild(Path file, int[][] partition) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return load(file, partition);
+            } catch (IOException e) {
+                System.out.println("Rebuilding pattern database: " + e.getMessage());
+            }
+        }
+        PatternDatabase patternDatabase = new PatternDatabase(partition);
+        patternDatabase.save(file);
+        return patternDatabase;
+    }
+
+    /**
+     * Get table key of the given partition
+     *
+     * @param partition Groups of tiles
+     * @return Table key
+     */
+    private static String tableKey(int[][] partition) {
+        return "PatternDatabase" + Arrays.deepToString(partition);
+    }
+
+    /**
+     * Checks if the partition covers every tile exactly once
+     *
+     * @param partition Groups of tiles
+     */
+    private static void checkPartition(int[][] partition) {
+        boolean[] seen = new boolean[PackedBoard.CELLS];
+        int count = 0;
+        for (int[] group : partition) {
+            if (group.length == 0 || group.length > MAX_GROUP_SIZE) {
+                throw new IllegalArgumentException("Group size must be between 1 and " + MAX_GROUP_SIZE);
+            }
+            for (int tile : group) {
+                if (tile < 1 || tile >= PackedBoard.CELLS || seen[tile]) {
+                    throw new IllegalArgumentException("Partition must contain every tile 1-15 exactly once");
+                }
+                seen[tile] = true;
+                count++;
+            }
+        }
+        if (count != PackedBoard.CELLS - 1) {
+            throw new IllegalArgumentException("Partition must contain every tile 1-15 exactly once");
+        }
+    }
+
+    /**
+     * Builds the tables of all groups
+     *
+     * @param partition Groups of tiles
+     * @return One table per group
+     */
+    private static ByteBuffer[] buildTables(int[][] partition) {
+        ByteBuffer[] tables = new ByteBuffer[partition.length];
+        for (int g = 0; g < partition.length; g++) {
+            tables[g] = ByteBuffer.wrap(buildTable(partition[g])).asReadOnlyBuffer();
+        }
+        return tables;
+    }
+
+    /**
+     * Builds the table of one group with a backward breadth-first search from the goal board.
+     * A search state holds the cells of the group tiles (4 bits per tile) and the cell of the blank tile.
+     * Moving a group tile costs 1, moving any other tile costs 0, so each layer is first closed
+     * over all cost 0 moves before the next layer is started.
+     *
+     * @param group Tiles of the group
+     * @return Table indexed by the cells of the group tiles (tile j on bits 4j to 4j + 3)
+     */
+    static byte[] buildTable(int[] group) {
+        int patternBits = group.length << 2;
+        int patternMask = (1 << patternBits) - 1;
+        byte[] table = new byte[1 << patternBits];
+        Arrays.fill(table, (byte) UNSET);
+        long[] visited = new long[(1 << (patternBits + 4)) >>> 6];
+        int start = (PackedBoard.CELLS - 1) << patternBits;//blank on last cell
+        for (int j = 0; j < group.length; j++) {
+            start |= (group[j] - 1) << (j << 2);
+        }
+        IntList current = new IntList();
+        IntList next = new IntList();
+        next.add(start);
+        for (int depth = 0; next.size > 0; depth++) {
+            IntList swap = current;
+            current = next;
+            next = swap;
+            next.size = 0;
+            for (int i = 0; i < current.size; i++) {
+                int state = current.values[i];
+                if ((visited[state >>> 6] & (1L << state)) != 0) {
+                    continue;
+                }
+                visited[state >>> 6] |= 1L << state;
+                int pattern = state & patternMask;
+                if ((table[pattern] & 0xFF) == UNSET) {
+                    table[pattern] = (byte) depth;
+                }
+                int blank = state >>> patternBits;
+                int row = blank >>> 2;
+                int column = blank & 3;
+                for (int move = 0; move < 4; move++) {
+                    int target;
+                    if (move == 0 && column < 3) {
+                        target = blank + 1;
+                    } else if (move == 1 && column > 0) {
+                        target = blank - 1;
+                    } else if (move == 2 && row > 0) {
+                        target = blank - 4;
+                    } else if (move == 3 && row < 3) {
+                        target = blank + 4;
+                    } else {
+                        continue;
+                    }
+                    int slot = slotOf(pattern, group.length, target);
+                    int successor;
+                    if (slot < 0) {
+                        successor = pattern | (target << patternBits);
+                    } else {
+                        successor = (pattern & ~(0xF << (slot << 2))) | (blank << (slot << 2)) | (target << patternBits);
+                    }
+                    if ((visited[successor >>> 6] & (1L << successor)) == 0) {
+                        (slot < 0 ? current : next).add(successor);
+                    }
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Get slot of the group tile on the given cell
+     *
+     * @param pattern Cells of the group tiles
+     * @param size    Number of group tiles
+     * @param cell    Cell index
+     * @return Slot of the group tile or -1 if the cell holds no group tile
+     */
+    private static int slotOf(int pattern, int size, int cell) {
+        for (int j = 0; j < size; j++) {
+            if (((pattern >>> (j << 2)) & 0xF) == cell) {
+                return j;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Calculates the sum of the group table values of the given packed state
+     *
+     * @param state Packed state
+     * @return additive pattern database value
+     */
+    @Override
+    public int calculate(long state) {
+        long index = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            int tile = (int) (state & 0xF);
+            if (tile != 0) {
+                index |= (long) cell << tileOffset[tile];
+            }
+            state >>>= 4;
+        }
+        int value = 0;
+        for (int g = 0; g < tables.length; g++) {
+            value += tables[g].get((int) (index >>> groupShift[g]) & groupMask[g]);
+        }
+        return value;
+    }
+
+    /**
+     * Calculates the maximum of the group table values of the given packed state and of its mirror,
+     * the index of the mirror is built in the same pass from the transposed cells and relabeled tiles
+     *
+     * @param state Packed state
+     * @return additive pattern database value
+     */
+    @Override
+    public int calculateWithMirror(long state) {
+        long index = 0L;
+        long mirroredIndex = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            int tile = (int) (state & 0xF);
+            if (tile != 0) {
+                index |= (long) cell << tileOffset[tile];
+                mirroredIndex |= (long) Symmetry.transpose(cell) << tileOffset[Symmetry.relabel(tile)];
+            }
+            state >>>= 4;
+        }
+        int value = 0;
+        int mirroredValue = 0;
+        for (int g = 0; g < tables.length; g++) {
+            value += tables[g].get((int) (index >>> groupShift[g]) & groupMask[g]);
+            mirroredValue += tables[g].get((int) (mirroredIndex >>> groupShift[g]) & groupMask[g]);
+        }
+        return Math.max(value, mirroredValue);
+    }
+
+    /**
+     * Get partition of the tiles
+     *
+     * @return Copy of the groups of tiles
+     */
+    public int[][] getPartition() {
+        return Arrays.stream(partition).map(int[]::clone).toArray(int[][]::new);
+    }
+
+    @Override
+    public String getTableKey() {
+        return tableKey(partition);
+    }
+
+    @Override
+    protected ByteBuffer[] getTables() {
+        return tables;
+    }
+
+    @Override
+    public String getName() {
+        return "Pattern Database";
+    }
+
+    /**
+     * Growable list of primitive ints used as breadth-first search layer
+     */
+    private static class IntList {
+        private int[] values = new int[1024];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+    }
+}
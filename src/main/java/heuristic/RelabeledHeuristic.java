@@ -0,0 +1,74 @@
+package heuristic;
+
+import board.PackedBoard;
+
+/**
+ * Class for estimating the distance to a target state which has the blank tile on the last cell like the goal.
+ * The tiles are renamed so that the target becomes the goal, renaming does not change which moves are possible,
+ * so the heuristic of the renamed state is an estimate of the same quality for the distance to the target.
+ */
+public class RelabeledHeuristic extends Heuristic {
+    private final Heuristic heuristic;
+    private final long[] labels = new long[PackedBoard.CELLS];//new label of a tile, shifted by 4 bits per cell later
+
+    /**
+     * Creates a relabeled heuristic
+     *
+     * @param heuristic Heuristic evaluated on the renamed states
+     * @param target    Packed target state with the blank tile on the last cell
+     */
+    public RelabeledHeuristic(Heuristic heuristic, long target) {
+        if (PackedBoard.indexOf(target, 0) != PackedBoard.CELLS - 1) {
+            throw new IllegalArgumentException("Blank tile of the target must be on the last cell");
+        }
+        this.heuristic = heuristic;
+        for (int cell = 0; cell < PackedBoard.CELLS - 1; cell++) {
+            labels[PackedBoard.tileAt(target, cell)] = PackedBoard.tileAt(PackedBoard.GOAL, cell);
+        }
+    }
+
+    /**
+     * Renames the tiles of a state, the tile on a cell of the target gets the goal tile of that cell
+     *
+     * @param state Packed state
+     * @return Packed renamed state
+     */
+    long relabel(long state) {
+        long relabeled = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            relabeled |= labels[(int) (state & 0xF)] << (cell << 2);
+            state >>>= 4;
+        }
+        return relabeled;
+    }
+
+    /**
+     * Calculates the heuristic of the renamed state
+     *
+     * @param state Packed state
+     * @return estimated distance to the target
+     */
+    @Override
+    public int calculate(long state) {
+        return heuristic.calculate(relabel(state));
+    }
+
+    /**
+     * Updates the heuristic of the renamed state, renaming keeps the cells so the update of the heuristic is used
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Estimated distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return estimated distance of the successor to the target
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        return heuristic.update(relabel(state), hScore, blank, target);
+    }
+
+    @Override
+    public String getName() {
+        return heuristic.getName() + " (relabeled)";
+    }
+}
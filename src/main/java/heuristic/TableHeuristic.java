@@ -0,0 +1,34 @@
+package heuristic;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Superclass for heuristics backed by precomputed tables which can be persisted with {@link HeuristicTableFile}
+ */
+public abstract class TableHeuristic extends Heuristic {
+    /**
+     * Get key identifying the layout of the tables, a file is only loaded if its key matches
+     *
+     * @return Table key
+     */
+    public abstract String getTableKey();
+
+    /**
+     * Get precomputed tables
+     *
+     * @return Read only tables
+     */
+    protected abstract ByteBuffer[] getTables();
+
+    /**
+     * Writes the tables to the given file
+     *
+     * @param file Target file
+     * @throws IOException being thrown when the file could not be written
+     */
+    public void save(Path file) throws IOException {
+        HeuristicTableFile.write(file, getTableKey(), getTables());
+    }
+}
@@ -0,0 +1,67 @@
+package heuristic;
+
+import board.Board;
+import board.PackedBoard;
+
+/**
+ * Class for the manhattan distance to any target state, used when the blank tile of the target
+ * is not on the last cell and the tiles can not be renamed
+ */
+public class TargetManhattanDistance extends Heuristic {
+    //distance of tile (first index) on cell (second index) to its target cell
+    private final int[][] distance = new int[PackedBoard.CELLS][PackedBoard.CELLS];
+
+    /**
+     * Creates a manhattan distance to the given target
+     *
+     * @param target Packed target state
+     */
+    public TargetManhattanDistance(long target) {
+        for (int targetCell = 0; targetCell < PackedBoard.CELLS; targetCell++) {
+            int tile = PackedBoard.tileAt(target, targetCell);
+            if (tile == 0) {
+                continue;
+            }
+            for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+                distance[tile][cell] = Math.abs(cell / Board.BOARD_LENGTH - targetCell / Board.BOARD_LENGTH)
+                        + Math.abs(cell % Board.BOARD_LENGTH - targetCell % Board.BOARD_LENGTH);
+            }
+        }
+    }
+
+    /**
+     * Calculates the manhattan distance of the given packed state to the target
+     *
+     * @param state Packed state
+     * @return manhattan distance count
+     */
+    @Override
+    public int calculate(long state) {
+        int mdCount = 0;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            mdCount += distance[(int) (state & 0xF)][cell];
+            state >>>= 4;
+        }
+        return mdCount;
+    }
+
+    /**
+     * Updates the manhattan distance by the distance change of the moved tile
+     *
+     * @param state  Packed state of the parent
+     * @param hScore Manhattan distance of the parent
+     * @param blank  Cell index of the blank tile of the parent
+     * @param target Cell index of the tile which is moved into the blank cell
+     * @return manhattan distance of the successor
+     */
+    @Override
+    public int update(long state, int hScore, int blank, int target) {
+        int tile = PackedBoard.tileAt(state, target);
+        return hScore - distance[tile][target] + distance[tile][blank];
+    }
+
+    @Override
+    public String getName() {
+        return "Manhattan Distance (to target)";
+    }
+}
@@ -0,0 +1,252 @@
+package heuristic;
+
+import board.Board;
+import board.PackedBoard;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Class for the walking distance heuristic.
+ * For the vertical walking distance only the goal rows of the tiles in every row and the row of the blank tile
+ * are looked at, a move swaps the blank tile with any tile of a neighbouring row. The minimal number of such moves
+ * to reach the goal configuration is precomputed with a breadth-first search over all configurations.
+ * The horizontal walking distance uses the goal columns of the tiles in every column, by symmetry of the goal board
+ * the same table is used. Both distances only count moves along their axis, so their sum is admissible.
+ * <p>
+ * A configuration is stored as key: the number of tiles of row r with goal row g on the bits 3 * (4r + g)
+ * and the row of the blank tile on the bits 48 and 49. The key of a state is the sum of per cell keys,
+ * so it is computed with one table lookup per cell. Successors are calculated the same way, a move changes
+ * the configuration of one axis but its key still needs all cells, so there is no cheaper update.
+ * <p>
+ * On the puzzle files walking distance is about as informed as {@link LinearConflictWithMD}, not stronger,
+ * it expands more boards but every board is cheaper.
+ */
+public class WalkingDistance extends TableHeuristic {
+    private static final String TABLE_KEY = "WalkingDistance";
+    private static final int BLANK_SHIFT = 48;
+    private static final long EMPTY = 0L;//every configuration holds 15 tiles, so no key is 0
+    private static final long[] ROW_KEY = new long[PackedBoard.CELLS * PackedBoard.CELLS];//index cell * 16 + tile
+    private static final long[] COLUMN_KEY = new long[PackedBoard.CELLS * PackedBoard.CELLS];
+    private static ByteBuffer[] builtTables;//tables shared between instances, built on first use
+    private final ByteBuffer[] tables;
+    private final long[] keys;
+    private final byte[] distances;
+    private final int mask;
+
+    static {
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            int row = cell / Board.BOARD_LENGTH;
+            int column = cell % Board.BOARD_LENGTH;
+            ROW_KEY[cell << 4] = (long) row << BLANK_SHIFT;
+            COLUMN_KEY[cell << 4] = (long) column << BLANK_SHIFT;
+            for (int tile = 1; tile < PackedBoard.CELLS; tile++) {
+                int goalRow = (tile - 1) / Board.BOARD_LENGTH;
+                int goalColumn = (tile - 1) % Board.BOARD_LENGTH;
+                ROW_KEY[cell << 4 | tile] = 1L << (3 * (row * Board.BOARD_LENGTH + goalRow));
+                COLUMN_KEY[cell << 4 | tile] = 1L << (3 * (column * Board.BOARD_LENGTH + goalColumn));
+            }
+        }
+    }
+
+    /**
+     * Creates a walking distance heuristic, the tables are built once on first use
+     */
+    public WalkingDistance() {
+        this(getBuiltTables());
+    }
+
+    /**
+     * Creates a walking distance heuristic with the given tables
+     *
+     * @param tables Configuration keys (8 bytes each) and their distances (1 byte each)
+     */
+    private WalkingDistance(ByteBuffer[] tables) {
+        this.tables = tables;
+        int size = tables[1].capacity();
+        int capacity = Integer.highestOneBit(size) << 2;//load factor below 0.5
+        this.keys = new long[capacity];
+        this.distances = new byte[capacity];
+        this.mask = capacity - 1;
+        for (int i = 0; i < size; i++) {
+            long key = tables[0].getLong(i * Long.BYTES);
+            int slot = PackedBoard.hash(key) & mask;
+            while (keys[slot] != EMPTY) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = key;
+            distances[slot] = tables[1].get(i);
+        }
+    }
+
+    /**
+     * Loads a walking distance heuristic from a table file, the tables are mapped and not copied
+     *
+     * @param file Table file written by {@link #save(Path)}
+     * @return Walking distance heuristic
+     * @throws IOException being thrown when the file could not be read or does not hold walking distance tables
+     */
+    public static WalkingDistance load(Path file) throws IOException {
+        ByteBuffer[] tables = HeuristicTableFile.map(file, TABLE_KEY);
+        if (tables.length != 2 || tables[0].capacity() != (long) tables[1].capacity() * Long.BYTES) {
+            throw new IOException("Table file " + file + " does not hold walking distance tables");
+        }
+        return new WalkingDistance(tables);
+    }
+
+    /**
+     * Loads a walking distance heuristic from a table file, if the file is missing or not valid
+     * the tables are built and written to the file
+     *
+     * @param file Table file
+     * @return Walking distance heuristic
+     * @throws IOException being thrown when the built tables could not be written
+     */
+    public static WalkingDistance loadOrBuild(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try {
+                return load(file);
+            } catch (IOException e) {
+                System.out.println("Rebuilding walking distance: " + e.getMessage());
+            }
+        }
+        WalkingDistance walkingDistance = new WalkingDistance();
+        walkingDistance.save(file);
+        return walkingDistance;
+    }
+
+    /**
+     * Get the shared tables, builds them on first use
+     *
+     * @return Configuration keys and distances
+     */
+    private static synchronized ByteBuffer[] getBuiltTables() {
+        if (builtTables == null) {
+            builtTables = buildTables();
+        }
+        return builtTables;
+    }
+
+    /**
+     * Builds the tables with a breadth-first search from the goal configuration
+     *
+     * @return Configuration keys in search order and their distances
+     */
+    static ByteBuffer[] buildTables() {
+        long goal = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            goal += ROW_KEY[cell << 4 | PackedBoard.tileAt(PackedBoard.GOAL, cell)];
+        }
+        long[] queue = new long[1024];
+        byte[] depths = new byte[queue.length];
+        long[] seen = new long[1 << 16];
+        int seenMask = seen.length - 1;
+        int size = 0;
+        queue[size++] = goal;
+        seen[PackedBoard.hash(goal) & seenMask] = goal;
+        for (int head = 0; head < size; head++) {
+            long key = queue[head];
+            int blankRow = (int) (key >>> BLANK_SHIFT);
+            for (int row = blankRow - 1; row <= blankRow + 1; row += 2) {
+                if (row < 0 || row >= Board.BOARD_LENGTH) {
+                    continue;
+                }
+                for (int goalRow = 0; goalRow < Board.BOARD_LENGTH; goalRow++) {
+                    int from = 3 * (row * Board.BOARD_LENGTH + goalRow);
+                    if (((key >>> from) & 7) == 0) {
+                        continue;
+                    }
+                    //tile of the neighbouring row moves into the blank row, the blank tile moves to its row
+                    long successor = key - (1L << from) + (1L << (3 * (blankRow * Board.BOARD_LENGTH + goalRow)))
+                            + ((long) (row - blankRow) << BLANK_SHIFT);
+                    int slot = PackedBoard.hash(successor) & seenMask;
+                    while (seen[slot] != EMPTY && seen[slot] != successor) {
+                        slot = (slot + 1) & seenMask;
+                    }
+                    if (seen[slot] == EMPTY) {
+                        seen[slot] = successor;
+                        if (size == queue.length) {
+                            queue = Arrays.copyOf(queue, size << 1);
+                            depths = Arrays.copyOf(depths, size << 1);
+                        }
+                        queue[size] = successor;
+                        depths[size++] = (byte) (depths[head] + 1);
+                    }
+                }
+            }
+        }
+        ByteBuffer keyTable = ByteBuffer.allocate(size * Long.BYTES);
+        for (int i = 0; i < size; i++) {
+            keyTable.putLong(i * Long.BYTES, queue[i]);
+        }
+        return new ByteBuffer[]{keyTable.asReadOnlyBuffer(), ByteBuffer.wrap(Arrays.copyOf(depths, size)).asReadOnlyBuffer()};
+    }
+
+    /**
+     * Calculates the sum of vertical and horizontal walking distance of the given packed state
+     *
+     * @param state Packed state
+     * @return walking distance
+     */
+    @Override
+    public int calculate(long state) {
+        long rowKey = 0L;
+        long columnKey = 0L;
+        for (int cell = 0; cell < PackedBoard.CELLS; cell++) {
+            int index = cell << 4 | (int) (state & 0xF);
+            rowKey += ROW_KEY[index];
+            columnKey += COLUMN_KEY[index];
+            state >>>= 4;
+        }
+        return distance(rowKey) + distance(columnKey);
+    }
+
+    /**
+     * Get distance of a configuration
+     *
+     * @param key Configuration key
+     * @return Walking distance along one axis
+     */
+    private int distance(long key) {
+        int slot = PackedBoard.hash(key) & mask;
+        while (keys[slot] != key) {
+            if (keys[slot] == EMPTY) {
+                throw new IllegalArgumentException("State is not a valid 15-puzzle state");
+            }
+            slot = (slot + 1) & mask;
+        }
+        return distances[slot];
+    }
+
+    /**
+     * Get number of configurations of one axis
+     *
+     * @return Number of configurations
+     */
+    public int getConfigurationCount() {
+        return tables[1].capacity();
+    }
+
+    @Override
+    public String getTableKey() {
+        return TABLE_KEY;
+    }
+
+    @Override
+    protected ByteBuffer[] getTables() {
+        return tables;
+    }
+
+    @Override
+    public boolean isSymmetric() {
+        return true;
+    }
+
+    @Override
+    public String getName() {
+        return "Walking Distance";
+    }
+}
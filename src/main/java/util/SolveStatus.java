@@ -0,0 +1,10 @@
+package util;
+
+/**
+ * Enum class for the outcome of a solve (SOLVED = solution found, DEADLINE = time limit reached,
+ * NODE_LIMIT = maximum number of expanded boards reached, MEMORY_LIMIT = maximum bytes of the search structures reached,
+ * CANCELLED = cancellation token was cancelled)
+ */
+public enum SolveStatus {
+    SOLVED, DEADLINE, NODE_LIMIT, MEMORY_LIMIT, CANCELLED
+}
@@ -0,0 +1,8 @@
+package util;
+
+/**
+ * Enum class for search trace formats (CSV = comma separated values with header, JSONL = one JSON object per line)
+ */
+public enum TraceFormat {
+    CSV, JSONL
+}
@@ -1,17 +1,20 @@
 package util;
 
 import algorithm.IDAStar;
+import algorithm.Result;
 import board.Board;
+import board.Dimensions;
+import board.Move;
 import heuristic.Heuristic;
 
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
 import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 /**
  * Class for helper methods used in other classes
@@ -25,12 +28,14 @@ public abstract class Utils {
      * the bottom row and the number of inversions is odd
      * 2. The blank is in an odd row counting from
      * the bottom row and the number of inversions is even
+     * Puzzles with an odd number of columns are solvable if the number of inversions is even,
+     * see {@link Dimensions#isSolvable(int[][])}
      *
      * @param state to be checked for solvable state
      * @return true when the board is solvable
      */
     public static boolean isSolvable(int[][] state) {
-        return (((getInversionCount(state) + getBlankTileCount(state)) % 2) == 0);
+        return Dimensions.of(state).isSolvable(state);
     }
 
     /**
@@ -58,9 +63,17 @@ public abstract class Utils {
      * @return flatted array
      */
     public static int[] arrayToOneDimension(int[][] arrayToFlatten) {
-        return Stream.of(arrayToFlatten)
-                .flatMapToInt(IntStream::of)
-                .toArray();
+        int length = 0;
+        for (int[] row : arrayToFlatten) {
+            length += row.length;
+        }
+        int[] flattened = new int[length];
+        int index = 0;
+        for (int[] row : arrayToFlatten) {
+            System.arraycopy(row, 0, flattened, index, row.length);
+            index += row.length;
+        }
+        return flattened;
     }
 
     /**
@@ -71,9 +84,9 @@ public abstract class Utils {
      */
     public static int getBlankTileCount(int[][] state) {
         for (int i = 0; i < state.length; i++)
-            for (int j = 0; j < state.length; j++) {
+            for (int j = 0; j < state[i].length; j++) {
                 if (state[i][j] == 0) {
-                    return 4 - (i + 1);
+                    return state.length - (i + 1);
                 }
             }
         throw new IllegalArgumentException("state does not contain 0");
@@ -88,11 +101,11 @@ public abstract class Utils {
      */
     public static int[][] getXTurnSolvableState(int numberOfSteps, Heuristic heuristic) {
         Board board = new Board(goal);
-        board.setHeuristic(heuristic);
+        board.setHScore(heuristic.calculate(board));
         HashSet<Board> alreadyStepped = new HashSet<>();
         Random rand = new Random();
         for (int i = 0; i < numberOfSteps; i++) {
-            board.setSuccessors(board.generateSuccessors());
+            board.setSuccessors(board.generateSuccessors(heuristic));
             board.getSuccessors().removeAll(alreadyStepped);
             alreadyStepped.add(board);
             if (board.getSuccessors().size() != 0) {
@@ -168,18 +181,19 @@ public abstract class Utils {
     /**
      * Returns the moves required to solve the given puzzle
      *
-     * @param path Path list with all moves
+     * @param path   Array with the ordinals of all moves
+     * @param length Number of moves
      * @return String with all moves
      */
-    public static String getMoves(LinkedList<Board> path) {
-        StringBuilder turnsToSolve = new StringBuilder();
-        if (path.get(0).getParent() == null) {
+    public static String getMoves(byte[] path, int length) {
+        if (length == 0) {
             return "initial board is goal board";
         }
-        for (int i = path.size() - 2; i >= 0; i--) {
-            turnsToSolve.append(path.get(i).getMove()).append("-");
+        StringBuilder turnsToSolve = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            turnsToSolve.append(Move.of(path[i])).append("-");
         }
-        turnsToSolve = new StringBuilder(turnsToSolve.substring(0, turnsToSolve.length() - 1));
+        turnsToSolve.setLength(turnsToSolve.length() - 1);
         return turnsToSolve.toString();
     }
 
@@ -198,17 +212,20 @@ public abstract class Utils {
      */
     public static void generatePuzzles(int minTurnsToSolve, int numberOfSteps, int bound, Heuristic heuristic) throws FileNotFoundException {
         File file = new File("puzzles" + minTurnsToSolve + ".txt");
-        Set<Board> setBoards = new HashSet<>();
+        Map<Long, Board> setBoards = new LinkedHashMap<>();//keyed on the canonical state, so mirrored boards are saved once
         PrintStream fileStream = new PrintStream(new FileOutputStream(file, true));
         for (int i = 0; i < bound; i++) {
             int[][] state = Utils.getXTurnSolvableState(numberOfSteps, heuristic);
             Board board = new Board(state);
+            if (setBoards.containsKey(board.getCanonicalState())) {
+                continue;
+            }
             if (IDAStar.solve(board, heuristic, TimeUnit.NS, DebugMode.OFF).getDepth() == minTurnsToSolve) {
-                setBoards.add(board);
+                setBoards.put(board.getCanonicalState(), board);
                 System.out.println(board);
             }
         }
-        for (Board b : setBoards
+        for (Board b : setBoards.values()
         ) {
             fileStream.println(Arrays.deepToString(b.getState())
                     .replace("[", "")
@@ -216,6 +233,30 @@ public abstract class Utils {
         }
     }
 
+    /**
+     * Returns the bytes allocated by the current thread since it was started,
+     * the difference of two calls is the allocation of the code in between
+     *
+     * @return Allocated bytes or -1 if the JVM does not measure allocations
+     */
+    public static long getThreadAllocatedBytes() {
+        if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadMXBean
+                && threadMXBean.isThreadAllocatedMemorySupported() && threadMXBean.isThreadAllocatedMemoryEnabled()) {
+            return threadMXBean.getCurrentThreadAllocatedBytes();
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the bytes allocated by the current thread since the given measurement
+     *
+     * @param allocatedBytes Result of {@link #getThreadAllocatedBytes()} at the start of the measurement
+     * @return Allocated bytes or -1 if the JVM does not measure allocations
+     */
+    public static long getThreadAllocatedBytesSince(long allocatedBytes) {
+        return allocatedBytes < 0 ? -1 : getThreadAllocatedBytes() - allocatedBytes;
+    }
+
     public static int[][] getGoal() {
         return goal;
     }
@@ -223,43 +264,35 @@ public abstract class Utils {
     /**
      * Print the result of solved board
      *
-     * @param algorithmType       Type of algorithm used AStar or IDAStar
-     * @param heuristic           Type of heuristic used
-     * @param numOfExpandedBoards Total number of created boards
-     * @param openList            Total size of open list in AStar algorithm
-     * @param closedList          size of closed list in AStar algorithm
-     * @param currentBoard        Current board
-     * @param memory              Total memory used during execution time
-     * @param runtime             Total runtime of algorithm
+     * @param result Result of the algorithm
      */
-    public static void printResults(String algorithmType, Heuristic heuristic, int numOfExpandedBoards,
-                                    PriorityQueue<Board> openList, Set<Board> closedList, Board currentBoard, LinkedList<Board> listBoards, long memory, long runtime) {
-        System.out.println("Algorithm: " + algorithmType);
-        System.out.println("Heuristic: " + heuristic.getName());
-        System.out.println("Expanded boards: " + numOfExpandedBoards);
-        if (openList != null && closedList != null) {//if algorithm is not AStar
-            System.out.println("Openlist: " + openList.size());
-            System.out.println("Closedlist: " + closedList.size());
+    public static void printResults(Result result) {
+        System.out.println("Algorithm: " + result.getAlgorithm());
+        System.out.println("Heuristic: " + result.getName());
+        System.out.println("Expanded boards: " + result.getExpandedBoards());
+        if (result.getAlgorithm().equals("AStar")) {
+            System.out.println("Openlist: " + result.getOpenListSize());
+            System.out.println("Closedlist: " + result.getClosedListSize());
+            System.out.println("Peak openlist: " + result.getPeakOpenListSize());
+            System.out.println("Peak closedlist: " + result.getPeakClosedListSize());
         }
-        if (algorithmType.equals("AStar")) {
-            System.out.println("Depth: " + currentBoard.getGScore());
-        } else {
-            System.out.println("Depth: " + listBoards.getFirst().getGScore());
-        }
-
-        System.out.println("Memory used: " + memory + " KB");
-        System.out.println("Run time: " + runtime);
-        if (algorithmType.equals("AStar")) {
-            System.out.println("Moves: " + Utils.getMoves(currentBoard));
-        } else {
-            System.out.println("Moves: " + Utils.getMoves(listBoards));
+        System.out.println("Peak path length: " + result.getPeakPathLength());
+        if (!result.isSolved()) {
+            System.out.println("Stopped: " + result.getStatus());
+            System.out.println("Lower bound: " + result.getLowerBound());
+            System.out.println("----------------------");
+            return;
         }
+        System.out.println("Depth: " + result.getDepth());
+        System.out.println("Memory allocated: " + result.getMemoryUsed() + " KB");
+        System.out.println("Run time: " + result.getRunTime());
+        System.out.println("Moves: " + result.getMoves());
         System.out.println("Board solved!");
         System.out.println("----------------------");
     }
 
     /**
-     * Checks if the given board is valid
+     * Checks if the given board is a valid and solvable 4 by 4 board, see {@link Dimensions#checkInput(int[][])}
      *
      * @param board Board object
      */
@@ -270,21 +303,29 @@ public abstract class Utils {
         if (board.getState() == null) {
             throw new PuzzleException("Given state is null");
         }
-        if ((board.getState()[0].length | board.getState()[1].length | board.getState()[2].length | board.getState()[3].length) != 4 || board.getState().length != 4) {
-            throw new PuzzleException("Puzzle has wrong dimensions");
+        Dimensions.FOUR_BY_FOUR.checkInput(board.getState());
+    }
+
+    /**
+     * Checks if the given board is a valid and solvable board of dimensions the heuristic supports
+     *
+     * @param board     Board object
+     * @param heuristic Heuristic of the solver
+     * @return Dimensions of the board
+     */
+    public static Dimensions checkInput(Board board, Heuristic heuristic) {
+        if (board == null) {
+            throw new PuzzleException("Given board is null");
         }
-        if (!isSolvable(board.getState())) {
-            throw new PuzzleException("Puzzle is not solvable");
+        if (board.getState() == null) {
+            throw new PuzzleException("Given state is null");
         }
-        int[] boardOneDim = arrayToOneDimension(board.getState());
-        int[] goalOneDim = arrayToOneDimension(goal);
-        Integer[] boxedBoard = Arrays.stream(boardOneDim).boxed().toArray(Integer[]::new);
-        Integer[] boxedGoal = Arrays.stream(goalOneDim).boxed().toArray(Integer[]::new);
-        HashSet<Integer> setBoard = new HashSet<>(Arrays.asList(boxedBoard));
-        HashSet<Integer> setGoal = new HashSet<>(Arrays.asList(boxedGoal));
-        if (!setBoard.equals(setGoal)) {
-            throw new PuzzleException("Puzzle is not valid");
+        Dimensions dimensions = Dimensions.of(board.getState());
+        dimensions.checkInput(board.getState());
+        if (!heuristic.supports(dimensions)) {
+            throw new PuzzleException(heuristic.getName() + " does not support " + dimensions + " boards");
         }
+        return dimensions;
     }
 
     /**
@@ -302,7 +343,7 @@ public abstract class Utils {
             throw new PuzzleException("Invalid puzzle");
         }
 
-        Set<Integer> set = new HashSet<>();
+        int seen = 0;
         int[][] array = new int[4][4];
         int index = 0;
         for (int i = 0; i < 4; i++) {
@@ -311,9 +352,10 @@ public abstract class Utils {
                 if (value < 0 || value > 15) {
                     throw new PuzzleException("Digit is not in range 0-15: " + value);
                 }
-                if (!set.add(value)) {
+                if ((seen & 1 << value) != 0) {
                     throw new PuzzleException("Puzzle has duplicates: " + value);
                 }
+                seen |= 1 << value;
                 array[i][j] = value;
             }
         }
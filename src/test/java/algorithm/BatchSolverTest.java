@@ -0,0 +1,63 @@
+package algorithm;
+
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.TimeUnit;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Class for testing the batch solver
+ */
+public class BatchSolverTest {
+    /**
+     * Tests if every puzzle of several files is written as one line with the optimal depth
+     */
+    @Test
+    public void testSolveFiles() throws IOException {
+        List<Path> files = List.of(Path.of("src/main/resources/puzzles/puzzles20.txt"),
+                Path.of("src/main/resources/puzzles/puzzles30.txt"));
+        StringWriter out = new StringWriter();
+        long solved = new BatchSolver(new IDAStar(new LinearConflictWithMD()), 2, 3).solve(files, out, TimeUnit.MS);
+        List<String> lines = out.toString().lines().toList();
+        Assertions.assertEquals(BatchSolver.HEADER, lines.get(0));
+        long expected = 0;
+        for (Path file : files) {
+            expected += Files.readAllLines(file).stream().filter(line -> !line.isBlank()).count();
+        }
+        Assertions.assertEquals(expected, solved);
+        Assertions.assertEquals(expected + 1, lines.size());
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(";");
+            int depth = columns[0].equals("puzzles20.txt") ? 20 : 30;
+            Assertions.assertEquals(depth, Integer.parseInt(columns[2]));
+            Assertions.assertEquals(depth, columns[7].split("-").length);
+        }
+    }
+
+    /**
+     * Tests if invalid puzzles are written as error lines without stopping the batch
+     */
+    @Test
+    public void testInvalidPuzzles(@TempDir Path directory) throws IOException {
+        Path file = directory.resolve("puzzles.txt");
+        Files.write(file, List.of("1 2 3 4 5 6 7 8 9 10 11 12 13 14 0 15", "1 2 3", "",
+                "2 1 3 4 5 6 7 8 9 10 11 12 13 14 15 0", "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 0"));
+        StringWriter out = new StringWriter();
+        long solved = new BatchSolver(new AStar(new ManhattanDistance()), 1, 1).solve(List.of(file), out, TimeUnit.NS);
+        List<String> lines = out.toString().lines().toList();
+        Assertions.assertEquals(2, solved);
+        Assertions.assertEquals(5, lines.size());
+        Assertions.assertEquals("puzzles.txt;1;1", lines.get(1).substring(0, 15));
+        Assertions.assertEquals("puzzles.txt;2;ERROR;Invalid puzzle", lines.get(2));
+        Assertions.assertEquals("puzzles.txt;4;ERROR;Puzzle is not solvable", lines.get(3));
+        Assertions.assertEquals("puzzles.txt;5;0", lines.get(4).substring(0, 15));
+    }
+}
@@ -0,0 +1,82 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import heuristic.Heuristic;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import heuristic.RelabeledHeuristic;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+/**
+ * Class for testing the bidirectional MM algorithm
+ */
+public class BidirectionalMMTest {
+    /**
+     * Tests if the solutions are optimal and lead from the initial board to the goal board
+     */
+    @Test
+    public void testOptimalSolutions() {
+        for (Heuristic heuristic : new Heuristic[]{new ManhattanDistance(), new LinearConflictWithMD()}) {
+            Solver solver = new BidirectionalMM(heuristic);
+            for (int depth = 1; depth <= 30; depth++) {
+                for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                    BidirectionalResult result = (BidirectionalResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                    Assertions.assertEquals(depth, result.getDepth());
+                    Assertions.assertEquals(result.getExpandedBoards(),
+                            result.getForwardExpandedBoards() + result.getBackwardExpandedBoards());
+                    long state = PackedBoard.pack(puzzle);
+                    String[] moves = result.getMoves().split("-");
+                    Assertions.assertEquals(depth, moves.length);
+                    for (String move : moves) {
+                        int blank = PackedBoard.indexOf(state, 0);
+                        Assertions.assertTrue(Move.valueOf(move).canMove(blank));
+                        state = PackedBoard.move(state, blank, blank + Move.valueOf(move).getOffset());
+                    }
+                    Assertions.assertEquals(PackedBoard.GOAL, state);
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if the initial board being the goal board is solved without moves
+     */
+    @Test
+    public void testGoalBoard() {
+        Result result = new BidirectionalMM(new ManhattanDistance()).solve(new Board(Board.goal), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals(0, result.getDepth());
+        Assertions.assertEquals("initial board is goal board", result.getMoves());
+    }
+
+    /**
+     * Tests if heuristics towards the initial board estimate the distance of the goal board without overestimating,
+     * relabeled heuristics are used for initial boards with the blank tile on the last cell
+     */
+    @Test
+    public void testHeuristicTowardsInitialBoard() {
+        Heuristic heuristic = new LinearConflictWithMD();
+        boolean relabeled = false;
+        for (int depth = 10; depth <= 50; depth += 10) {
+            for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                long state = PackedBoard.pack(puzzle);
+                Heuristic backward = heuristic.towards(state);
+                Assertions.assertEquals(0, backward.calculate(state));
+                Assertions.assertTrue(backward.calculate(PackedBoard.GOAL) <= depth);
+                if (backward instanceof RelabeledHeuristic) {
+                    relabeled = true;
+                    //the manhattan distance of the inverse permutation is the same
+                    Heuristic manhattanDistance = new ManhattanDistance();
+                    Assertions.assertEquals(manhattanDistance.calculate(state),
+                            manhattanDistance.towards(state).calculate(PackedBoard.GOAL));
+                }
+            }
+        }
+        Assertions.assertTrue(relabeled);
+    }
+}
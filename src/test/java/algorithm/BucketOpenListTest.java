@@ -0,0 +1,77 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class for testing the bucket open list
+ */
+public class BucketOpenListTest {
+    /**
+     * Tests if nodes are polled by lowest f score and highest g score
+     */
+    @Test
+    public void testOrder() {
+        OpenList openList = new BucketOpenList();
+        Random random = new Random(7);
+        int[] fScores = new int[10_000];
+        int[] gScores = new int[10_000];
+        for (int i = 0; i < 10_000; i++) {
+            gScores[i] = random.nextInt(80);
+            fScores[i] = gScores[i] + random.nextInt(60);
+            openList.add(i, fScores[i], gScores[i]);
+        }
+        Assertions.assertEquals(10_000, openList.size());
+        int previous = openList.poll();
+        while (!openList.isEmpty()) {
+            int current = openList.poll();
+            Assertions.assertTrue(fScores[previous] < fScores[current]
+                    || fScores[previous] == fScores[current] && gScores[previous] >= gScores[current]);
+            previous = current;
+        }
+        Assertions.assertEquals(OpenList.NONE, openList.poll());
+    }
+
+    /**
+     * Tests if the priority open list polls nodes by lowest f score
+     */
+    @Test
+    public void testPriorityOrder() {
+        OpenList openList = new PriorityOpenList();
+        Random random = new Random(7);
+        int[] fScores = new int[10_000];
+        for (int i = 0; i < 10_000; i++) {
+            fScores[i] = random.nextInt(140);
+            openList.add(i, fScores[i], 0);
+        }
+        int previous = openList.poll();
+        while (!openList.isEmpty()) {
+            int current = openList.poll();
+            Assertions.assertTrue(fScores[previous] <= fScores[current]);
+            previous = current;
+        }
+        Assertions.assertEquals(OpenList.NONE, openList.poll());
+    }
+
+    /**
+     * Tests if both open lists find solutions of equal depth
+     */
+    @Test
+    public void testSameDepthAsPriorityQueue() {
+        List<int[][]> listPuzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt");
+        for (int[][] puzzle : listPuzzle) {
+            Result bucket = AStar.solve(new Board(puzzle), new LinearConflictWithMD(), new BucketOpenList(), TimeUnit.NS, DebugMode.OFF);
+            Result priority = AStar.solve(new Board(puzzle), new LinearConflictWithMD(), new PriorityOpenList(), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(30, bucket.getDepth());
+            Assertions.assertEquals(priority.getDepth(), bucket.getDepth());
+        }
+    }
+}
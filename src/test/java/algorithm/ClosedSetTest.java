@@ -0,0 +1,59 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.Utils;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Class for testing the primitive closed set
+ */
+public class ClosedSetTest {
+    /**
+     * Tests if states survive resizing and duplicates are rejected
+     */
+    @Test
+    public void testAddAndResize() {
+        ClosedSet closedSet = new ClosedSet(16);
+        Set<Long> reference = new HashSet<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long state = random.nextLong() | 1L;
+            Assertions.assertEquals(reference.add(state), closedSet.add(state, i & 0x7F, Move.of(i & 3)));
+        }
+        Assertions.assertEquals(reference.size(), closedSet.size());
+        for (long state : reference) {
+            Assertions.assertTrue(closedSet.contains(state));
+        }
+        Assertions.assertFalse(closedSet.contains(PackedBoard.GOAL));
+        Assertions.assertEquals(-1, closedSet.getGScore(PackedBoard.GOAL));
+        closedSet.clear();
+        Assertions.assertEquals(0, closedSet.size());
+        Assertions.assertFalse(closedSet.contains(reference.iterator().next()));
+    }
+
+    /**
+     * Tests if the path can be rebuilt from the stored moves
+     */
+    @Test
+    public void testGetMoves() {
+        Board board = new Board(Utils.convertStringTo2DIntArray("1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 0"));
+        ClosedSet closedSet = new ClosedSet();
+        closedSet.add(board.getPackedState(), 0, null);
+        for (Move move : new Move[]{Move.U, Move.L, Move.D}) {
+            board = board.generateSuccessors(new ManhattanDistance()).stream().filter(b -> b.getMove() == move).findFirst().orElseThrow();
+            closedSet.add(board.getPackedState(), board.getGScore(), board.getMove());
+        }
+        Assertions.assertEquals(3, closedSet.getGScore(board.getPackedState()));
+        Assertions.assertEquals(Move.D, closedSet.getMove(board.getPackedState()));
+        Assertions.assertEquals("U-L-D", closedSet.getMoves(board.getPackedState()));
+        Assertions.assertEquals(Utils.getMoves(board), closedSet.getMoves(board.getPackedState()));
+    }
+}
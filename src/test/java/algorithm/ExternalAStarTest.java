@@ -0,0 +1,74 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.SolveStatus;
+import util.TimeUnit;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+/**
+ * Class for testing the external memory AStar algorithm
+ */
+public class ExternalAStarTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests if the solutions are optimal with runs small enough to be merged from several files
+     */
+    @Test
+    public void testOptimalSolutions() throws IOException {
+        for (Solver solver : new Solver[]{new ExternalAStar(new ManhattanDistance(), directory, 64),
+                new ExternalAStar(new LinearConflictWithMD(), directory, 1000)}) {
+            for (int depth : new int[]{1, 10, 20, 30}) {
+                for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                    ExternalResult result = (ExternalResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                    Assertions.assertTrue(result.getFinalBoard().isSolution());
+                    Assertions.assertEquals(depth, result.getDepth());
+                    Assertions.assertEquals(depth, result.getMoves().split("-").length);
+                    Assertions.assertTrue(result.getBytesWritten() > 0);
+                    Assertions.assertTrue(result.getBytesRead() > 0);
+                    Assertions.assertTrue(result.getPeakDiskBytes() > 0);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+
+    /**
+     * Tests if the goal board is solved without moves
+     */
+    @Test
+    public void testGoalBoard() {
+        Result result = new ExternalAStar(new ManhattanDistance(), directory).solve(new Board(Board.goal), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals(0, result.getDepth());
+        Assertions.assertEquals("initial board is goal board", result.getMoves());
+    }
+
+    /**
+     * Tests if the solve stops at the maximum number of expanded boards and deletes its files
+     */
+    @Test
+    public void testNodeLimit() throws IOException {
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles55.txt").get(0);
+        Result result = new ExternalAStar(new LinearConflictWithMD(), directory).solve(new Board(puzzle), TimeUnit.NS,
+                DebugMode.OFF, SolveOptions.NONE.withMaxExpandedBoards(50_000));
+        Assertions.assertEquals(SolveStatus.NODE_LIMIT, result.getStatus());
+        Assertions.assertTrue(result.getLowerBound() <= 55);
+        try (Stream<Path> files = Files.list(directory)) {
+            Assertions.assertEquals(0, files.count());
+        }
+    }
+}
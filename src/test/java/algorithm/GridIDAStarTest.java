@@ -0,0 +1,218 @@
+package algorithm;
+
+import board.Board;
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
+import heuristic.HammingDistance;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.PuzzleException;
+import util.ReadPuzzlesFromFile;
+import util.SolveStatus;
+import util.TimeUnit;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Class for testing the solvers on boards of other dimensions
+ */
+public class GridIDAStarTest {
+    /**
+     * Tests if the solutions of boards up to 16 cells are optimal, compared to a breadth first search from the goal
+     */
+    @Test
+    public void testOptimalNarrowBoards() {
+        Random random = new Random(13);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(3, 3), Dimensions.of(2, 4), Dimensions.of(4, 2)}) {
+            Map<Long, Integer> distances = distancesFromGoal(dimensions);
+            List<Long> states = new ArrayList<>(distances.keySet());
+            for (int i = 0; i < 50; i++) {
+                long state = states.get(random.nextInt(states.size()));
+                int[][] puzzle = PackedBoard.unpack(state, dimensions);
+                Result result = new GridIDAStar().solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                Assertions.assertEquals((int) distances.get(state), result.getDepth());
+                Assertions.assertArrayEquals(dimensions.getGoal(), apply(puzzle, dimensions, result.getMoves()));
+                Assertions.assertArrayEquals(dimensions.getGoal(), result.getFinalBoard().getState());
+                Assertions.assertTrue(result.getFinalBoard().isSolution());
+            }
+        }
+    }
+
+    /**
+     * Tests if boards up to 25 cells are solved with at most the moves they were scrambled with
+     */
+    @Test
+    public void testWideBoards() {
+        Random random = new Random(17);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(5, 5), Dimensions.of(4, 5), Dimensions.of(3, 6)}) {
+            for (int i = 0; i < 10; i++) {
+                int[][] puzzle = dimensions.getGoal();
+                int moves = scramble(puzzle, dimensions, 40, random);
+                Result result = new GridIDAStar().solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                Assertions.assertTrue(result.getDepth() <= moves);
+                Assertions.assertEquals(moves % 2, result.getDepth() % 2);
+                if (result.getDepth() > 0) {
+                    Assertions.assertArrayEquals(dimensions.getGoal(), apply(puzzle, dimensions, result.getMoves()));
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if 4 by 4 boards are solved by IDAStar and invalid boards are rejected
+     */
+    @Test
+    public void testFourByFourAndInvalidBoards() {
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt").get(0);
+        Result result = new GridIDAStar().solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Result expected = new IDAStar(new LinearConflictWithMD()).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals(30, result.getDepth());
+        Assertions.assertEquals(expected.getExpandedBoards(), result.getExpandedBoards());
+        Assertions.assertThrows(PuzzleException.class, () -> new GridIDAStar().solve(
+                new Board(new int[][]{{2, 1, 3}, {4, 5, 6}, {7, 8, 0}}), TimeUnit.NS, DebugMode.OFF));
+        Assertions.assertThrows(PuzzleException.class, () -> new GridIDAStar().solve(
+                new Board(new int[][]{{1, 2, 3}, {4, 0}}), TimeUnit.NS, DebugMode.OFF));
+        int[][] hard = Dimensions.of(5, 5).getGoal();
+        scramble(hard, Dimensions.of(5, 5), 500, new Random(1));
+        Result stopped = new GridIDAStar().solve(new Board(hard), TimeUnit.NS, DebugMode.OFF,
+                SolveOptions.NONE.withMaxExpandedBoards(100_000));
+        Assertions.assertEquals(SolveStatus.NODE_LIMIT, stopped.getStatus());
+    }
+
+    /**
+     * Tests if linear conflict is admissible on every board of some dimensions up to 16 cells, if AStar,
+     * weighted AStar with weight 1 and IDAStar with transposition table solve them optimally with the heuristics
+     * of their dimensions, and if unsupported boards are rejected
+     */
+    @Test
+    public void testOtherSolvers() {
+        Random random = new Random(19);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(3, 3), Dimensions.of(2, 4)}) {
+            Map<Long, Integer> distances = distancesFromGoal(dimensions);
+            LinearConflictWithMD linearConflict = new LinearConflictWithMD(dimensions);
+            for (Map.Entry<Long, Integer> entry : distances.entrySet()) {
+                Assertions.assertTrue(linearConflict.calculate(entry.getKey()) <= entry.getValue());
+            }
+            List<Long> states = new ArrayList<>(distances.keySet());
+            List<Solver> solvers = List.of(new AStar(new LinearConflictWithMD(dimensions)),
+                    new WeightedAStar(new ManhattanDistance(dimensions), 1),
+                    new IDAStar(new LinearConflictWithMD(dimensions), 1 << 20));
+            for (int i = 0; i < 20; i++) {
+                long state = states.get(random.nextInt(states.size()));
+                int[][] puzzle = PackedBoard.unpack(state, dimensions);
+                for (Solver solver : solvers) {
+                    Result result = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                    Assertions.assertEquals((int) distances.get(state), result.getDepth());
+                    Assertions.assertArrayEquals(dimensions.getGoal(), apply(puzzle, dimensions, result.getMoves()));
+                    Assertions.assertTrue(result.getFinalBoard().isSolution());
+                }
+            }
+        }
+        Board wide = new Board(Dimensions.of(5, 5).getGoal());
+        Assertions.assertThrows(PuzzleException.class, () -> new AStar(new ManhattanDistance(Dimensions.of(5, 5)))
+                .solve(wide, TimeUnit.NS, DebugMode.OFF));
+        Board small = new Board(Dimensions.of(3, 3).getGoal());
+        Assertions.assertThrows(PuzzleException.class, () -> new AStar(new ManhattanDistance())
+                .solve(small, TimeUnit.NS, DebugMode.OFF));
+        Assertions.assertThrows(PuzzleException.class, () -> new IDAStar(new HammingDistance())
+                .solve(small, TimeUnit.NS, DebugMode.OFF));
+    }
+
+    /**
+     * Get distances of all boards to the goal by a breadth first search from the goal
+     *
+     * @param dimensions Dimensions of the boards, at most 16 cells
+     * @return Distance per packed state
+     */
+    private static Map<Long, Integer> distancesFromGoal(Dimensions dimensions) {
+        Map<Long, Integer> distances = new HashMap<>();
+        List<Long> layer = List.of(PackedBoard.pack(dimensions.getGoal(), dimensions));
+        distances.put(layer.get(0), 0);
+        for (int depth = 1; !layer.isEmpty(); depth++) {
+            List<Long> next = new ArrayList<>();
+            for (long state : layer) {
+                int blank = 0;
+                while (PackedBoard.tileAt(state, blank) != 0) {
+                    blank++;
+                }
+                for (Move move : Move.values()) {
+                    if (dimensions.canMove(move, blank)) {
+                        long successor = PackedBoard.move(state, blank, blank + dimensions.getOffset(move));
+                        if (distances.putIfAbsent(successor, depth) == null) {
+                            next.add(successor);
+                        }
+                    }
+                }
+            }
+            layer = next;
+        }
+        return distances;
+    }
+
+    /**
+     * Scrambles a board with random moves which do not undo the last move
+     *
+     * @param state      2d array of the board, changed in place
+     * @param dimensions Dimensions of the board
+     * @param moves      Number of random moves
+     * @param random     Random numbers
+     * @return Number of moves done
+     */
+    private static int scramble(int[][] state, Dimensions dimensions, int moves, Random random) {
+        int blank = dimensions.getCells() - 1;
+        Move last = null;
+        int done = 0;
+        while (done < moves) {
+            Move move = Move.of(random.nextInt(4));
+            if (dimensions.canMove(move, blank) && (last == null || move != last.inverse())) {
+                blank = swap(state, dimensions, blank, blank + dimensions.getOffset(move));
+                last = move;
+                done++;
+            }
+        }
+        return done;
+    }
+
+    /**
+     * Applies moves to a copy of a board
+     *
+     * @param state      2d array of the board
+     * @param dimensions Dimensions of the board
+     * @param moves      Moves separated by "-"
+     * @return 2d array after the moves
+     */
+    private static int[][] apply(int[][] state, Dimensions dimensions, String moves) {
+        int[][] copy = new int[state.length][];
+        int blank = 0;
+        for (int i = 0; i < state.length; i++) {
+            copy[i] = state[i].clone();
+            for (int j = 0; j < state[i].length; j++) {
+                if (state[i][j] == 0) {
+                    blank = i * dimensions.getColumns() + j;
+                }
+            }
+        }
+        if (moves.contains("goal")) {
+            return copy;
+        }
+        for (String move : moves.split("-")) {
+            blank = swap(copy, dimensions, blank, blank + dimensions.getOffset(Move.valueOf(move)));
+        }
+        return copy;
+    }
+
+    private static int swap(int[][] state, Dimensions dimensions, int blank, int target) {
+        int columns = dimensions.getColumns();
+        state[blank / columns][blank % columns] = state[target / columns][target % columns];
+        state[target / columns][target % columns] = 0;
+        return target;
+    }
+}
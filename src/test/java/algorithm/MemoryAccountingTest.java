@@ -0,0 +1,53 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+import util.Utils;
+
+/**
+ * Class for testing the per solve memory accounting of the results
+ */
+public class MemoryAccountingTest {
+    private final int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt").get(0);
+
+    /**
+     * Tests if AStar reports allocations and the peak sizes of open list, closed list and path
+     */
+    @Test
+    public void testAStar() {
+        Result result = new AStar(new LinearConflictWithMD()).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        if (Utils.getThreadAllocatedBytes() >= 0) {
+            Assertions.assertTrue(result.getAllocatedBytes() > 0);
+            Assertions.assertEquals(result.getAllocatedBytes() / 1024, result.getMemoryUsed());
+        }
+        Assertions.assertTrue(result.getPeakOpenListSize() >= result.getOpenListSize());
+        Assertions.assertTrue(result.getPeakOpenListSize() > 0);
+        Assertions.assertEquals(result.getClosedListSize(), result.getPeakClosedListSize());
+        Assertions.assertTrue(result.getPeakPathLength() >= result.getDepth());
+    }
+
+    /**
+     * Tests if IDAStar reports the deepest path and the sequential search allocates less than AStar
+     */
+    @Test
+    public void testIDAStar() {
+        Result aStar = new AStar(new LinearConflictWithMD()).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        for (Solver solver : new Solver[]{new IDAStar(new LinearConflictWithMD()), new ParallelIDAStar(new LinearConflictWithMD())}) {
+            Result result = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(0, result.getPeakOpenListSize());
+            Assertions.assertEquals(0, result.getPeakClosedListSize());
+            Assertions.assertEquals(result.getDepth(), result.getPeakPathLength());
+            if (Utils.getThreadAllocatedBytes() >= 0) {
+                Assertions.assertTrue(result.getAllocatedBytes() > 0);
+            }
+            if (solver instanceof IDAStar && Utils.getThreadAllocatedBytes() >= 0) {
+                Assertions.assertTrue(result.getAllocatedBytes() < aStar.getAllocatedBytes());
+            }
+        }
+    }
+}
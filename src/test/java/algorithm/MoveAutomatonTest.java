@@ -0,0 +1,109 @@
+package algorithm;
+
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Class for testing the move automaton pruning duplicate move sequences
+ */
+public class MoveAutomatonTest {
+    /**
+     * Tests if the shipped automaton of 4 by 4 boards is the generated one
+     */
+    @Test
+    public void testShippedAutomaton() {
+        MoveAutomaton shipped = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR);
+        MoveAutomaton generated = MoveAutomaton.generate(Dimensions.FOUR_BY_FOUR, MoveAutomaton.DEFAULT_MAX_LENGTH);
+        Assertions.assertArrayEquals(generated.getTransitions(), shipped.getTransitions());
+        Assertions.assertEquals(generated.getDuplicates(), shipped.getDuplicates());
+        Assertions.assertSame(shipped, MoveAutomaton.of(Dimensions.FOUR_BY_FOUR));
+    }
+
+    /**
+     * Tests if the automaton of maximum length 2 only prunes the inverse of the last move
+     * and if longer duplicates lower the branching factor
+     */
+    @Test
+    public void testBranchingFactor() {
+        MoveAutomaton inverse = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, 2);
+        Assertions.assertEquals(1 + Move.values().length, inverse.getStates());
+        Assertions.assertEquals(Move.values().length, inverse.getDuplicates());
+        for (Move move : Move.values()) {
+            int state = inverse.next(MoveAutomaton.START, move.ordinal());
+            Assertions.assertEquals(MoveAutomaton.PRUNED, inverse.next(state, move.inverse().ordinal()));
+            Assertions.assertEquals(1 << move.inverse().ordinal(), inverse.getFirstMoveRestrictions(state));
+        }
+        Assertions.assertEquals(2.1304, inverse.getBranchingFactor(40), 1e-4);
+        double eight = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, 8).getBranchingFactor(40);
+        double fourteen = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR).getBranchingFactor(40);
+        Assertions.assertTrue(eight < 2.1304);
+        Assertions.assertTrue(fourteen < eight);
+        Assertions.assertEquals(-1, MoveAutomaton.of(Dimensions.FOUR_BY_FOUR).getFirstMoveRestrictions(
+                MoveAutomaton.of(Dimensions.FOUR_BY_FOUR).next(MoveAutomaton.START, Move.R.ordinal())));
+    }
+
+    /**
+     * Tests if the paths the automaton allows still reach every board of a 2 by 4 puzzle with its shortest distance
+     */
+    @Test
+    public void testShortestPathsKept() {
+        Dimensions dimensions = Dimensions.of(2, 4);
+        MoveAutomaton automaton = MoveAutomaton.of(dimensions, 12);
+        long goal = PackedBoard.pack(dimensions.getGoal(), dimensions);
+        Map<Long, Integer> distances = breadthFirstSearch(dimensions, goal, MoveAutomaton.of(dimensions, 2));
+        Map<Long, Integer> prunedDistances = breadthFirstSearch(dimensions, goal, automaton);
+        Assertions.assertEquals(20160, distances.size());
+        Assertions.assertEquals(distances, prunedDistances);
+    }
+
+    /**
+     * Tests if invalid maximum lengths are rejected
+     */
+    @Test
+    public void testInvalidMaxLength() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, 1));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> MoveAutomaton.generate(Dimensions.FOUR_BY_FOUR, 25));
+    }
+
+    /**
+     * Get distance of every board from the start board on the paths the automaton allows
+     *
+     * @param dimensions Dimensions of the board
+     * @param start      Packed start board
+     * @param automaton  Move automaton
+     * @return Distance of the first visit by packed board
+     */
+    private static Map<Long, Integer> breadthFirstSearch(Dimensions dimensions, long start, MoveAutomaton automaton) {
+        Map<Long, Integer> distances = new HashMap<>();
+        Set<Long> visited = new HashSet<>();//pairs of board and automaton state
+        ArrayDeque<long[]> queue = new ArrayDeque<>();
+        distances.put(start, 0);
+        visited.add(start * automaton.getStates() + MoveAutomaton.START);
+        queue.add(new long[]{start, MoveAutomaton.START, 0});
+        while (!queue.isEmpty()) {
+            long[] node = queue.poll();
+            int blank = PackedBoard.indexOf(node[0], 0);
+            for (Move move : Move.values()) {
+                int state = automaton.next((int) node[1], move.ordinal());
+                if (state == MoveAutomaton.PRUNED || !dimensions.canMove(move, blank)) {
+                    continue;
+                }
+                long board = PackedBoard.move(node[0], blank, blank + dimensions.getOffset(move));
+                if (visited.add(board * automaton.getStates() + state)) {
+                    distances.putIfAbsent(board, (int) node[2] + 1);
+                    queue.add(new long[]{board, state, node[2] + 1});
+                }
+            }
+        }
+        return distances;
+    }
+}
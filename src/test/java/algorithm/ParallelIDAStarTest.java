@@ -0,0 +1,59 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class for testing the parallel IDAStar algorithm
+ */
+public class ParallelIDAStarTest {
+    /**
+     * Tests if the parallel search finds solutions of the same length as the sequential search
+     */
+    @Test
+    public void testSameDepthAsSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int splitDepth : new int[]{0, 1, 4, 10}) {
+                Solver solver = new ParallelIDAStar(new LinearConflictWithMD(), pool, splitDepth);
+                for (int depth : new int[]{1, 2, 20, 40}) {
+                    for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                        Result result = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                        Assertions.assertEquals(depth, result.getDepth());
+                        Assertions.assertEquals(depth, result.getMoves().split("-").length);
+                        Assertions.assertTrue(result.getFinalBoard().isSolution());
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests if the initial board being the goal board is solved without moves
+     */
+    @Test
+    public void testGoalBoard() {
+        Result result = new ParallelIDAStar(new ManhattanDistance()).solve(new Board(Board.goal), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals(0, result.getDepth());
+        Assertions.assertEquals("initial board is goal board", result.getMoves());
+    }
+
+    /**
+     * Tests if a split depth outside of the search depth is rejected
+     */
+    @Test
+    public void testInvalidSplitDepth() {
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new ParallelIDAStar(new ManhattanDistance(), ForkJoinPool.commonPool(), -1));
+    }
+}
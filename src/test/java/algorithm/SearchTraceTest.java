@@ -0,0 +1,100 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+import util.TraceFormat;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for testing search events and traces
+ */
+public class SearchTraceTest {
+    private final int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt").get(0);
+
+    /**
+     * Tests if IDAStar sends one event per threshold iteration with the boards of the iteration
+     */
+    @Test
+    public void testIDAStarEvents() {
+        List<SearchEvent> events = new ArrayList<>();
+        Result result = new IDAStar(new ManhattanDistance(), events::add).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertFalse(events.isEmpty());
+        long expandedBoards = 0;
+        for (int i = 0; i < events.size(); i++) {
+            SearchEvent event = events.get(i);
+            Assertions.assertEquals(i + 1, event.getIteration());
+            Assertions.assertEquals("IDAStar", event.getAlgorithm());
+            if (i > 0) {
+                Assertions.assertEquals(events.get(i - 1).getThreshold() + 2, event.getThreshold());
+            }
+            expandedBoards += event.getExpandedBoards();
+            Assertions.assertEquals(expandedBoards, event.getTotalExpandedBoards());
+        }
+        Assertions.assertEquals(result.getExpandedBoards(), expandedBoards);
+        Assertions.assertEquals(result.getDepth(), events.get(events.size() - 1).getThreshold());
+    }
+
+    /**
+     * Tests if AStar sends events per interval and one event when the goal is found
+     */
+    @Test
+    public void testAStarEvents() {
+        List<SearchEvent> events = new ArrayList<>();
+        Result result = new AStar(new LinearConflictWithMD(), BucketOpenList::new, events::add, 1000)
+                .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertTrue(events.size() > 1);
+        SearchEvent last = events.get(events.size() - 1);
+        Assertions.assertEquals(result.getExpandedBoards(), last.getTotalExpandedBoards());
+        Assertions.assertEquals(result.getClosedListSize(), last.getClosedListSize());
+        Assertions.assertEquals(result.getOpenListSize(), last.getOpenListSize());
+        Assertions.assertEquals(result.getDepth(), last.getThreshold());
+        Assertions.assertTrue(last.getEffectiveBranchingFactor() > 1);
+    }
+
+    /**
+     * Tests the effective branching factor of uniform trees
+     */
+    @Test
+    public void testEffectiveBranchingFactor() {
+        Assertions.assertEquals(2.0, SearchEvent.effectiveBranchingFactor(2 + 4 + 8 + 16, 4), 1e-6);
+        Assertions.assertEquals(1.0, SearchEvent.effectiveBranchingFactor(5, 5), 1e-6);
+        Assertions.assertEquals(0.0, SearchEvent.effectiveBranchingFactor(0, 5));
+    }
+
+    /**
+     * Tests if traces are written as CSV with header and as JSON Lines
+     */
+    @Test
+    public void testTraceFormats() {
+        StringWriter csv = new StringWriter();
+        StringWriter jsonl = new StringWriter();
+        SearchTrace csvTrace = new SearchTrace(csv, TraceFormat.CSV);
+        SearchTrace jsonlTrace = new SearchTrace(jsonl, TraceFormat.JSONL);
+        new IDAStar(new ManhattanDistance(), event -> {
+            csvTrace.onEvent(event);
+            jsonlTrace.onEvent(event);
+        }).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        List<String> csvLines = csv.toString().lines().toList();
+        List<String> jsonlLines = jsonl.toString().lines().toList();
+        Assertions.assertEquals(SearchTrace.CSV_HEADER, csvLines.get(0));
+        Assertions.assertEquals(csvLines.size() - 1, jsonlLines.size());
+        int columns = SearchTrace.CSV_HEADER.split(",").length;
+        for (String line : csvLines.subList(1, csvLines.size())) {
+            Assertions.assertEquals(columns, line.split(",").length);
+            Assertions.assertTrue(line.startsWith("IDAStar,"));
+        }
+        for (String line : jsonlLines) {
+            Assertions.assertTrue(line.startsWith("{\"algorithm\":\"IDAStar\",\"iteration\":"));
+            Assertions.assertTrue(line.endsWith("}"));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package algorithm;
+
+import board.Board;
+import board.Move;
+import board.PackedBoard;
+import board.Symmetry;
+import heuristic.LinearConflictWithMD;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class for testing the solution cache and the caching solver
+ */
+public class SolutionCacheTest {
+    /**
+     * Tests if repeated puzzles and puzzles on the path of an earlier solution are answered from the cache
+     */
+    @Test
+    public void testSuffixReuse() {
+        CachingSolver solver = new CachingSolver(new IDAStar(new LinearConflictWithMD()));
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt").get(0);
+        Result first = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals("IDAStar", first.getAlgorithm());
+        Assertions.assertEquals(41, solver.getCache().size());
+        Result repeated = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals("Cache", repeated.getAlgorithm());
+        Assertions.assertEquals(40, repeated.getDepth());
+        Assertions.assertEquals(first.getMoves(), repeated.getMoves());
+        String[] moves = first.getMoves().split("-");
+        long state = PackedBoard.pack(puzzle);
+        for (int i = 0; i < 15; i++) {
+            int blank = PackedBoard.indexOf(state, 0);
+            state = PackedBoard.move(state, blank, blank + Move.valueOf(moves[i]).getOffset());
+        }
+        Result suffix = solver.solve(new Board(state), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals("Cache", suffix.getAlgorithm());
+        Assertions.assertEquals(25, suffix.getDepth());
+        Assertions.assertEquals(String.join("-", List.of(moves).subList(15, 40)), suffix.getMoves());
+        Assertions.assertEquals(2, solver.getCache().getHits());
+        Assertions.assertEquals(1, solver.getCache().getMisses());
+        Assertions.assertEquals(2.0 / 3, solver.getCache().getHitRate(), 1e-9);
+    }
+
+    /**
+     * Tests if the mirror of a solved puzzle is answered from the cache with mirrored moves
+     */
+    @Test
+    public void testMirroredHit() {
+        CachingSolver solver = new CachingSolver(new IDAStar(new LinearConflictWithMD()));
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt").get(0);
+        Result result = solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+        long mirrored = Symmetry.mirror(PackedBoard.pack(puzzle));
+        Result mirroredResult = solver.solve(new Board(mirrored), TimeUnit.NS, DebugMode.OFF);
+        Assertions.assertEquals("Cache", mirroredResult.getAlgorithm());
+        Assertions.assertEquals(result.getDepth(), mirroredResult.getDepth());
+        for (String name : mirroredResult.getMoves().split("-")) {
+            int blank = PackedBoard.indexOf(mirrored, 0);
+            mirrored = PackedBoard.move(mirrored, blank, blank + Move.valueOf(name).getOffset());
+        }
+        Assertions.assertEquals(PackedBoard.GOAL, mirrored);
+    }
+
+    /**
+     * Tests if the least recently used states are evicted once the capacity is reached
+     */
+    @Test
+    public void testEviction() {
+        SolutionCache cache = new SolutionCache(2);
+        byte r = (byte) Move.R.ordinal();
+        long oneMove = PackedBoard.pack(new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 14, 0, 15}});
+        cache.put(oneMove, new byte[]{r});
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertArrayEquals(new byte[]{r}, cache.get(oneMove));//goal is now least recently used
+        long twoMoves = PackedBoard.pack(new int[][]{{1, 2, 3, 4}, {5, 6, 7, 8}, {9, 10, 11, 12}, {13, 0, 14, 15}});
+        cache.put(twoMoves, new byte[]{r, r});//evicts goal, then twoMoves once goal is added again
+        Assertions.assertEquals(2, cache.size());
+        Assertions.assertEquals(2, cache.getEvictions());
+        Assertions.assertNull(cache.get(twoMoves));
+        Assertions.assertArrayEquals(new byte[]{r}, cache.get(oneMove));
+        Assertions.assertArrayEquals(new byte[]{(byte) Move.D.ordinal()}, cache.get(Symmetry.mirror(oneMove)));
+        Assertions.assertArrayEquals(new byte[0], cache.get(PackedBoard.GOAL));
+    }
+
+    /**
+     * Tests if the cached moves stay correct when the pool of moves is compacted after many evictions
+     */
+    @Test
+    public void testPoolCompaction() {
+        SolutionCache cache = new SolutionCache(300);
+        Random random = new Random(11);
+        long[] starts = new long[2000];
+        for (int i = 0; i < starts.length; i++) {
+            byte[] path = new byte[20 + random.nextInt(40)];
+            long state = PackedBoard.GOAL;
+            for (int j = path.length - 1; j >= 0; j--) {//walk back from the goal, the moves need not be optimal
+                int blank = PackedBoard.indexOf(state, 0);
+                Move move;
+                do {
+                    move = Move.of(random.nextInt(4));
+                } while (!move.canMove(blank));
+                state = PackedBoard.move(state, blank, blank + move.getOffset());
+                path[j] = (byte) move.inverse().ordinal();
+            }
+            starts[i] = state;
+            cache.put(state, path);
+            Assertions.assertTrue(cache.size() <= 300);
+        }
+        Assertions.assertEquals(300, cache.size());
+        int hits = 0;
+        for (long start : starts) {
+            byte[] moves = cache.get(start);
+            if (moves != null) {
+                hits++;
+                long state = start;
+                for (byte move : moves) {
+                    int blank = PackedBoard.indexOf(state, 0);
+                    state = PackedBoard.move(state, blank, blank + Move.of(move).getOffset());
+                }
+                Assertions.assertEquals(PackedBoard.GOAL, state);
+            }
+        }
+        Assertions.assertTrue(hits > 0);
+    }
+}
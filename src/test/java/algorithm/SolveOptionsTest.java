@@ -0,0 +1,165 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.SolveStatus;
+import util.TimeUnit;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Class for testing the limits of solves
+ */
+public class SolveOptionsTest {
+    private static final int[][] HARD_PUZZLE = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles55.txt").get(0);
+
+    /**
+     * Tests if solvers stop after the maximum number of expanded boards and report a lower bound
+     */
+    @Test
+    public void testNodeLimit() {
+        SolveOptions options = SolveOptions.NONE.withMaxExpandedBoards(100_000);
+        for (Solver solver : new Solver[]{new IDAStar(new LinearConflictWithMD()), new AStar(new LinearConflictWithMD()),
+                new ParallelIDAStar(new LinearConflictWithMD(), new ForkJoinPool(2), 4),
+                new BidirectionalMM(new LinearConflictWithMD()), new WeightedAStar(new LinearConflictWithMD(), 1),
+                new AnytimeAStar(new LinearConflictWithMD(), 1, 0.5, Duration.ofMinutes(1), result -> {
+                })}) {
+            Result result = solver.solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF, options);
+            Assertions.assertFalse(result.isSolved());
+            Assertions.assertEquals(SolveStatus.NODE_LIMIT, result.getStatus());
+            Assertions.assertTrue(result.getExpandedBoards() >= 100_000);
+            Assertions.assertTrue(result.getExpandedBoards() < 200_000);
+            Assertions.assertTrue(result.getLowerBound() >= new LinearConflictWithMD().calculate(new Board(HARD_PUZZLE)));
+            Assertions.assertTrue(result.getLowerBound() <= 55);
+            Assertions.assertEquals("no moves", result.getMoves());
+        }
+    }
+
+    /**
+     * Tests if solves stop at the time limit and at the deadline
+     */
+    @Test
+    public void testDeadline() {
+        for (SolveOptions options : new SolveOptions[]{SolveOptions.NONE.withTimeLimit(Duration.ofMillis(50)),
+                SolveOptions.NONE.withDeadline(Instant.now().plusMillis(50))}) {
+            for (Solver solver : new Solver[]{new IDAStar(new ManhattanDistance()), new AStar(new ManhattanDistance())}) {
+                long start = System.nanoTime();
+                Result result = solver.solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF, options);
+                Assertions.assertEquals(SolveStatus.DEADLINE, result.getStatus());
+                Assertions.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+            }
+        }
+    }
+
+    /**
+     * Tests if the searches with growing structures stop at the maximum bytes of their search structures
+     * and IDAStar stops if its transposition table is larger
+     */
+    @Test
+    public void testMemoryLimit() {
+        SolveOptions options = SolveOptions.NONE.withMaxMemoryBytes(10 << 20);
+        Result small = new AStar(new ManhattanDistance()).solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF,
+                SolveOptions.NONE.withMaxMemoryBytes(2 << 20));
+        Assertions.assertEquals(SolveStatus.MEMORY_LIMIT, small.getStatus());
+        for (Solver solver : new Solver[]{new AStar(new ManhattanDistance()), new BidirectionalMM(new ManhattanDistance()),
+                new WeightedAStar(new ManhattanDistance(), 1), new IDAStar(new ManhattanDistance(), 16 << 20)}) {
+            Result result = solver.solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF, options);
+            Assertions.assertEquals(SolveStatus.MEMORY_LIMIT, result.getStatus());
+            Assertions.assertTrue(result.getLowerBound() <= 55);
+            if (solver instanceof AStar) {
+                Assertions.assertTrue(small.getExpandedBoards() < result.getExpandedBoards());
+            }
+        }
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt").get(0);
+        Assertions.assertTrue(new IDAStar(new ManhattanDistance()).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF,
+                SolveOptions.NONE.withMaxMemoryBytes(0)).isSolved());
+    }
+
+    /**
+     * Tests if a cancelled token stops running solves of another thread
+     */
+    @Test
+    public void testCancellation() throws InterruptedException {
+        CancellationToken token = new CancellationToken();
+        Result[] result = new Result[1];
+        Thread thread = new Thread(() -> result[0] = new IDAStar(new ManhattanDistance())
+                .solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF, SolveOptions.NONE.withCancellationToken(token)));
+        thread.start();
+        Thread.sleep(50);
+        token.cancel();
+        thread.join(5000);
+        Assertions.assertFalse(thread.isAlive());
+        Assertions.assertEquals(SolveStatus.CANCELLED, result[0].getStatus());
+        Assertions.assertTrue(token.isCancelled());
+    }
+
+    /**
+     * Tests if solves within the limits are not affected and stopped solves are not cached
+     */
+    @Test
+    public void testWithinLimits() {
+        SolveOptions options = SolveOptions.NONE.withTimeLimit(Duration.ofMinutes(10)).withMaxExpandedBoards(Long.MAX_VALUE - 1);
+        int[][] puzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt").get(0);
+        Result result = new IDAStar(new LinearConflictWithMD()).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF, options);
+        Assertions.assertTrue(result.isSolved());
+        Assertions.assertEquals(30, result.getDepth());
+        Assertions.assertEquals(30, result.getLowerBound());
+
+        CachingSolver solver = new CachingSolver(new IDAStar(new LinearConflictWithMD()));
+        Result stopped = solver.solve(new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF,
+                SolveOptions.NONE.withMaxExpandedBoards(10_000));
+        Assertions.assertFalse(stopped.isSolved());
+        Assertions.assertEquals(0, solver.getCache().size());
+    }
+
+    /**
+     * Tests if the anytime search returns its best solution when a limit is reached after the first solution
+     * and the bidirectional search stops at the deadline
+     */
+    @Test
+    public void testBoundedSolversWithinLimits() {
+        BoundedResult result = new AnytimeAStar(new LinearConflictWithMD(), Duration.ofMinutes(1)).solve(
+                new Board(HARD_PUZZLE), TimeUnit.NS, DebugMode.OFF, SolveOptions.NONE.withMaxExpandedBoards(300_000));
+        Assertions.assertTrue(result.isSolved());
+        Assertions.assertTrue(result.getDepth() >= 55);
+        Assertions.assertTrue(result.getSuboptimalityBound() < Double.POSITIVE_INFINITY);
+        Assertions.assertTrue(result.getExpandedBoards() < 400_000);
+
+        long start = System.nanoTime();
+        Result stopped = new BidirectionalMM(new ManhattanDistance()).solve(new Board(HARD_PUZZLE), TimeUnit.NS,
+                DebugMode.OFF, SolveOptions.NONE.withTimeLimit(Duration.ofMillis(50)));
+        Assertions.assertEquals(SolveStatus.DEADLINE, stopped.getStatus());
+        Assertions.assertTrue(System.nanoTime() - start < 5_000_000_000L);
+        Assertions.assertTrue(new WeightedAStar(new ManhattanDistance(), 2).solve(new Board(Board.goal), TimeUnit.NS,
+                DebugMode.OFF, SolveOptions.NONE.withMaxExpandedBoards(1)).isSolved());
+    }
+
+    /**
+     * Tests if the batch solver writes stopped lines for puzzles reaching a limit
+     */
+    @Test
+    public void testBatchSolverStoppedLines() throws IOException {
+        StringWriter out = new StringWriter();
+        long solved = new BatchSolver(new IDAStar(new ManhattanDistance()), 1, 2, SolveOptions.NONE.withMaxExpandedBoards(10_000))
+                .solve(List.of(Path.of("src/main/resources/puzzles/puzzles55.txt")), out, TimeUnit.MS);
+        Assertions.assertEquals(0, solved);
+        List<String> lines = out.toString().lines().toList();
+        Assertions.assertTrue(lines.size() > 1);
+        for (String line : lines.subList(1, lines.size())) {
+            String[] columns = line.split(";");
+            Assertions.assertEquals("STOPPED", columns[2]);
+            Assertions.assertEquals("NODE_LIMIT", columns[3]);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Class for testing concurrent solves
+ */
+public class SolverServiceTest {
+    /**
+     * Tests if concurrent solves with shared solvers return the same results as sequential solves
+     */
+    @Test
+    public void testConcurrentSolves() {
+        List<Solver> solvers = List.of(new AStar(new LinearConflictWithMD()), new IDAStar(new ManhattanDistance()));
+        List<int[][]> listPuzzle = ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles34.txt");
+        try (SolverService service = new SolverService(4)) {
+            List<CompletableFuture<Result>> futures = new ArrayList<>();
+            for (int[][] puzzle : listPuzzle) {
+                for (Solver solver : solvers) {
+                    futures.add(service.submit(new Board(puzzle), solver, TimeUnit.NS));
+                }
+            }
+            int i = 0;
+            for (int[][] puzzle : listPuzzle) {
+                for (Solver solver : solvers) {
+                    Result result = futures.get(i++).join();
+                    Assertions.assertEquals(34, result.getDepth());
+                    Assertions.assertEquals(solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF).getMoves(), result.getMoves());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if solves run on virtual threads or their fallback
+     */
+    @Test
+    public void testVirtualThreads() {
+        try (SolverService service = SolverService.withVirtualThreads()) {
+            Result result = service.submit(new Board(ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles20.txt").get(0)),
+                    new IDAStar(new LinearConflictWithMD()), TimeUnit.MS).join();
+            Assertions.assertEquals(20, result.getDepth());
+        }
+    }
+}
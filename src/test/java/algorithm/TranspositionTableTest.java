@@ -0,0 +1,118 @@
+package algorithm;
+
+import board.Board;
+import board.Dimensions;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.util.Arrays;
+
+/**
+ * Class for testing the transposition table of the IDAStar algorithm
+ */
+public class TranspositionTableTest {
+    /**
+     * Tests if solves with transposition table find optimal solutions with fewer expanded boards
+     * than the search with the same automaton without table
+     */
+    @Test
+    public void testOptimalWithFewerExpansions() {
+        MoveAutomaton inverse = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, IDAStar.TABLE_AUTOMATON_MAX_LENGTH);
+        for (int depth : new int[]{1, 2, 20, 30, 40}) {
+            for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                Result plain = new IDAStar(new ManhattanDistance(), SearchListener.NONE, 0, inverse)
+                        .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                Result result = new IDAStar(new ManhattanDistance(), 1 << 20)
+                        .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                Assertions.assertEquals(depth, result.getDepth());
+                Assertions.assertEquals(depth, result.getMoves().split("-").length);
+                Assertions.assertTrue(result.getFinalBoard().isSolution());
+                Assertions.assertTrue(result.getExpandedBoards() <= plain.getExpandedBoards());
+            }
+        }
+    }
+
+    /**
+     * Tests if the statistics of the threshold iterations add up to the totals of the solve
+     */
+    @Test
+    public void testIterationStatistics() {
+        IDAStar solver = new IDAStar(new LinearConflictWithMD(), 1 << 20);
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt")) {
+            TranspositionResult result = (TranspositionResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            int[] thresholds = result.getThresholds();
+            Assertions.assertEquals(40, thresholds[thresholds.length - 1]);
+            for (int i = 1; i < thresholds.length; i++) {
+                Assertions.assertTrue(thresholds[i] > thresholds[i - 1]);
+            }
+            Assertions.assertEquals(thresholds.length, result.getIterationExpandedBoards().length);
+            Assertions.assertEquals(thresholds.length, result.getIterationCutoffs().length);
+            Assertions.assertEquals(result.getExpandedBoards(), Arrays.stream(result.getIterationExpandedBoards()).sum());
+            Assertions.assertEquals(result.getSavedBoards(), Arrays.stream(result.getIterationSavedBoards()).sum());
+            Assertions.assertTrue(Arrays.stream(result.getIterationCutoffs()).sum() > 0);
+            Assertions.assertTrue(result.getClosedListSize() <= result.getTableCapacity());
+        }
+    }
+
+    /**
+     * Tests if the table paired with the automaton of maximum length 2 cuts off boards reached in other automaton states
+     * and if the default automaton is kept without table
+     */
+    @Test
+    public void testTableAutomaton() {
+        long cutoffs = 0;
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt")) {
+            TranspositionResult result = (TranspositionResult) new IDAStar(new LinearConflictWithMD(), 1 << 24)
+                    .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Result plain = new IDAStar(new LinearConflictWithMD(), 0).solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Result defaultAutomaton = new IDAStar(new LinearConflictWithMD()).solve(new Board(puzzle), TimeUnit.NS,
+                    DebugMode.OFF);
+            Assertions.assertEquals(40, result.getDepth());
+            Assertions.assertEquals(defaultAutomaton.getExpandedBoards(), plain.getExpandedBoards());
+            cutoffs += Arrays.stream(result.getIterationCutoffs()).sum();
+        }
+        Assertions.assertTrue(cutoffs > 0);
+    }
+
+    /**
+     * Tests if the table with only inverse moves pruned finds optimal solutions with fewer expanded boards
+     */
+    @Test
+    public void testInverseMovePruning() {
+        MoveAutomaton inverse = MoveAutomaton.of(Dimensions.FOUR_BY_FOUR, IDAStar.TABLE_AUTOMATON_MAX_LENGTH);
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt")) {
+            Result plain = new IDAStar(new ManhattanDistance(), SearchListener.NONE, 0, inverse)
+                    .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Result result = new IDAStar(new ManhattanDistance(), SearchListener.NONE, 1 << 20, inverse)
+                    .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(30, result.getDepth());
+            Assertions.assertTrue(result.getExpandedBoards() < plain.getExpandedBoards());
+        }
+    }
+
+    /**
+     * Tests if a table much smaller than the search still finds optimal solutions
+     */
+    @Test
+    public void testSmallTable() {
+        IDAStar solver = new IDAStar(new LinearConflictWithMD(), 1024);
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt")) {
+            TranspositionResult result = (TranspositionResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(40, result.getDepth());
+            Assertions.assertEquals(64, result.getTableCapacity());
+        }
+    }
+
+    /**
+     * Tests if a negative table size is rejected
+     */
+    @Test
+    public void testInvalidTableSize() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new IDAStar(new ManhattanDistance(), -1));
+    }
+}
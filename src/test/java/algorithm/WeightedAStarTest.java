@@ -0,0 +1,89 @@
+package algorithm;
+
+import board.Board;
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Class for testing the weighted and anytime AStar algorithms
+ */
+public class WeightedAStarTest {
+    /**
+     * Tests if the solutions are at most the weight times longer than optimal and the reported bound holds
+     */
+    @Test
+    public void testSuboptimalityBound() {
+        for (double weight : new double[]{1, 1.5, 2, 5}) {
+            Solver solver = new WeightedAStar(new LinearConflictWithMD(), weight);
+            for (int depth : new int[]{1, 10, 20, 30, 40}) {
+                for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                    BoundedResult result = (BoundedResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+                    Assertions.assertTrue(result.getFinalBoard().isSolution());
+                    Assertions.assertEquals(result.getDepth(), result.getMoves().split("-").length);
+                    Assertions.assertTrue(result.getSuboptimalityBound() <= weight);
+                    Assertions.assertTrue(result.getDepth() <= result.getSuboptimalityBound() * depth + 1e-9);
+                    if (weight == 1) {
+                        Assertions.assertEquals(depth, result.getDepth());
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if the anytime search reports better solutions with falling bounds until the solution is optimal
+     */
+    @Test
+    public void testAnytimeImprovements() {
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles40.txt")) {
+            List<BoundedResult> results = new ArrayList<>();
+            Solver solver = new AnytimeAStar(new LinearConflictWithMD(), 5, 1, Duration.ofMinutes(10), results::add);
+            BoundedResult result = (BoundedResult) solver.solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(40, result.getDepth());
+            Assertions.assertTrue(result.isOptimal());
+            Assertions.assertSame(result, results.get(results.size() - 1));
+            for (int i = 1; i < results.size(); i++) {
+                Assertions.assertTrue(results.get(i).getDepth() <= results.get(i - 1).getDepth());
+                Assertions.assertTrue(results.get(i).getSuboptimalityBound() < results.get(i - 1).getSuboptimalityBound());
+            }
+            for (BoundedResult improvement : results) {
+                Assertions.assertTrue(improvement.getDepth() <= improvement.getSuboptimalityBound() * 40 + 1e-9);
+            }
+        }
+    }
+
+    /**
+     * Tests if the anytime search returns the first solution when there is no time left
+     */
+    @Test
+    public void testNoTimeLeft() {
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles50.txt")) {
+            BoundedResult result = new AnytimeAStar(new LinearConflictWithMD(), Duration.ZERO)
+                    .solve(new Board(puzzle), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertTrue(result.getFinalBoard().isSolution());
+            Assertions.assertTrue(result.getDepth() >= 50);
+            Assertions.assertEquals(AnytimeAStar.DEFAULT_INITIAL_WEIGHT, result.getWeight());
+        }
+    }
+
+    /**
+     * Tests if weights outside of the supported range are rejected
+     */
+    @Test
+    public void testInvalidWeight() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new WeightedAStar(new ManhattanDistance(), 0.5));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new WeightedAStar(new ManhattanDistance(), Double.NaN));
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> new AnytimeAStar(new ManhattanDistance(), 3, 0, Duration.ZERO, result -> {
+                }));
+    }
+}
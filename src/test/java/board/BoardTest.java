@@ -1,13 +1,21 @@
 package board;
 
+import heuristic.LinearConflictWithMD;
+import heuristic.ManhattanDistance;
 import org.junit.jupiter.api.Test;
 import util.PuzzleException;
 import util.Utils;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
- * Class for testing invalid boards
+ * Class for testing invalid boards and boards of other dimensions
  */
 public class BoardTest {
     /**
@@ -69,4 +77,59 @@ public class BoardTest {
             Utils.checkInput(board);
         });
     }
+
+    /**
+     * Tests if boards of other dimensions know their goal, blank tile and coordinates, are packed into one long
+     * up to 16 cells and generate their successors, and are rejected by the 4 by 4 input check
+     */
+    @Test
+    public void testOtherDimensions() {
+        Board goal = new Board(Dimensions.of(3, 3).getGoal());
+        Board board = new Board(new int[][]{{1, 2, 3}, {4, 5, 6}, {7, 0, 8}});
+        assertEquals(Dimensions.of(3, 3), goal.getDimensions());
+        assertTrue(goal.isSolution());
+        assertFalse(board.isSolution());
+        assertEquals(7, board.getBlankIndex());
+        assertArrayEquals(new int[]{2, 1}, board.getBlankTile());
+        assertArrayEquals(new int[]{1, 2}, board.getCoordinates(6));
+        assertEquals(new Board(Dimensions.of(3, 3).getGoal()), goal);
+        assertEquals(new Board(Dimensions.of(3, 3).getGoal()).hashCode(), goal.hashCode());
+        assertFalse(goal.equals(board));
+        assertEquals(PackedBoard.pack(Dimensions.of(3, 3).getGoal(), Dimensions.of(3, 3)), goal.getPackedState());
+        assertEquals(goal, new Board(goal.getPackedState(), Dimensions.of(3, 3)));
+        assertThrows(IllegalStateException.class, goal::getCanonicalState);
+        assertThrows(IllegalStateException.class, goal::getPackedLow);
+        assertThrows(PuzzleException.class, () -> Utils.checkInput(goal));
+        ManhattanDistance manhattan = new ManhattanDistance(Dimensions.of(3, 3));
+        board.setHScore(manhattan.calculate(board));
+        List<Board> successors = board.generateSuccessors(manhattan);
+        assertEquals(3, successors.size());
+        assertTrue(successors.get(0).isSolution());
+        assertEquals(Move.R, successors.get(0).getMove());
+        assertEquals(0, successors.get(0).getHScore());
+        assertArrayEquals(new int[][]{{1, 2, 3}, {4, 0, 6}, {7, 5, 8}}, successors.get(2).getState());
+        assertEquals(Dimensions.FOUR_BY_FOUR, new Board(PackedBoard.GOAL).getDimensions());
+        assertTrue(new Board(Board.goal).isSolution());
+    }
+
+    /**
+     * Tests if boards over 16 cells are packed into two longs and generate their successors
+     */
+    @Test
+    public void testWideDimensions() {
+        Dimensions dimensions = Dimensions.of(5, 5);
+        Board goal = new Board(dimensions.getGoal());
+        assertTrue(goal.isSolution());
+        assertEquals(WidePackedBoard.packLow(dimensions.getGoal(), dimensions), goal.getPackedLow());
+        assertEquals(WidePackedBoard.packHigh(dimensions.getGoal(), dimensions), goal.getPackedHigh());
+        assertThrows(IllegalStateException.class, goal::getPackedState);
+        List<Board> successors = goal.generateSuccessors(new LinearConflictWithMD(dimensions));
+        assertEquals(2, successors.size());
+        assertEquals(Move.L, successors.get(0).getMove());
+        assertEquals(24, successors.get(0).getState()[4][4]);
+        assertEquals(23, successors.get(0).getBlankIndex());
+        assertEquals(1, successors.get(0).getHScore());
+        assertFalse(successors.get(0).isSolution());
+        assertEquals(goal, successors.get(0).generateSuccessors(new ManhattanDistance(dimensions)).get(0));
+    }
 }
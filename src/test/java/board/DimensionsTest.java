@@ -0,0 +1,145 @@
+package board;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.PuzzleException;
+
+import java.util.Random;
+
+/**
+ * Class for testing boards of other dimensions and their packed encodings
+ */
+public class DimensionsTest {
+    /**
+     * Tests if the goals and moves follow the dimensions
+     */
+    @Test
+    public void testGoalAndMoves() {
+        Dimensions dimensions = Dimensions.of(3, 5);
+        Assertions.assertArrayEquals(new int[][]{{1, 2, 3, 4, 5}, {6, 7, 8, 9, 10}, {11, 12, 13, 14, 0}}, dimensions.getGoal());
+        Assertions.assertEquals(-5, dimensions.getOffset(Move.U));
+        Assertions.assertTrue(dimensions.canMove(Move.R, 3));
+        Assertions.assertFalse(dimensions.canMove(Move.R, 4));
+        Assertions.assertFalse(dimensions.canMove(Move.D, 10));
+        Assertions.assertSame(Dimensions.FOUR_BY_FOUR, Dimensions.of(4, 4));
+        Assertions.assertTrue(Dimensions.of(4, 4).isNarrow());
+        Assertions.assertFalse(Dimensions.of(5, 5).isNarrow());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Dimensions.of(1, 9));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> Dimensions.of(5, 6));
+        Assertions.assertThrows(PuzzleException.class, () -> Dimensions.of(new int[][]{{1, 2}, {3}}));
+    }
+
+    /**
+     * Tests if boards reached by moves from the goal are solvable and boards with two swapped tiles are not
+     */
+    @Test
+    public void testSolvable() {
+        Random random = new Random(3);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(2, 2), Dimensions.of(3, 3), Dimensions.of(2, 5),
+                Dimensions.of(4, 4), Dimensions.of(3, 4), Dimensions.of(5, 5)}) {
+            for (int i = 0; i < 100; i++) {
+                int[][] state = scramble(dimensions, random.nextInt(100), random);
+                Assertions.assertTrue(dimensions.isSolvable(state));
+                dimensions.checkInput(state);
+                int[][] swapped = swapTiles(state);
+                Assertions.assertFalse(dimensions.isSolvable(swapped));
+                Assertions.assertThrows(PuzzleException.class, () -> dimensions.checkInput(swapped));
+            }
+        }
+        int[][] duplicate = Dimensions.of(3, 3).getGoal();
+        duplicate[0][0] = 2;
+        Assertions.assertThrows(PuzzleException.class, () -> Dimensions.of(3, 3).checkInput(duplicate));
+    }
+
+    /**
+     * Tests if packing and unpacking returns the same state for both encodings
+     */
+    @Test
+    public void testPackUnpack() {
+        Random random = new Random(5);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(3, 3), Dimensions.of(2, 8)}) {
+            int[][] state = scramble(dimensions, 50, random);
+            Assertions.assertArrayEquals(state, PackedBoard.unpack(PackedBoard.pack(state, dimensions), dimensions));
+        }
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(3, 6), Dimensions.of(4, 6), Dimensions.of(5, 5)}) {
+            for (int i = 0; i < 100; i++) {
+                int[][] state = scramble(dimensions, 200, random);
+                long low = WidePackedBoard.packLow(state, dimensions);
+                long high = WidePackedBoard.packHigh(state, dimensions);
+                Assertions.assertArrayEquals(state, WidePackedBoard.unpack(low, high, dimensions));
+            }
+        }
+    }
+
+    /**
+     * Tests if moves on the wide packed state match moves on the 2d array, also for the last cell of the 24-puzzle
+     */
+    @Test
+    public void testWideMoves() {
+        Dimensions dimensions = Dimensions.of(5, 5);
+        Random random = new Random(11);
+        int[][] state = dimensions.getGoal();
+        long low = WidePackedBoard.packLow(state, dimensions);
+        long high = WidePackedBoard.packHigh(state, dimensions);
+        int blank = dimensions.getCells() - 1;
+        for (int i = 0; i < 1000; i++) {
+            Move move = Move.of(random.nextInt(4));
+            if (!dimensions.canMove(move, blank)) {
+                continue;
+            }
+            int target = blank + dimensions.getOffset(move);
+            int tile = WidePackedBoard.tileAt(low, high, target);
+            Assertions.assertEquals(state[target / 5][target % 5], tile);
+            low = WidePackedBoard.moveLow(low, blank, target, tile);
+            high = WidePackedBoard.moveHigh(high, blank, target, tile);
+            state[blank / 5][blank % 5] = tile;
+            state[target / 5][target % 5] = 0;
+            blank = target;
+            Assertions.assertArrayEquals(state, WidePackedBoard.unpack(low, high, dimensions));
+        }
+    }
+
+    /**
+     * Scrambles the goal of the dimensions with random moves
+     *
+     * @param dimensions Dimensions of the board
+     * @param moves      Number of random moves
+     * @param random     Random numbers
+     * @return 2d array of the scrambled board
+     */
+    static int[][] scramble(Dimensions dimensions, int moves, Random random) {
+        int[][] state = dimensions.getGoal();
+        int columns = dimensions.getColumns();
+        int blank = dimensions.getCells() - 1;
+        for (int i = 0; i < moves; i++) {
+            Move move = Move.of(random.nextInt(4));
+            if (dimensions.canMove(move, blank)) {
+                int target = blank + dimensions.getOffset(move);
+                state[blank / columns][blank % columns] = state[target / columns][target % columns];
+                state[target / columns][target % columns] = 0;
+                blank = target;
+            }
+        }
+        return state;
+    }
+
+    /**
+     * Swaps the first two tiles which are not the blank tile
+     *
+     * @param state 2d array of the board
+     * @return New 2d array with the tiles swapped
+     */
+    private static int[][] swapTiles(int[][] state) {
+        int[][] copy = new int[state.length][];
+        for (int i = 0; i < state.length; i++) {
+            copy[i] = state[i].clone();
+        }
+        int columns = copy[0].length;
+        int first = copy[0][0] == 0 ? 1 : 0;
+        int second = copy[(first + 1) / columns][(first + 1) % columns] == 0 ? first + 2 : first + 1;
+        int tile = copy[first / columns][first % columns];
+        copy[first / columns][first % columns] = copy[second / columns][second % columns];
+        copy[second / columns][second % columns] = tile;
+        return copy;
+    }
+}
@@ -0,0 +1,53 @@
+package board;
+
+import heuristic.ManhattanDistance;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.Utils;
+
+/**
+ * Class for testing the packed board encoding
+ */
+public class PackedBoardTest {
+    /**
+     * Tests if packing and unpacking returns the same state
+     */
+    @Test
+    public void testPackUnpack() {
+        int[][] state = Utils.convertStringTo2DIntArray("6 5 2 3 15 14 13 7 0 11 8 4 10 9 1 12");
+        long packed = PackedBoard.pack(state);
+        Assertions.assertArrayEquals(state, PackedBoard.unpack(packed));
+        Assertions.assertEquals(8, PackedBoard.indexOf(packed, 0));
+        Assertions.assertEquals(15, PackedBoard.tileAt(packed, 4));
+    }
+
+    /**
+     * Tests if the goal board is detected with the packed goal
+     */
+    @Test
+    public void testGoal() {
+        Assertions.assertEquals(PackedBoard.pack(Board.goal), PackedBoard.GOAL);
+        Assertions.assertTrue(new Board(Utils.getGoal()).isSolution());
+        Assertions.assertFalse(new Board(Utils.convertStringTo2DIntArray("1 2 3 4 5 6 7 8 9 10 11 12 13 14 0 15")).isSolution());
+    }
+
+    /**
+     * Tests if moves on the packed state match moves on the 2d array
+     */
+    @Test
+    public void testSuccessors() {
+        int[][] state = Utils.convertStringTo2DIntArray("1 2 3 4 5 6 7 8 9 10 11 12 13 14 0 15");
+        Board board = new Board(state);
+        for (Board successor : board.generateSuccessors(new ManhattanDistance())) {
+            int[] blank = successor.getBlankTile();
+            Assertions.assertEquals(0, successor.getState()[blank[0]][blank[1]]);
+            Assertions.assertEquals(1, successor.getGScore());
+            Assertions.assertEquals(successor, new Board(successor.getState()));
+            Assertions.assertEquals(successor.hashCode(), new Board(successor.getState()).hashCode());
+            if (successor.getMove() == Move.R) {
+                Assertions.assertTrue(successor.isSolution());
+            }
+        }
+        Assertions.assertEquals(3, board.generateSuccessors(new ManhattanDistance()).size());
+    }
+}
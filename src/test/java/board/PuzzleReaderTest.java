@@ -0,0 +1,159 @@
+package board;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.Utils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class for testing the streaming reader of puzzle files
+ */
+public class PuzzleReaderTest {
+    /**
+     * Tests if the puzzle files are read like the strings of the puzzles, also with a buffer smaller than a line
+     */
+    @Test
+    public void testPuzzleFiles() throws IOException {
+        for (int depth = 1; depth <= 55; depth++) {
+            Path file = Path.of("src/main/resources/puzzles/puzzles" + depth + ".txt");
+            List<String> lines = Files.readAllLines(file).stream().filter(line -> !line.isBlank()).toList();
+            List<Long> states = new ArrayList<>();
+            try (PuzzleReader reader = new PuzzleReader(file)) {
+                while (reader.next()) {
+                    Assertions.assertTrue(reader.isValid(), reader.getError());
+                    states.add(reader.getState());
+                }
+            }
+            Assertions.assertEquals(lines.size(), states.size());
+            for (int i = 0; i < lines.size(); i++) {
+                Assertions.assertEquals(PackedBoard.pack(Utils.convertStringTo2DIntArray(lines.get(i).trim())), states.get(i));
+            }
+            String content = String.join("\r\n", lines);
+            try (PuzzleReader reader = reader(content, Dimensions.FOUR_BY_FOUR, 7)) {
+                for (long state : states) {
+                    Assertions.assertTrue(reader.next());
+                    Assertions.assertEquals(state, reader.getState());
+                }
+                Assertions.assertFalse(reader.next());
+            }
+        }
+    }
+
+    /**
+     * Tests if invalid lines are returned with the messages of the exceptions, also for signed and oversized numbers,
+     * and blank lines are skipped
+     */
+    @Test
+    public void testInvalidLines() throws IOException {
+        String content = "1,2,3,4,5,6,7,8,9,10,11,12,13,14,15,0\n\n  \t\n"
+                + "1 2 3\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 0 1\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 16\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 1\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 15 14 0\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 x 0\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 -1\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 0 0099999999999999999999\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 - 0\n"
+                + "1 2 3 4 5 6 7 8 9 10 11 12 13 14 1-5 0\n"
+                + "+1 2 3 4 5 6 7 8 9 10 11 12 13 14 15 -0\n"
+                + "1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 0, 15";
+        try (PuzzleReader reader = reader(content, Dimensions.FOUR_BY_FOUR, PuzzleReader.BUFFER_BYTES)) {
+            Assertions.assertTrue(reader.next());
+            Assertions.assertTrue(reader.isValid());
+            Assertions.assertEquals(PackedBoard.GOAL, reader.getState());
+            Assertions.assertEquals(1, reader.getLineNumber());
+            String[] errors = {PuzzleReader.INVALID_PUZZLE, PuzzleReader.INVALID_PUZZLE, "Digit is not in range 0-15: 16",
+                    "Puzzle has duplicates: 1", PuzzleReader.NOT_SOLVABLE, PuzzleReader.INVALID_PUZZLE,
+                    "Digit is not in range 0-15: -1", "Digit is not in range 0-15: 99999999999999999999",
+                    PuzzleReader.INVALID_PUZZLE, PuzzleReader.INVALID_PUZZLE};
+            for (int i = 0; i < errors.length; i++) {
+                Assertions.assertTrue(reader.next());
+                Assertions.assertEquals(4 + i, reader.getLineNumber());
+                Assertions.assertFalse(reader.isValid());
+                Assertions.assertEquals(errors[i], reader.getError());
+            }
+            Assertions.assertTrue(reader.next());
+            Assertions.assertTrue(reader.isValid());
+            Assertions.assertEquals(PackedBoard.GOAL, reader.getState());
+            Assertions.assertEquals(14, reader.getLineNumber());
+            Assertions.assertTrue(reader.next());
+            Assertions.assertTrue(reader.isValid());
+            Assertions.assertEquals(15, reader.getLineNumber());
+            Assertions.assertFalse(reader.next());
+            Assertions.assertFalse(reader.next());
+        }
+    }
+
+    /**
+     * Tests if the parity of the permutation gives the solvability of counting inversions for random permutations
+     */
+    @Test
+    public void testSolvableParity() throws IOException {
+        Random random = new Random(7);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(2, 2), Dimensions.of(3, 3), Dimensions.of(2, 5),
+                Dimensions.of(3, 4), Dimensions.FOUR_BY_FOUR}) {
+            int cells = dimensions.getCells();
+            StringBuilder content = new StringBuilder();
+            boolean[] expected = new boolean[200];
+            for (int i = 0; i < expected.length; i++) {
+                int[] tiles = new int[cells];
+                for (int cell = 0; cell < cells; cell++) {
+                    int other = random.nextInt(cell + 1);
+                    tiles[cell] = tiles[other];
+                    tiles[other] = cell;
+                }
+                int inversions = 0;
+                int blankRow = 0;
+                for (int j = 0; j < cells; j++) {
+                    if (tiles[j] == 0) {
+                        blankRow = j / dimensions.getColumns();
+                    }
+                    for (int k = j + 1; k < cells; k++) {
+                        if (tiles[j] > tiles[k] && tiles[k] > 0) {
+                            inversions++;
+                        }
+                    }
+                }
+                expected[i] = dimensions.getColumns() % 2 == 1 ? inversions % 2 == 0
+                        : (inversions + dimensions.getRows() - 1 - blankRow) % 2 == 0;
+                int[][] state = new int[dimensions.getRows()][dimensions.getColumns()];
+                for (int cell = 0; cell < cells; cell++) {
+                    state[cell / dimensions.getColumns()][cell % dimensions.getColumns()] = tiles[cell];
+                    content.append(tiles[cell]).append(' ');
+                }
+                content.append('\n');
+                Assertions.assertEquals(expected[i], dimensions.isSolvable(state));
+            }
+            try (PuzzleReader reader = reader(content.toString(), dimensions, 64)) {
+                for (boolean solvable : expected) {
+                    Assertions.assertTrue(reader.next());
+                    Assertions.assertEquals(solvable, reader.isValid());
+                }
+                Assertions.assertFalse(reader.next());
+            }
+        }
+    }
+
+    /**
+     * Creates a reader of the given content
+     *
+     * @param content     Content of the puzzle file
+     * @param dimensions  Dimensions of the puzzles
+     * @param bufferBytes Size of the read buffer in bytes
+     * @return Reader
+     */
+    private static PuzzleReader reader(String content, Dimensions dimensions, int bufferBytes) {
+        return new PuzzleReader(Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8))),
+                dimensions, bufferBytes);
+    }
+}
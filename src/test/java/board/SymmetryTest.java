@@ -0,0 +1,52 @@
+package board;
+
+import algorithm.IDAStar;
+import algorithm.Result;
+import heuristic.LinearConflictWithMD;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.DebugMode;
+import util.ReadPuzzlesFromFile;
+import util.TimeUnit;
+
+/**
+ * Class for testing the diagonal symmetry of states and moves
+ */
+public class SymmetryTest {
+    /**
+     * Tests if the goal is its own mirror and mirroring twice returns the state
+     */
+    @Test
+    public void testMirror() {
+        Assertions.assertEquals(PackedBoard.GOAL, Symmetry.mirror(PackedBoard.GOAL));
+        long state = PackedBoard.pack(new int[][]{{5, 1, 2, 3}, {9, 6, 7, 4}, {13, 10, 11, 8}, {14, 15, 12, 0}});
+        long mirrored = PackedBoard.pack(new int[][]{{2, 3, 4, 8}, {1, 6, 7, 12}, {5, 10, 11, 15}, {9, 13, 14, 0}});
+        Assertions.assertEquals(mirrored, Symmetry.mirror(state));
+        Assertions.assertEquals(state, Symmetry.mirror(mirrored));
+        Assertions.assertEquals(Symmetry.canonical(state), Symmetry.canonical(mirrored));
+        Assertions.assertNotEquals(Symmetry.isMirrored(state), Symmetry.isMirrored(mirrored));
+        Assertions.assertEquals(Move.D, Symmetry.mirror(Move.R));
+        Assertions.assertEquals(Move.L, Symmetry.mirror(Move.U));
+    }
+
+    /**
+     * Tests if a state and its mirror have the same optimal depth and mirrored moves solve the mirror
+     */
+    @Test
+    public void testMirroredSolution() {
+        for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles30.txt")) {
+            long state = PackedBoard.pack(puzzle);
+            long mirrored = Symmetry.mirror(state);
+            Result result = IDAStar.solve(new Board(puzzle), new LinearConflictWithMD(), TimeUnit.NS, DebugMode.OFF);
+            Result mirroredResult = IDAStar.solve(new Board(mirrored), new LinearConflictWithMD(), TimeUnit.NS, DebugMode.OFF);
+            Assertions.assertEquals(result.getDepth(), mirroredResult.getDepth());
+            for (String name : result.getMoves().split("-")) {
+                Move move = Symmetry.mirror(Move.valueOf(name));
+                int blank = PackedBoard.indexOf(mirrored, 0);
+                Assertions.assertTrue(move.canMove(blank));
+                mirrored = PackedBoard.move(mirrored, blank, blank + move.getOffset());
+            }
+            Assertions.assertEquals(PackedBoard.GOAL, mirrored);
+        }
+    }
+}
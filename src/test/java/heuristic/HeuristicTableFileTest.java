@@ -0,0 +1,85 @@
+package heuristic;
+
+import board.PackedBoard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import util.Utils;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Class for testing persisted heuristic tables
+ */
+public class HeuristicTableFileTest {
+    @TempDir
+    Path directory;
+
+    /**
+     * Tests if a saved pattern database is loaded with equal values
+     */
+    @Test
+    void testSaveAndLoad() throws IOException {
+        Path file = directory.resolve("pdb555.bin");
+        PatternDatabase built = new PatternDatabase();
+        built.save(file);
+        PatternDatabase loaded = PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5);
+        Assertions.assertEquals(0, loaded.calculate(PackedBoard.GOAL));
+        for (int i = 0; i < 1000; i++) {
+            long state = PackedBoard.pack(Utils.getRandomPuzzle());
+            Assertions.assertEquals(built.calculate(state), loaded.calculate(state));
+        }
+    }
+
+    /**
+     * Tests if saved walking distance tables are loaded with equal values and not mistaken for other tables
+     */
+    @Test
+    void testSaveAndLoadWalkingDistance() throws IOException {
+        Path file = directory.resolve("wd.bin");
+        WalkingDistance built = new WalkingDistance();
+        built.save(file);
+        WalkingDistance loaded = WalkingDistance.load(file);
+        Assertions.assertEquals(built.getConfigurationCount(), loaded.getConfigurationCount());
+        for (int i = 0; i < 1000; i++) {
+            long state = PackedBoard.pack(Utils.getRandomPuzzle());
+            Assertions.assertEquals(built.calculate(state), loaded.calculate(state));
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5));
+        Path other = directory.resolve("pdb555.bin");
+        new PatternDatabase().save(other);
+        assertThrows(IOException.class, () -> WalkingDistance.load(other));
+    }
+
+    /**
+     * Tests if corrupted files, wrong versions and wrong keys are rejected
+     */
+    @Test
+    void testInvalidFiles() throws IOException {
+        Path file = directory.resolve("pdb555.bin");
+        new PatternDatabase().save(file);
+        assertThrows(IOException.class, () -> PatternDatabase.load(file, PatternDatabase.PARTITION_6_6_3));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            int last = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(last ^ 1);
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.seek(Integer.BYTES);
+            raf.writeInt(HeuristicTableFile.VERSION + 1);
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5));
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(100);
+        }
+        assertThrows(IOException.class, () -> PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5));
+        Assertions.assertEquals(0, PatternDatabase.loadOrBuild(file, PatternDatabase.PARTITION_5_5_5).calculate(PackedBoard.GOAL));
+        PatternDatabase.load(file, PatternDatabase.PARTITION_5_5_5);
+    }
+}
@@ -0,0 +1,70 @@
+package heuristic;
+
+import board.Board;
+import board.Dimensions;
+import board.Move;
+import board.PackedBoard;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.Utils;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Class for testing the incremental heuristic evaluation
+ */
+public class HeuristicUpdateTest {
+    /**
+     * Tests if updated values are equal to values calculated from scratch along random walks
+     */
+    @Test
+    void testUpdateEqualsCalculate() {
+        List<Heuristic> heuristics = List.of(new ManhattanDistance(), new HammingDistance(),
+                new LinearConflictWithMD(), new PatternDatabase(), new WalkingDistance());
+        Random random = new Random(3);
+        for (Heuristic heuristic : heuristics) {
+            for (int walk = 0; walk < 50; walk++) {
+                long state = PackedBoard.pack(Utils.getRandomPuzzle());
+                int blank = PackedBoard.indexOf(state, 0);
+                int hScore = heuristic.calculate(state);
+                for (int step = 0; step < 200; step++) {
+                    Move move = Move.of(random.nextInt(4));
+                    int target = blank + move.getOffset();
+                    if (target < 0 || target >= PackedBoard.CELLS
+                            || (move.getOffset() == 1 || move.getOffset() == -1) && target / Board.BOARD_LENGTH != blank / Board.BOARD_LENGTH) {
+                        continue;
+                    }
+                    hScore = heuristic.update(state, hScore, blank, target);
+                    state = PackedBoard.move(state, blank, target);
+                    blank = target;
+                    Assertions.assertEquals(heuristic.calculate(state), hScore, heuristic.getName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Tests if the successors of boards of other dimensions have the values calculated from scratch,
+     * both on one packed long and on two packed longs
+     */
+    @Test
+    void testUpdateOtherDimensions() {
+        Random random = new Random(5);
+        for (Dimensions dimensions : new Dimensions[]{Dimensions.of(3, 3), Dimensions.of(2, 5), Dimensions.of(5, 5),
+                Dimensions.of(4, 6)}) {
+            for (Heuristic heuristic : List.of(new ManhattanDistance(dimensions), new LinearConflictWithMD(dimensions))) {
+                Assertions.assertTrue(heuristic.supports(dimensions));
+                Assertions.assertFalse(heuristic.supports(Dimensions.FOUR_BY_FOUR));
+                Board board = new Board(dimensions.getGoal());
+                Assertions.assertEquals(0, heuristic.calculate(board));
+                for (int step = 0; step < 500; step++) {
+                    List<Board> successors = board.generateSuccessors(heuristic);
+                    board = successors.get(random.nextInt(successors.size()));
+                    Assertions.assertEquals(heuristic.calculate(new Board(board.getState())), board.getHScore(),
+                            heuristic.getName());
+                }
+            }
+        }
+    }
+}
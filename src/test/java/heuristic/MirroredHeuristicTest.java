@@ -0,0 +1,76 @@
+package heuristic;
+
+import board.Move;
+import board.PackedBoard;
+import board.Symmetry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import util.ReadPuzzlesFromFile;
+
+/**
+ * Class for testing the maximum of heuristics over a state and its mirror
+ */
+public class MirroredHeuristicTest {
+    /**
+     * Tests if the mirrored heuristic is admissible, at least the plain heuristic and the same for both mirrors
+     */
+    @Test
+    public void testMirroredPatternDatabase() {
+        Heuristic patternDatabase = new PatternDatabase();
+        Heuristic mirrored = new MirroredHeuristic(patternDatabase);
+        boolean stronger = false;
+        for (int depth = 40; depth <= 55; depth++) {
+            for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles" + depth + ".txt")) {
+                long state = PackedBoard.pack(puzzle);
+                int h = mirrored.calculate(state);
+                Assertions.assertTrue(h <= depth);
+                Assertions.assertTrue(h >= patternDatabase.calculate(state));
+                Assertions.assertEquals(h, mirrored.calculate(Symmetry.mirror(state)));
+                stronger |= h > patternDatabase.calculate(state);
+            }
+        }
+        Assertions.assertTrue(stronger);
+    }
+
+    /**
+     * Tests if symmetric heuristics return the same value for a state and its mirror
+     */
+    @Test
+    public void testSymmetricHeuristics() {
+        for (Heuristic heuristic : new Heuristic[]{new ManhattanDistance(), new HammingDistance(), new WalkingDistance()}) {
+            Assertions.assertTrue(heuristic.isSymmetric());
+            for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles50.txt")) {
+                long state = PackedBoard.pack(puzzle);
+                Assertions.assertEquals(heuristic.calculate(state), heuristic.calculate(Symmetry.mirror(state)));
+            }
+        }
+        Assertions.assertFalse(new PatternDatabase().isSymmetric());
+        Assertions.assertFalse(new LinearConflictWithMD().isSymmetric());
+    }
+
+    /**
+     * Tests if the update of the mirrored heuristic and the one pass of the pattern database
+     * match the maximum calculated on both mirrors for every successor
+     */
+    @Test
+    public void testUpdate() {
+        Heuristic patternDatabase = new PatternDatabase();
+        for (Heuristic heuristic : new Heuristic[]{patternDatabase, new LinearConflictWithMD()}) {
+            Heuristic mirrored = new MirroredHeuristic(heuristic);
+            for (int[][] puzzle : ReadPuzzlesFromFile.read("src/main/resources/puzzles/puzzles45.txt")) {
+                long state = PackedBoard.pack(puzzle);
+                int h = mirrored.calculate(state);
+                Assertions.assertEquals(Math.max(heuristic.calculate(state), heuristic.calculate(Symmetry.mirror(state))), h);
+                int blank = PackedBoard.indexOf(state, 0);
+                for (Move move : Move.values()) {
+                    if (move.canMove(blank)) {
+                        long successor = PackedBoard.move(state, blank, blank + move.getOffset());
+                        Assertions.assertEquals(Math.max(heuristic.calculate(successor),
+                                heuristic.calculate(Symmetry.mirror(successor))),
+                                mirrored.update(state, h, blank, blank + move.getOffset()));
+                    }
+                }
+            }
+        }
+    }
+}
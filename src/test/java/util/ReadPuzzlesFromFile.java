@@ -1,10 +1,11 @@
 package util;
 
-import java.io.BufferedReader;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import board.PackedBoard;
+import board.PuzzleReader;
+
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.Scanner;
 
 /**
  * Class for loading puzzles from disk
@@ -12,24 +13,14 @@ import java.util.Scanner;
 public abstract class ReadPuzzlesFromFile {
     public static ArrayList<int[][]> read(String fileName) {
         ArrayList<int[][]> results = new ArrayList<>();
-        try {
-            FileReader fileReader = new FileReader(fileName);
-            BufferedReader bufferedReader = new BufferedReader(fileReader);
-            Scanner boardFile = new Scanner(bufferedReader);
-            while (boardFile.hasNextLine()) {
-                int[][] row = new int[4][4];
-                for (int i = 0; i < 4; i++) {
-                    for (int j = 0; j < 4; j++) {
-                        row[i][j] = boardFile.nextInt();
-                    }
-                }
-                results.add(row);
-                if (boardFile.hasNextLine()) {
-                    boardFile.nextLine();
+        try (PuzzleReader reader = new PuzzleReader(Path.of(fileName))) {
+            while (reader.next()) {
+                if (!reader.isValid()) {
+                    throw new PuzzleException(fileName + " line " + reader.getLineNumber() + ": " + reader.getError());
                 }
+                results.add(PackedBoard.unpack(reader.getState()));
             }
-            boardFile.close();
-        } catch (FileNotFoundException ex) {
+        } catch (IOException ex) {
             System.out.println("Unable to open file: " + fileName);
         }
         return results;